@@ -0,0 +1,89 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.benchmark.StubRepositories.BoundedUserPointRepository;
+import io.hhplus.tdd.benchmark.StubRepositories.DiscardingPointHistoryRepository;
+import io.hhplus.tdd.point.concurrency.BalanceUpdater;
+import io.hhplus.tdd.point.concurrency.LockingBalanceUpdater;
+import io.hhplus.tdd.point.concurrency.OptimisticBalanceUpdater;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.OptimisticUserPointRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.summary.PointSummaryAggregator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * 잔액 변경 방식(lock / optimistic)별 충전+사용 처리량 벤치마크
+ * - lowContention : 스레드 8개가 각자 다른 유저, highContention : 스레드 8개가 같은 유저
+ * - 한 번의 측정에서 충전 후 같은 금액을 사용해 잔액이 검증 범위를 벗어나지 않게 한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PointConcurrencyModeBenchmark {
+    private static final long SAME_USER_ID = 1L;
+    private static final long AMOUNT = 100L;
+
+    @State(Scope.Benchmark)
+    public static class ServiceState {
+        @Param({"lock", "optimistic"})
+        String mode;
+
+        PointService pointService;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            UserPointRepository userPointRepository;
+            BalanceUpdater balanceUpdater;
+            if ("optimistic".equals(mode)) {
+                OptimisticUserPointRepository optimistic = new OptimisticUserPointRepository(new BoundedUserPointRepository());
+                userPointRepository = optimistic;
+                balanceUpdater = new OptimisticBalanceUpdater(optimistic, 1_000, 1_000L, 10_000L);
+            } else {
+                userPointRepository = new BoundedUserPointRepository();
+                balanceUpdater = new LockingBalanceUpdater(userPointRepository, new UserLockManager(60_000L));
+            }
+            pointService = new PointService(
+                userPointRepository, new DiscardingPointHistoryRepository(), balanceUpdater,
+                new PointMetrics(new SimpleMeterRegistry()), new PointSummaryAggregator());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadUser {
+        private static final AtomicLong sequence = new AtomicLong(SAME_USER_ID);
+        long userId;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            userId = sequence.incrementAndGet();
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UserPoint chargeAndUse_lowContention(ServiceState state, ThreadUser user) {
+        state.pointService.charge(user.userId, AMOUNT);
+        return state.pointService.use(user.userId, AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UserPoint chargeAndUse_highContention(ServiceState state) {
+        state.pointService.charge(SAME_USER_ID, AMOUNT);
+        return state.pointService.use(SAME_USER_ID, AMOUNT);
+    }
+}
@@ -0,0 +1,166 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.benchmark.StubRepositories.BoundedUserPointRepository;
+import io.hhplus.tdd.benchmark.StubRepositories.DiscardingPointHistoryRepository;
+import io.hhplus.tdd.point.concurrency.LockingBalanceUpdater;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.summary.PointSummaryAggregator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * PointService 주요 경로 벤치마크
+ * - single : 스레드 1개, sameUser : 스레드 8개가 같은 유저, distinctUsers : 스레드 8개가 각자 다른 유저
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PointServiceBenchmark {
+    private static final long SAME_USER_ID = 1L;
+    private static final long AMOUNT = 100L;
+    private static final int HISTORY_PER_USER = 100;
+    private static final int HISTORY_USER_COUNT = 1_000;
+
+    /**
+     * 충전/사용/잔액 조회용 : 내역은 남기지 않는다
+     */
+    @State(Scope.Benchmark)
+    public static class ServiceState {
+        PointService pointService;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            BoundedUserPointRepository userPointRepository = new BoundedUserPointRepository();
+            pointService = new PointService(
+                userPointRepository, new DiscardingPointHistoryRepository(),
+                new LockingBalanceUpdater(userPointRepository, new UserLockManager(60_000L)),
+                new PointMetrics(new SimpleMeterRegistry()), new PointSummaryAggregator());
+        }
+    }
+
+    /**
+     * 내역 조회용 : 유저마다 HISTORY_PER_USER 건의 내역을 색인에 미리 넣어둔다
+     */
+    @State(Scope.Benchmark)
+    public static class HistoryState {
+        PointService pointService;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            IndexedPointHistoryRepository historyRepository =
+                new IndexedPointHistoryRepository(new DiscardingPointHistoryRepository());
+            for (long userId = 1; userId <= HISTORY_USER_COUNT; userId++) {
+                for (int i = 0; i < HISTORY_PER_USER; i++) {
+                    historyRepository.insert(userId, AMOUNT, TransactionType.CHARGE, i);
+                }
+            }
+            BoundedUserPointRepository userPointRepository = new BoundedUserPointRepository();
+            pointService = new PointService(
+                userPointRepository, historyRepository,
+                new LockingBalanceUpdater(userPointRepository, new UserLockManager(60_000L)),
+                new PointMetrics(new SimpleMeterRegistry()), new PointSummaryAggregator());
+        }
+    }
+
+    /**
+     * 스레드마다 다른 유저를 쓰도록 id 를 나눠준다. (내역이 있는 유저 범위 안에서)
+     */
+    @State(Scope.Thread)
+    public static class ThreadUser {
+        private static final AtomicLong sequence = new AtomicLong();
+        long userId;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            userId = sequence.incrementAndGet() % HISTORY_USER_COUNT + 1;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public UserPoint charge_single(ServiceState state) {
+        return state.pointService.charge(SAME_USER_ID, AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UserPoint charge_sameUser(ServiceState state) {
+        return state.pointService.charge(SAME_USER_ID, AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UserPoint charge_distinctUsers(ServiceState state, ThreadUser user) {
+        return state.pointService.charge(user.userId, AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public UserPoint use_single(ServiceState state) {
+        return state.pointService.use(SAME_USER_ID, AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UserPoint use_sameUser(ServiceState state) {
+        return state.pointService.use(SAME_USER_ID, AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UserPoint use_distinctUsers(ServiceState state, ThreadUser user) {
+        return state.pointService.use(user.userId, AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public UserPoint point_single(ServiceState state) {
+        return state.pointService.point(SAME_USER_ID);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UserPoint point_sameUser(ServiceState state) {
+        return state.pointService.point(SAME_USER_ID);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UserPoint point_distinctUsers(ServiceState state, ThreadUser user) {
+        return state.pointService.point(user.userId);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<PointHistory> pointHistory_single(HistoryState state) {
+        return state.pointService.pointHistory(SAME_USER_ID);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public List<PointHistory> pointHistory_sameUser(HistoryState state) {
+        return state.pointService.pointHistory(SAME_USER_ID);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public List<PointHistory> pointHistory_distinctUsers(HistoryState state, ThreadUser user) {
+        return state.pointService.pointHistory(user.userId);
+    }
+}
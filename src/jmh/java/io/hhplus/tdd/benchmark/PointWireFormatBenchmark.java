@@ -0,0 +1,85 @@
+package io.hhplus.tdd.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.codec.PointBinaryCodec;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 내역 목록 응답 형식(JSON / 바이너리)별 인코딩, 디코딩 시간 벤치마크
+ * - encode : 응답처럼 출력 스트림에 쓴다. (스트림은 매번 비워 다시 쓴다)
+ * - 형식별 본문 크기는 setUp 에서 한 번 출력한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PointWireFormatBenchmark {
+    private static final TypeReference<List<PointHistory>> HISTORY_LIST = new TypeReference<>() {
+    };
+
+    @State(Scope.Thread)
+    public static class HistoryState {
+        @Param({"10", "1000", "10000"})
+        int historyCount;
+
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(1 << 20);
+        List<PointHistory> histories;
+        byte[] json;
+        byte[] binary;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            histories = new ArrayList<>(historyCount);
+            long updateMillis = System.currentTimeMillis();
+            for (int i = 0; i < historyCount; i++) {
+                TransactionType type = i % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+                histories.add(new PointHistory(i + 1, 1L, 1_000L + i, type, updateMillis + i));
+            }
+            json = objectMapper.writeValueAsBytes(histories);
+            ByteArrayOutputStream binaryStream = new ByteArrayOutputStream();
+            PointBinaryCodec.writeHistories(binaryStream, histories);
+            binary = binaryStream.toByteArray();
+            System.out.printf("%nhistories=%d json=%d bytes binary=%d bytes (%.1f%%)%n",
+                historyCount, json.length, binary.length, binary.length * 100.0 / json.length);
+        }
+    }
+
+    @Benchmark
+    public int encode_json(HistoryState state) throws IOException {
+        state.outputStream.reset();
+        state.objectMapper.writeValue(state.outputStream, state.histories);
+        return state.outputStream.size();
+    }
+
+    @Benchmark
+    public int encode_binary(HistoryState state) throws IOException {
+        state.outputStream.reset();
+        PointBinaryCodec.writeHistories(state.outputStream, state.histories);
+        return state.outputStream.size();
+    }
+
+    @Benchmark
+    public List<PointHistory> decode_json(HistoryState state) throws IOException {
+        return state.objectMapper.readValue(state.json, HISTORY_LIST);
+    }
+
+    @Benchmark
+    public List<PointHistory> decode_binary(HistoryState state) {
+        return PointBinaryCodec.readHistories(PointBinaryCodec.wrap(state.binary));
+    }
+}
@@ -0,0 +1,59 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 벤치마크용 저장소
+ * - Table 의 스로틀 없이 메모리에서 바로 응답해, 서비스 코드(검증, 락, 내역 색인)의 비용만 측정한다.
+ */
+final class StubRepositories {
+    static final long INITIAL_POINT = 1_000_000L;
+    private static final long LOWER_BOUND = 10_000L;
+    private static final long UPPER_BOUND = 1_900_000L;
+
+    private StubRepositories() {
+    }
+
+    /**
+     * 잔액이 범위를 벗어나면 초기 잔액으로 되돌려, 측정 중 충전/사용이 잔액 검증에 걸리지 않게 한다.
+     */
+    static class BoundedUserPointRepository implements UserPointRepository {
+        private final ConcurrentHashMap<Long, Long> points = new ConcurrentHashMap<>();
+
+        @Override
+        public UserPoint selectById(long id) {
+            return new UserPoint(id, points.getOrDefault(id, INITIAL_POINT), 0L);
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            long stored = amount < LOWER_BOUND || amount > UPPER_BOUND ? INITIAL_POINT : amount;
+            points.put(id, stored);
+            return new UserPoint(id, amount, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * id 만 발급하고 내역은 남기지 않는 저장소 (측정 중 메모리가 늘지 않도록)
+     */
+    static class DiscardingPointHistoryRepository implements PointHistoryRepository {
+        private final AtomicLong cursor = new AtomicLong();
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            return new PointHistory(cursor.incrementAndGet(), userId, amount, type, updateMillis);
+        }
+
+        @Override
+        public List<PointHistory> selectAllByUserId(long userId) {
+            return List.of();
+        }
+    }
+}
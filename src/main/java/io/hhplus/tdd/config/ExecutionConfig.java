@@ -0,0 +1,36 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.point.executor.ExecutionMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 실행 모드 구성
+ * - point.execution.mode=virtual 이면 Tomcat 요청 처리와 MVC 비동기 응답(스트리밍 등)을 가상 스레드에서 실행한다.
+ * - 내부 비동기 작업은 {@link io.hhplus.tdd.point.executor.PointTaskExecutor} 가 같은 설정을 따른다.
+ * - platform 모드에서는 스프링 부트 기본 구성(server.tomcat.threads.max 등)을 그대로 사용한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "point.execution.mode", havingValue = "virtual")
+public class ExecutionConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(ExecutionMode.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean
+    public WebMvcConfigurer virtualThreadAsyncSupportConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.setTaskExecutor(new TaskExecutorAdapter(ExecutionMode.newVirtualThreadPerTaskExecutor()));
+            }
+        };
+    }
+}
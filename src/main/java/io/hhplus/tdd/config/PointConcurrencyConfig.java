@@ -0,0 +1,42 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.point.concurrency.BalanceUpdater;
+import io.hhplus.tdd.point.concurrency.CombiningBalanceUpdater;
+import io.hhplus.tdd.point.concurrency.LockingBalanceUpdater;
+import io.hhplus.tdd.point.concurrency.OptimisticBalanceUpdater;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.repository.OptimisticUserPointRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 잔액 변경 방식 구성
+ * - lock : 유저 락 안에서 조회/계산/저장 (기본)
+ * - optimistic : 락 없이 compare-and-swap 으로 저장하고 충돌하면 다시 시도 (compare-and-swap 저장소를 유저 포인트 저장소 위에 따로 둔다)
+ * - combining : 같은 유저의 동시 변경을 유저 락 안에서 모아 계산하고 잔액은 한 번만 저장
+ */
+@Configuration
+public class PointConcurrencyConfig {
+
+    @Bean
+    public BalanceUpdater balanceUpdater(
+            UserPointRepository userPointRepository,
+            UserLockManager userLockManager,
+            @Value("${point.concurrency.mode:lock}") String concurrencyMode,
+            @Value("${point.concurrency.optimistic.max-retries:64}") int maxRetries,
+            @Value("${point.concurrency.optimistic.max-backoff-micros:1000}") long maxBackoffMicros,
+            @Value("${point.concurrency.combining.max-batch-size:1000}") int maxBatchSize,
+            @Value("${point.lock.timeout-millis:10000}") long lockTimeoutMillis
+    ) {
+        if ("optimistic".equals(concurrencyMode)) {
+            return new OptimisticBalanceUpdater(
+                new OptimisticUserPointRepository(userPointRepository), maxRetries, maxBackoffMicros, lockTimeoutMillis);
+        }
+        if ("combining".equals(concurrencyMode)) {
+            return new CombiningBalanceUpdater(userPointRepository, userLockManager, maxBatchSize);
+        }
+        return new LockingBalanceUpdater(userPointRepository, userLockManager);
+    }
+}
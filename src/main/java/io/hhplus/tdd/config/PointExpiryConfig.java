@@ -0,0 +1,47 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.point.concurrency.BalanceUpdater;
+import io.hhplus.tdd.point.executor.PointTaskExecutor;
+import io.hhplus.tdd.point.expiry.PointExpiryScheduler;
+import io.hhplus.tdd.point.expiry.PointExpiryTracker;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.shard.ShardRouter;
+import io.hhplus.tdd.point.summary.PointSummaryAggregator;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 충전 포인트 만료 구성 (point.expiry.enabled=true)
+ * - 충전한 포인트는 충전 내역 시각으로부터 ttl-days 가 지나면 남은 만큼 만료되고, 사용은 먼저 충전한 포인트부터 차감한다.
+ * - 충전 묶음은 메모리에만 있으므로, 재시작 후에는 저널을 켠 경우에만 저널의 내역으로 다시 만든다. ({@link PointRepositoryConfig})
+ */
+@Configuration
+@ConditionalOnProperty(name = "point.expiry.enabled", havingValue = "true")
+public class PointExpiryConfig {
+
+    @Bean
+    public PointExpiryTracker pointExpiryTracker(
+            @Value("${point.expiry.ttl-days:365}") long ttlDays,
+            @Value("${point.expiry.tick-millis:1000}") long tickMillis
+    ) {
+        return new PointExpiryTracker(TimeUnit.DAYS.toMillis(ttlDays), tickMillis);
+    }
+
+    @Bean
+    public PointExpiryScheduler pointExpiryScheduler(
+            PointExpiryTracker pointExpiryTracker,
+            BalanceUpdater balanceUpdater,
+            PointHistoryRepository pointHistoryRepository,
+            PointSummaryAggregator pointSummaryAggregator,
+            PointTaskExecutor pointTaskExecutor,
+            ShardRouter shardRouter,
+            @Value("${point.expiry.tick-millis:1000}") long tickMillis,
+            @Value("${point.expiry.batch-size:500}") int batchSize
+    ) {
+        return new PointExpiryScheduler(pointExpiryTracker, balanceUpdater, pointHistoryRepository, pointSummaryAggregator,
+            pointTaskExecutor, shardRouter, tickMillis, batchSize);
+    }
+}
@@ -0,0 +1,162 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.expiry.PointExpiryTracker;
+import io.hhplus.tdd.point.journal.PointJournal;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.AsyncPointHistoryRepository;
+import io.hhplus.tdd.point.repository.CachingUserPointRepository;
+import io.hhplus.tdd.point.repository.ColumnarPointHistoryRepository;
+import io.hhplus.tdd.point.repository.ExpiringPointHistoryRepository;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import io.hhplus.tdd.point.repository.JournaledPointHistoryRepository;
+import io.hhplus.tdd.point.repository.OffHeapUserPointRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryTableRepository;
+import io.hhplus.tdd.point.repository.SequencePointHistoryRepository;
+import io.hhplus.tdd.point.repository.SingleFlightUserPointRepository;
+import io.hhplus.tdd.point.repository.TimedPointHistoryRepository;
+import io.hhplus.tdd.point.repository.TimedUserPointRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.repository.UserPointTableRepository;
+import io.hhplus.tdd.point.repository.WriteBehindUserPointRepository;
+import java.nio.file.Path;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 포인트 저장소 구성
+ * - Table 을 감싸는 기본 저장소 위에 설정에 따라 기능을 덧붙인다. 기본 저장소는 유저마다 Table 을 하나씩 만들어 유저별 락으로 호출한다.
+ * - Table 호출 시간은 항상 point.table 지표로 기록한다.
+ * - 저널을 켜면 잔액은 쓰기 지연 저장소에, 내역은 색인에 저널로부터 복구한다.
+ *   (Table 에 직접 다시 넣으면 건마다 호출 지연이 있어 대량 복구가 불가능하므로, 잔액만 백그라운드로 Table 에 다시 저장된다)
+ * - 내역 비동기 저장을 켜면 저널도 함께 켠다. (메모리 큐에만 있던 내역을 재시작 시 저널로 복구)
+ * - point.concurrency.mode=optimistic 이면 잔액 변경 방식이 이 저장소 위에 compare-and-swap 저장소를 두므로, Table 저장은 항상 뒤로 미룬다.
+ * - 포인트 만료를 켜면 내역 저장소 맨 위에서 저장된 내역을 충전 묶음에 반영한다.
+ */
+@Configuration
+public class PointRepositoryConfig {
+
+    @Bean
+    @ConditionalOnExpression("${point.journal.enabled:false} or ${point.history.async.enabled:false}")
+    public PointJournal pointJournal(
+            @Value("${point.journal.directory:./data/journal}") String directory,
+            @Value("${point.journal.segment-size-mb:64}") int segmentSizeMb,
+            @Value("${point.journal.commit-interval-millis:2}") long commitIntervalMillis,
+            @Value("${point.journal.snapshot-interval-millis:60000}") long snapshotIntervalMillis,
+            @Value("${point.journal.delete-after-snapshot:false}") boolean deleteAfterSnapshot
+    ) {
+        return PointJournal.open(Path.of(directory), segmentSizeMb, commitIntervalMillis, snapshotIntervalMillis, deleteAfterSnapshot);
+    }
+
+    @Bean
+    public UserPointRepository userPointRepository(
+            PointMetrics pointMetrics,
+            ObjectProvider<PointJournal> pointJournalProvider,
+            @Value("${point.concurrency.mode:lock}") String concurrencyMode,
+            @Value("${point.balance.store:table}") String balanceStore,
+            @Value("${point.balance.off-heap.expected-users:1000000}") int expectedUsers,
+            @Value("${point.balance.single-flight.enabled:true}") boolean singleFlightEnabled,
+            @Value("${point.balance.write-behind.enabled:false}") boolean writeBehindEnabled,
+            @Value("${point.balance.write-behind.flush-interval-millis:100}") long flushIntervalMillis,
+            @Value("${point.balance.write-behind.batch-size:500}") int batchSize,
+            @Value("${point.balance.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${point.balance.cache.max-size:10000}") int cacheMaxSize,
+            @Value("${point.balance.cache.ttl-millis:60000}") long cacheTtlMillis
+    ) {
+        PointJournal pointJournal = pointJournalProvider.getIfAvailable();
+        boolean optimistic = "optimistic".equals(concurrencyMode);
+        if ("off-heap".equals(balanceStore)) {
+            // 잔액이 이미 메모리에만 있으므로 쓰기 지연/캐시를 겹쳐 두지 않는다
+            OffHeapUserPointRepository offHeap = new OffHeapUserPointRepository(expectedUsers);
+            if (pointJournal != null) {
+                offHeap.restore(pointJournal.balances());
+            }
+            return offHeap;
+        }
+
+        UserPointRepository repository = new TimedUserPointRepository(
+            new UserPointTableRepository(UserPointTable::new),
+            pointMetrics.tableTimer("user_point", "selectById"),
+            pointMetrics.tableTimer("user_point", "insertOrUpdate"));
+        if (singleFlightEnabled) {
+            // Table 바로 위에 두어 캐시/쓰기 지연 저장소의 조회 실패(miss)도 합쳐지게 한다
+            repository = new SingleFlightUserPointRepository(repository);
+        }
+        if (writeBehindEnabled || pointJournal != null || optimistic) {
+            // 저널을 쓰면 저널이 잔액의 원본이 되므로 Table 저장은 항상 뒤로 미룬다
+            // optimistic 모드는 잔액이 바뀔 때마다 최신 잔액을 짧은 모니터 안에서 저장하므로 Table 을 직접 부르지 않는다
+            WriteBehindUserPointRepository writeBehind =
+                new WriteBehindUserPointRepository(repository, flushIntervalMillis, batchSize);
+            if (pointJournal != null) {
+                writeBehind.restore(pointJournal.balances());
+            }
+            repository = writeBehind;
+        } else if (cacheEnabled) {
+            // 쓰기 지연 저장소는 이미 모든 잔액을 메모리에서 읽으므로 캐시를 겹쳐 두지 않는다
+            CachingUserPointRepository cache = new CachingUserPointRepository(repository, cacheMaxSize, cacheTtlMillis);
+            pointMetrics.bindCache(cache);
+            repository = cache;
+        }
+        return repository;
+    }
+
+    @Bean
+    public PointHistoryRepository pointHistoryRepository(
+            PointMetrics pointMetrics,
+            ObjectProvider<PointJournal> pointJournalProvider,
+            ObjectProvider<PointExpiryTracker> pointExpiryTrackerProvider,
+            @Value("${point.history.store:table}") String historyStore,
+            @Value("${point.history.async.enabled:false}") boolean asyncEnabled,
+            @Value("${point.history.async.queue-capacity:10000}") int queueCapacity
+    ) {
+        PointJournal pointJournal = pointJournalProvider.getIfAvailable();
+        PointHistoryRepository repository =
+            historyStore(pointMetrics, pointJournal, historyStore, asyncEnabled, queueCapacity);
+        PointExpiryTracker pointExpiryTracker = pointExpiryTrackerProvider.getIfAvailable();
+        if (pointExpiryTracker != null) {
+            repository = new ExpiringPointHistoryRepository(repository, pointExpiryTracker);
+        }
+        if (pointJournal != null) {
+            // 저널은 한 번만 읽고, 읽은 내역을 조회 색인/컬럼 저장소와 만료 추적기에 함께 넘긴다
+            pointJournal.replay(repository::restore, repository::remove);
+        }
+        return repository;
+    }
+
+    private PointHistoryRepository historyStore(
+            PointMetrics pointMetrics,
+            PointJournal pointJournal,
+            String historyStore,
+            boolean asyncEnabled,
+            int queueCapacity
+    ) {
+        if ("columnar".equals(historyStore)) {
+            // 내역을 메모리에만 압축해 두므로 Table 과 비동기 큐를 거치지 않는다. id 는 저널이 있으면 저널이 발급한다
+            PointHistoryRepository sequence = new SequencePointHistoryRepository(1L);
+            if (pointJournal == null) {
+                return new ColumnarPointHistoryRepository(sequence);
+            }
+            return new ColumnarPointHistoryRepository(new JournaledPointHistoryRepository(sequence, pointJournal));
+        }
+
+        PointHistoryRepository repository = new TimedPointHistoryRepository(
+            new PointHistoryTableRepository(PointHistoryTable::new),
+            pointMetrics.tableTimer("point_history", "insert"),
+            pointMetrics.tableTimer("point_history", "selectAllByUserId"));
+        if (asyncEnabled) {
+            // PointHistoryTableRepository 의 id 는 1부터 발급된다
+            AsyncPointHistoryRepository historyQueue = new AsyncPointHistoryRepository(repository, queueCapacity, 1L);
+            pointMetrics.bindHistoryQueue(historyQueue);
+            repository = historyQueue;
+        }
+        if (pointJournal == null) {
+            return new IndexedPointHistoryRepository(repository);
+        }
+        return new IndexedPointHistoryRepository(new JournaledPointHistoryRepository(repository, pointJournal));
+    }
+}
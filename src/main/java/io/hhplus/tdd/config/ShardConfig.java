@@ -0,0 +1,29 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.point.shard.ShardClient;
+import io.hhplus.tdd.point.shard.ShardForwardingInterceptor;
+import io.hhplus.tdd.point.shard.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 샤딩 구성
+ * - point.shard.enabled=true 이면 유저 id 가 경로에 있는 /point, /async/point 요청을 담당 노드로 넘긴다.
+ * - 일괄 요청(/point/batch)은 {@link ShardRouter#executeBatch} 가 노드별로 나눠 보낸다.
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "point.shard.enabled", havingValue = "true")
+public class ShardConfig implements WebMvcConfigurer {
+    private final ShardRouter shardRouter;
+    private final ShardClient shardClient;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ShardForwardingInterceptor(shardRouter, shardClient))
+            .addPathPatterns("/point/**", "/async/point/**");
+    }
+}
@@ -0,0 +1,21 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.point.codec.PointBinaryHttpMessageConverter;
+import java.util.List;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 응답/요청 본문 형식 구성
+ * - Accept 나 Content-Type 이 application/x-point-binary 인 요청은 {@link PointBinaryHttpMessageConverter} 로 읽고 쓴다.
+ * - 변환기 목록 맨 뒤에 두므로 Accept 가 없거나 *&#47;* 이면 지금처럼 JSON 으로 응답한다.
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new PointBinaryHttpMessageConverter());
+    }
+}
@@ -16,4 +16,10 @@ class ApiControllerAdvice extends ResponseEntityExceptionHandler {
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException e){
         return ResponseEntity.status(400).body(new ErrorResponse("400", e.getMessage()));
     }
+
+    @ExceptionHandler(PointException.class)
+    public ResponseEntity<ErrorResponse> handlePointException(PointException e){
+        int status = e.exceptionCode().status();
+        return ResponseEntity.status(status).body(new ErrorResponse(String.valueOf(status), e.getMessage()));
+    }
 }
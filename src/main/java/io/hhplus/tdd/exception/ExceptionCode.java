@@ -1,16 +1,34 @@
 package io.hhplus.tdd.exception;
 
 public enum ExceptionCode {
-    INVALID_AMOUNT("E001", "요청 금액은 1 이상이어야 합니다."),
-    EXCEED_MAX_BALANCE("E002", "최대 잔고 2,000,000을 초과할 수 없습니다."),
-    INSUFFICIENT_BALANCE("E003", "포인트가 부족합니다.");
+    INVALID_AMOUNT("E001", "요청 금액은 1 이상이어야 합니다.", 400),
+    EXCEED_MAX_BALANCE("E002", "최대 잔고 2,000,000을 초과할 수 없습니다.", 400),
+    INSUFFICIENT_BALANCE("E003", "포인트가 부족합니다.", 400),
+    LOCK_TIMEOUT("E004", "요청이 지연되어 처리하지 못했습니다. 잠시 후 다시 시도해주세요.", 409),
+    INVALID_PAGE_SIZE("E005", "조회 개수는 1 이상 1,000 이하여야 합니다.", 400),
+    INVALID_TRANSACTION_TYPE("E006", "거래 종류가 올바르지 않습니다.", 400),
+    INVALID_BATCH_SIZE("E007", "일괄 요청은 1건 이상 10,000건 이하여야 합니다.", 400),
+    IDEMPOTENCY_KEY_REUSED("E008", "같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다.", 422),
+    ASYNC_EXECUTOR_SATURATED("E009", "처리 대기 중인 요청이 너무 많습니다. 잠시 후 다시 시도해주세요.", 503),
+    TOO_MANY_REQUESTS("E010", "요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.", 429),
+    UPDATE_CONFLICT("E011", "같은 유저의 요청이 몰려 처리하지 못했습니다. 잠시 후 다시 시도해주세요.", 409),
+    SAME_USER_TRANSFER("E012", "같은 유저에게는 이체할 수 없습니다.", 400),
+    TRANSFER_NOT_LOCAL("E013", "이체하는 두 유저를 함께 맡은 노드로 요청해주세요.", 421),
+    INVALID_STREAM_USER_COUNT("E014", "내역 스트림은 1명 이상 100명 이하의 유저만 요청할 수 있습니다.", 400),
+    OPERATION_FAILED("E015", "요청을 처리하지 못했습니다. 잠시 후 다시 시도해주세요.", 500),
+    SHARD_TIMEOUT("E016", "담당 노드의 응답이 지연되어 처리하지 못했습니다. 잠시 후 다시 시도해주세요.", 504),
+    JOURNAL_UNAVAILABLE("E017", "포인트 기록을 저장하지 못했습니다. 잠시 후 다시 시도해주세요.", 503),
+    SHARD_UNAUTHORIZED("E018", "인증된 샤드 노드만 호출할 수 있습니다.", 401),
+    SHARD_IMPORT_REJECTED("E019", "이 유저를 넘겨줄 수 있는 노드가 아닙니다.", 403);
 
     private final String code;
     private final String message;
+    private final int status;
 
-    ExceptionCode(String code, String message) {
+    ExceptionCode(String code, String message, int status) {
         this.code = code;
         this.message = message;
+        this.status = status;
     }
 
     public String code() {
@@ -20,5 +38,9 @@ public enum ExceptionCode {
     public String message() {
         return message;
     }
+
+    public int status() {
+        return status;
+    }
 }
 
@@ -0,0 +1,24 @@
+package io.hhplus.tdd.exception;
+
+/**
+ * 포인트 정책 위반 예외
+ * - 어떤 정책에 걸렸는지 {@link ExceptionCode} 로 구분하며, 응답 상태도 {@link ExceptionCode#status()} 를 따른다.
+ * - 잘못된 입력(400)만이 아니라 지연(409), 과부하(503) 등도 나타내므로 IllegalArgumentException 이 아닌 RuntimeException 을 상속한다.
+ */
+public class PointException extends RuntimeException {
+    private final ExceptionCode exceptionCode;
+
+    public PointException(ExceptionCode exceptionCode) {
+        super(exceptionCode.message());
+        this.exceptionCode = exceptionCode;
+    }
+
+    public PointException(ExceptionCode exceptionCode, Throwable cause) {
+        super(exceptionCode.message(), cause);
+        this.exceptionCode = exceptionCode;
+    }
+
+    public ExceptionCode exceptionCode() {
+        return exceptionCode;
+    }
+}
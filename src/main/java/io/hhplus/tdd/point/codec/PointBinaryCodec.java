@@ -0,0 +1,162 @@
+package io.hhplus.tdd.point.codec;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointTransferRequest;
+import io.hhplus.tdd.point.model.PointTransferResult;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * 포인트 API 바이너리 형식 (application/x-point-binary)
+ * - 모든 정수는 little-endian 고정 길이이며, 필드 이름 없이 record 선언 순서대로 쓴다.
+ * - UserPoint(24) : id(8) point(8) updateMillis(8)
+ * - PointHistory(33) : id(8) userId(8) amount(8) type(1, {@link TransactionType} 순서) updateMillis(8)
+ * - 내역 목록 : 건수(4) + PointHistory * 건수
+ * - 금액(8), 이체 요청(24) : fromUserId toUserId amount, 이체 결과(48) : from UserPoint + to UserPoint
+ * - 내역 목록은 풀에서 빌린 CHUNK_SIZE 버퍼에 채워 가며 스트림에 바로 쓰므로, 건수와 관계없이 버퍼를 새로 만들지 않는다.
+ */
+public final class PointBinaryCodec {
+    public static final String MEDIA_TYPE_VALUE = "application/x-point-binary";
+    public static final int AMOUNT_SIZE = 8;
+    public static final int USER_POINT_SIZE = 24;
+    public static final int HISTORY_SIZE = 33;
+    public static final int TRANSFER_REQUEST_SIZE = 24;
+    public static final int TRANSFER_RESULT_SIZE = USER_POINT_SIZE * 2;
+    static final int CHUNK_SIZE = 64 * 1024;
+    private static final int POOL_SIZE = 64;
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final ArrayBlockingQueue<ByteBuffer> pool = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private PointBinaryCodec() {
+    }
+
+    public static long historiesSize(int count) {
+        return Integer.BYTES + (long) count * HISTORY_SIZE;
+    }
+
+    public static void writeUserPoint(ByteBuffer buffer, UserPoint userPoint) {
+        buffer.putLong(userPoint.id()).putLong(userPoint.point()).putLong(userPoint.updateMillis());
+    }
+
+    public static UserPoint readUserPoint(ByteBuffer buffer) {
+        return new UserPoint(buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    public static void writeHistory(ByteBuffer buffer, PointHistory pointHistory) {
+        buffer.putLong(pointHistory.id())
+            .putLong(pointHistory.userId())
+            .putLong(pointHistory.amount())
+            .put((byte) pointHistory.type().ordinal())
+            .putLong(pointHistory.updateMillis());
+    }
+
+    public static PointHistory readHistory(ByteBuffer buffer) {
+        long id = buffer.getLong();
+        long userId = buffer.getLong();
+        long amount = buffer.getLong();
+        int type = buffer.get();
+        if (type < 0 || type >= TYPES.length) {
+            throw new IllegalArgumentException("알 수 없는 거래 종류입니다. (" + type + ")");
+        }
+        return new PointHistory(id, userId, amount, TYPES[type], buffer.getLong());
+    }
+
+    /**
+     * 내역 목록을 버퍼 하나에 쓴다. 버퍼는 {@link #historiesSize} 이상 남아 있어야 한다.
+     */
+    public static void writeHistories(ByteBuffer buffer, List<PointHistory> histories) {
+        buffer.putInt(histories.size());
+        for (PointHistory pointHistory : histories) {
+            writeHistory(buffer, pointHistory);
+        }
+    }
+
+    public static List<PointHistory> readHistories(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count < 0 || (long) count * HISTORY_SIZE > buffer.remaining()) {
+            throw new IllegalArgumentException("내역 건수가 본문 길이와 맞지 않습니다. (" + count + ")");
+        }
+        List<PointHistory> histories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            histories.add(readHistory(buffer));
+        }
+        return histories;
+    }
+
+    /**
+     * 내역 목록을 풀에서 빌린 버퍼에 채워 가며 outputStream 에 쓴다.
+     */
+    public static void writeHistories(OutputStream outputStream, List<PointHistory> histories) throws IOException {
+        ByteBuffer buffer = acquire();
+        try {
+            buffer.putInt(histories.size());
+            for (PointHistory pointHistory : histories) {
+                if (buffer.remaining() < HISTORY_SIZE) {
+                    drain(buffer, outputStream);
+                }
+                writeHistory(buffer, pointHistory);
+            }
+            drain(buffer, outputStream);
+        } finally {
+            release(buffer);
+        }
+    }
+
+    public static void writeTransferResult(ByteBuffer buffer, PointTransferResult result) {
+        writeUserPoint(buffer, result.from());
+        writeUserPoint(buffer, result.to());
+    }
+
+    public static PointTransferResult readTransferResult(ByteBuffer buffer) {
+        return new PointTransferResult(readUserPoint(buffer), readUserPoint(buffer));
+    }
+
+    public static void writeTransferRequest(ByteBuffer buffer, PointTransferRequest request) {
+        buffer.putLong(request.fromUserId()).putLong(request.toUserId()).putLong(request.amount());
+    }
+
+    public static PointTransferRequest readTransferRequest(ByteBuffer buffer) {
+        return new PointTransferRequest(buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * 본문 전체를 감싼다. 읽은 뒤 남은 바이트가 있거나 모자라면 {@link #requireFullyRead} 가 예외를 던진다.
+     */
+    public static ByteBuffer wrap(byte[] body) {
+        return ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public static void requireFullyRead(ByteBuffer buffer) {
+        if (buffer.hasRemaining()) {
+            throw new IllegalArgumentException("본문 길이가 형식과 맞지 않습니다. (남은 바이트 " + buffer.remaining() + ")");
+        }
+    }
+
+    /**
+     * 풀에서 비어 있는 CHUNK_SIZE 버퍼를 빌린다. 풀이 비었으면 새로 만든다.
+     */
+    static ByteBuffer acquire() {
+        ByteBuffer buffer = pool.poll();
+        return buffer != null ? buffer : ByteBuffer.allocate(CHUNK_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * 다 쓴 버퍼를 비워 풀에 돌려준다. 풀이 가득 찼으면 버린다.
+     */
+    static void release(ByteBuffer buffer) {
+        buffer.clear();
+        pool.offer(buffer);
+    }
+
+    static void drain(ByteBuffer buffer, OutputStream outputStream) throws IOException {
+        outputStream.write(buffer.array(), buffer.arrayOffset(), buffer.position());
+        buffer.clear();
+    }
+}
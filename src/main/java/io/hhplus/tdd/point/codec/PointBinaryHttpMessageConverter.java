@@ -0,0 +1,113 @@
+package io.hhplus.tdd.point.codec;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointTransferRequest;
+import io.hhplus.tdd.point.model.PointTransferResult;
+import io.hhplus.tdd.point.model.UserPoint;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * {@link PointBinaryCodec} 형식으로 포인트 API 본문을 읽고 쓴다.
+ * - 쓰기 : UserPoint, List&lt;PointHistory&gt;, PointTransferResult
+ * - 읽기 : 충전/사용 금액(long), PointTransferRequest, 그리고 서비스 간 호출용으로 쓰기 대상과 같은 타입
+ * - 그 밖의 타입(일괄 처리, 요약, 오류 응답 등)은 지원하지 않으므로 JSON 으로 응답한다.
+ */
+public class PointBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(PointBinaryCodec.MEDIA_TYPE_VALUE);
+
+    public PointBinaryHttpMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == UserPoint.class || clazz == PointTransferResult.class || clazz == PointTransferRequest.class
+            || clazz == Long.class || clazz == long.class;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return (isHistoryList(type) || type instanceof Class<?> clazz && supports(clazz)) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        boolean writable = isHistoryList(type)
+            || clazz == UserPoint.class || clazz == PointTransferResult.class;
+        return writable && canWrite(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        ByteBuffer buffer = PointBinaryCodec.wrap(inputMessage.getBody().readAllBytes());
+        try {
+            Object value;
+            if (isHistoryList(type)) {
+                value = PointBinaryCodec.readHistories(buffer);
+            } else if (type == UserPoint.class) {
+                value = PointBinaryCodec.readUserPoint(buffer);
+            } else if (type == PointTransferResult.class) {
+                value = PointBinaryCodec.readTransferResult(buffer);
+            } else if (type == PointTransferRequest.class) {
+                value = PointBinaryCodec.readTransferRequest(buffer);
+            } else {
+                value = buffer.getLong();
+            }
+            PointBinaryCodec.requireFullyRead(buffer);
+            return value;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException("바이너리 본문을 읽을 수 없습니다. (" + type.getTypeName() + ")", e, inputMessage);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream outputStream = outputMessage.getBody();
+        if (value instanceof List<?> histories) {
+            PointBinaryCodec.writeHistories(outputStream, (List<PointHistory>) histories);
+            return;
+        }
+        ByteBuffer buffer = PointBinaryCodec.acquire();
+        try {
+            if (value instanceof UserPoint userPoint) {
+                PointBinaryCodec.writeUserPoint(buffer, userPoint);
+            } else {
+                PointBinaryCodec.writeTransferResult(buffer, (PointTransferResult) value);
+            }
+            PointBinaryCodec.drain(buffer, outputStream);
+        } finally {
+            PointBinaryCodec.release(buffer);
+        }
+    }
+
+    @Override
+    protected Long getContentLength(Object value, MediaType contentType) {
+        if (value instanceof List<?> histories) {
+            return PointBinaryCodec.historiesSize(histories.size());
+        }
+        return (long) (value instanceof UserPoint ? PointBinaryCodec.USER_POINT_SIZE : PointBinaryCodec.TRANSFER_RESULT_SIZE);
+    }
+
+    private static boolean isHistoryList(Type type) {
+        return type instanceof ParameterizedType parameterizedType
+            && parameterizedType.getRawType() == List.class
+            && parameterizedType.getActualTypeArguments()[0] == PointHistory.class;
+    }
+}
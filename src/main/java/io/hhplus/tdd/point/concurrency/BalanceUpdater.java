@@ -0,0 +1,35 @@
+package io.hhplus.tdd.point.concurrency;
+
+import io.hhplus.tdd.point.model.UserPoint;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * 잔액 변경 방식 (point.concurrency.mode)
+ * - 현재 잔액으로 새 잔액을 계산해 저장하고, 저장된 잔액으로 afterCommit 을 실행한 뒤 저장된 잔액을 돌려준다.
+ * - calculator 는 검증에 실패하면 예외를 던진다. 같은 유저의 다른 변경과 겹치면 여러 번 호출될 수 있으므로 부수 효과가 없어야 한다.
+ * - calculator 가 {@link #UNCHANGED} 를 돌려주면 저장하지 않고 afterCommit 도 실행하지 않는다.
+ */
+public interface BalanceUpdater {
+    long UNCHANGED = Long.MIN_VALUE;
+
+    UserPoint update(long userId, ToLongFunction<UserPoint> calculator, Consumer<UserPoint> afterCommit);
+
+    /**
+     * 두 유저의 잔액을 함께 변경하고, 저장된 두 잔액을 {first, second} 순서로 돌려준다. (이체)
+     * - calculator 는 두 유저의 현재 잔액으로 {first 새 잔액, second 새 잔액} 을 계산한다. 검증에 실패하면 두 잔액 모두 바뀌지 않는다.
+     * - 두 잔액이 모두 저장된 뒤에만 afterCommit 을 실행한다. afterCommit 이 실패하면 두 잔액을 변경 전으로 되돌리고 예외를 그대로 던진다.
+     */
+    UserPoint[] updatePair(long firstUserId, long secondUserId, BiFunction<UserPoint, UserPoint, long[]> calculator,
+                           BiConsumer<UserPoint, UserPoint> afterCommit);
+
+    /**
+     * 이 유저의 잔액 변경(afterCommit 포함)이 끼어들지 못하게 막고 task 를 실행한다.
+     * - 잔액과 내역을 함께 읽거나 저장소에 직접 쓰는 작업(요약 재계산, 샤드 이관, 만료)이 쓴다.
+     * - task 안에서 같은 유저의 {@link #update} 를 호출할 수 있다.
+     */
+    <T> T executeExclusive(long userId, Supplier<T> task);
+}
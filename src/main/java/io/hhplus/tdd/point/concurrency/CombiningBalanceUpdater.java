@@ -0,0 +1,217 @@
+package io.hhplus.tdd.point.concurrency;
+
+import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.exception.PointException;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * 같은 유저의 동시 변경을 모아 한 번에 저장한다. (combining 모드)
+ * - 요청은 유저별 대기열에 넣고 유저 락을 기다린다. 락을 얻은 스레드(combiner)가 대기열에 쌓인 요청을
+ *   도착 순서대로 계산하고, 마지막 잔액만 insertOrUpdate 한 번으로 저장한 뒤 요청마다 afterCommit 을 실행한다.
+ * - 요청마다 직전 요청까지 반영된 잔액으로 검증하므로, 검증에 실패한 요청만 예외를 받고 나머지는 그대로 저장된다.
+ * - 저장에 실패하면 그 묶음에서 잔액을 바꾼 요청 모두가 저장 예외를 받는다.
+ * - 유저 락 안에서 저장하므로 두 유저의 변경(이체)은 lock 모드와 같이 처리한다.
+ */
+public class CombiningBalanceUpdater implements BalanceUpdater {
+    private final UserPointRepository userPointRepository;
+    private final UserLockManager userLockManager;
+    private final LockingBalanceUpdater pairUpdater;
+    private final int maxBatchSize;
+    private final ConcurrentHashMap<Long, Combiner> combiners = new ConcurrentHashMap<>();
+
+    public CombiningBalanceUpdater(UserPointRepository userPointRepository, UserLockManager userLockManager, int maxBatchSize) {
+        this.userPointRepository = userPointRepository;
+        this.userLockManager = userLockManager;
+        this.pairUpdater = new LockingBalanceUpdater(userPointRepository, userLockManager);
+        this.maxBatchSize = Math.max(maxBatchSize, 1);
+    }
+
+    @Override
+    public UserPoint update(long userId, ToLongFunction<UserPoint> calculator, Consumer<UserPoint> afterCommit) {
+        Combiner combiner = acquireCombiner(userId);
+        try {
+            Request request = new Request(calculator, afterCommit);
+            combiner.queue.add(request);
+            try {
+                userLockManager.executeWithLock(userId, () -> {
+                    while (!request.isDone()) {
+                        combine(userId, combiner);
+                    }
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                // 락 대기 시간 초과나 잔액 조회 실패면 아직 다른 combiner 가 꺼내지 않은 경우에만 취소한다
+                if (request.cancel()) {
+                    throw e;
+                }
+            }
+            return request.await();
+        } finally {
+            releaseCombiner(userId);
+        }
+    }
+
+    @Override
+    public UserPoint[] updatePair(long firstUserId, long secondUserId, BiFunction<UserPoint, UserPoint, long[]> calculator,
+                                  BiConsumer<UserPoint, UserPoint> afterCommit) {
+        return pairUpdater.updatePair(firstUserId, secondUserId, calculator, afterCommit);
+    }
+
+    /**
+     * combiner 도 유저 락 안에서만 저장하므로 유저 락으로 막는다.
+     */
+    @Override
+    public <T> T executeExclusive(long userId, Supplier<T> task) {
+        return userLockManager.executeWithLock(userId, task);
+    }
+
+    /**
+     * 현재 대기 중인 요청이 있는 유저 수
+     */
+    public int activeCombinerCount() {
+        return combiners.size();
+    }
+
+    /**
+     * 유저 락 안에서 대기열의 요청을 최대 maxBatchSize 건 꺼내 계산하고 한 번에 저장한다.
+     */
+    private void combine(long userId, Combiner combiner) {
+        UserPoint before = userPointRepository.selectById(userId);
+        long running = before.point();
+        List<Request> changed = new ArrayList<>();
+        int taken = 0;
+        Request request;
+        while (taken < maxBatchSize && (request = combiner.queue.poll()) != null) {
+            if (!request.take()) {
+                continue;
+            }
+            taken++;
+            try {
+                long requestAmount = request.calculator.applyAsLong(new UserPoint(userId, running, before.updateMillis()));
+                if (requestAmount == UNCHANGED) {
+                    request.complete(new UserPoint(userId, running, before.updateMillis()));
+                    continue;
+                }
+                running = requestAmount;
+                request.balance = requestAmount;
+                changed.add(request);
+            } catch (RuntimeException e) {
+                request.fail(e);
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        UserPoint saved;
+        try {
+            saved = userPointRepository.insertOrUpdate(userId, running);
+        } catch (RuntimeException e) {
+            for (Request failed : changed) {
+                failed.fail(e);
+            }
+            return;
+        }
+        for (Request committed : changed) {
+            UserPoint updatedUserPoint = committed.balance == saved.point()
+                ? saved
+                : new UserPoint(userId, committed.balance, saved.updateMillis());
+            try {
+                committed.afterCommit.accept(updatedUserPoint);
+                committed.complete(updatedUserPoint);
+            } catch (RuntimeException e) {
+                committed.fail(e);
+            }
+        }
+    }
+
+    private Combiner acquireCombiner(long userId) {
+        return combiners.compute(userId, (id, combiner) -> {
+            Combiner target = combiner == null ? new Combiner() : combiner;
+            target.refCount++;
+            return target;
+        });
+    }
+
+    private void releaseCombiner(long userId) {
+        combiners.computeIfPresent(userId, (id, combiner) -> --combiner.refCount == 0 ? null : combiner);
+    }
+
+    /**
+     * refCount 는 ConcurrentHashMap 의 compute 안에서만 변경된다. 요청은 끝날 때까지 참조를 쥐고 있으므로 대기열이 사라지지 않는다.
+     */
+    private static final class Combiner {
+        private final ConcurrentLinkedQueue<Request> queue = new ConcurrentLinkedQueue<>();
+        private int refCount;
+    }
+
+    private static final class Request {
+        private static final int PENDING = 0;
+        private static final int TAKEN = 1;
+        private static final int CANCELLED = 2;
+
+        private final ToLongFunction<UserPoint> calculator;
+        private final Consumer<UserPoint> afterCommit;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private final CountDownLatch done = new CountDownLatch(1);
+        private long balance;
+        private UserPoint result;
+        private RuntimeException error;
+
+        private Request(ToLongFunction<UserPoint> calculator, Consumer<UserPoint> afterCommit) {
+            this.calculator = calculator;
+            this.afterCommit = afterCommit;
+        }
+
+        private boolean take() {
+            return state.compareAndSet(PENDING, TAKEN);
+        }
+
+        private boolean cancel() {
+            return state.compareAndSet(PENDING, CANCELLED);
+        }
+
+        private boolean isDone() {
+            return done.getCount() == 0;
+        }
+
+        private void complete(UserPoint userPoint) {
+            result = userPoint;
+            done.countDown();
+        }
+
+        private void fail(RuntimeException exception) {
+            error = exception;
+            done.countDown();
+        }
+
+        /**
+         * combiner 가 꺼낸 요청은 반드시 끝까지 처리하므로, 락을 기다리다 실패한 스레드도 결과를 기다린다.
+         */
+        private UserPoint await() {
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PointException(ExceptionCode.LOCK_TIMEOUT, e);
+            }
+            if (error != null) {
+                throw error;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package io.hhplus.tdd.point.concurrency;
+
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * 유저 락으로 잔액을 변경한다. (lock 모드)
+ * - 조회, 계산, 저장, afterCommit 이 모두 유저 락 안에서 실행되므로 같은 유저의 내역도 변경 순서대로 남는다.
+ * - 두 유저의 변경은 두 락을 id 순서로 잡고 실행한다. 두 번째 저장이 실패하면 첫 번째 잔액을, afterCommit 이 실패하면 두 잔액을 되돌린다.
+ */
+public class LockingBalanceUpdater implements BalanceUpdater {
+    private final UserPointRepository userPointRepository;
+    private final UserLockManager userLockManager;
+
+    public LockingBalanceUpdater(UserPointRepository userPointRepository, UserLockManager userLockManager) {
+        this.userPointRepository = userPointRepository;
+        this.userLockManager = userLockManager;
+    }
+
+    @Override
+    public UserPoint update(long userId, ToLongFunction<UserPoint> calculator, Consumer<UserPoint> afterCommit) {
+        return userLockManager.executeWithLock(userId, () -> {
+            UserPoint beforeUserPoint = userPointRepository.selectById(userId);
+            long requestAmount = calculator.applyAsLong(beforeUserPoint);
+            if (requestAmount == UNCHANGED) {
+                return beforeUserPoint;
+            }
+            UserPoint updatedUserPoint = userPointRepository.insertOrUpdate(userId, requestAmount);
+            afterCommit.accept(updatedUserPoint);
+            return updatedUserPoint;
+        });
+    }
+
+    @Override
+    public UserPoint[] updatePair(long firstUserId, long secondUserId, BiFunction<UserPoint, UserPoint, long[]> calculator,
+                                  BiConsumer<UserPoint, UserPoint> afterCommit) {
+        return userLockManager.executeWithLocks(firstUserId, secondUserId, () -> {
+            UserPoint beforeFirst = userPointRepository.selectById(firstUserId);
+            UserPoint beforeSecond = userPointRepository.selectById(secondUserId);
+            long[] requestAmounts = calculator.apply(beforeFirst, beforeSecond);
+            UserPoint updatedFirst = userPointRepository.insertOrUpdate(firstUserId, requestAmounts[0]);
+            UserPoint updatedSecond;
+            try {
+                updatedSecond = userPointRepository.insertOrUpdate(secondUserId, requestAmounts[1]);
+            } catch (RuntimeException e) {
+                userPointRepository.insertOrUpdate(firstUserId, beforeFirst.point());
+                throw e;
+            }
+            try {
+                afterCommit.accept(updatedFirst, updatedSecond);
+            } catch (RuntimeException e) {
+                userPointRepository.insertOrUpdate(firstUserId, beforeFirst.point());
+                userPointRepository.insertOrUpdate(secondUserId, beforeSecond.point());
+                throw e;
+            }
+            return new UserPoint[] {updatedFirst, updatedSecond};
+        });
+    }
+
+    @Override
+    public <T> T executeExclusive(long userId, Supplier<T> task) {
+        return userLockManager.executeWithLock(userId, task);
+    }
+}
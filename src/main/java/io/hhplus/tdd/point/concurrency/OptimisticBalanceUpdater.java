@@ -0,0 +1,268 @@
+package io.hhplus.tdd.point.concurrency;
+
+import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.exception.PointException;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.OptimisticUserPointRepository;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * 락 없이 compare-and-swap 으로 잔액을 변경한다. (optimistic 모드)
+ * - 읽은 잔액으로 계산(검증 포함)한 뒤, 그 사이 다른 변경이 없었을 때만 저장한다. 충돌하면 다시 읽어 계산한다.
+ *   저장 시점의 잔액이 검증에 쓴 잔액과 같으므로 최대 잔고/잔고 부족 검증은 경합 중에도 지켜진다.
+ * - 재시도 사이에는 처음 몇 번은 스핀하고, 이후에는 상한이 있는 지수 백오프(지터 포함)로 쉰다.
+ *   maxRetries 번 모두 충돌하면 {@link ExceptionCode#UPDATE_CONFLICT} 로 실패한다.
+ * - afterCommit(내역 저장 등)은 저장에 성공한 뒤 받은 유저별 순번대로 하나씩 실행한다. 내역 id 발급과 색인 추가가 유저별로 한 번에
+ *   하나씩 일어나므로 유저의 내역은 id 오름차순으로 쌓인다. (커서 조회/스트림이 내역을 건너뛰거나 두 번 읽지 않음)
+ *   차례를 기다리는 동안 모니터를 잡지 않으므로, 가상 스레드가 앞 순번의 내역 저장(I/O)을 기다려도 캐리어 스레드를 붙잡지 않는다.
+ * - 요약 재계산/샤드 이관/만료처럼 잔액 변경을 막아야 하는 작업은 {@link #executeExclusive} 로 유저별 펜스의 쓰기 락을 잡는다.
+ *   잔액 변경은 시도부터 afterCommit 까지 펜스의 읽기 락을 잡는데, 이는 {@link #executeExclusive} 를 막기 위한 것일 뿐이라
+ *   잔액 변경끼리는 서로 막지 않는다.
+ * - 펜스는 참조 중인 스레드 수를 세어 0이 되면 맵에서 지운다. (요청이 없는 유저의 펜스는 메모리에 남지 않음)
+ *   펜스 안에서 감싼 저장소에 직접 쓴 잔액은 펜스를 풀 때 compare-and-swap 저장소에서 지워 다음 변경이 다시 읽는다.
+ * - 두 유저의 변경(이체)은 compare-and-swap 두 번으로는 함께 성공을 보장할 수 없으므로, 두 유저의 펜스 쓰기 락을 id 오름차순으로 잡고
+ *   읽기/검증/저장/afterCommit 을 한 번에 처리한다. 저장 중 하나가 실패하면 두 잔액을 검증 전 값으로 되돌린다.
+ */
+public class OptimisticBalanceUpdater implements BalanceUpdater {
+    private static final int SPIN_ATTEMPTS = 4;
+    private static final long MIN_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+
+    private final OptimisticUserPointRepository userPointRepository;
+    private final int maxRetries;
+    private final long maxBackoffNanos;
+    private final long fenceTimeoutMillis;
+    private final LongAdder conflicts = new LongAdder();
+    private final ConcurrentHashMap<Long, UserFence> fences = new ConcurrentHashMap<>();
+
+    public OptimisticBalanceUpdater(OptimisticUserPointRepository userPointRepository, int maxRetries, long maxBackoffMicros,
+                                    long fenceTimeoutMillis) {
+        this.userPointRepository = userPointRepository;
+        this.maxRetries = maxRetries;
+        this.maxBackoffNanos = TimeUnit.MICROSECONDS.toNanos(maxBackoffMicros);
+        this.fenceTimeoutMillis = fenceTimeoutMillis;
+    }
+
+    @Override
+    public UserPoint update(long userId, ToLongFunction<UserPoint> calculator, Consumer<UserPoint> afterCommit) {
+        UserFence fence = acquireFence(userId);
+        try {
+            Lock readLock = lock(fence.lock.readLock());
+            try {
+                for (int attempt = 1; ; attempt++) {
+                    UserPoint beforeUserPoint = userPointRepository.selectById(userId);
+                    long requestAmount = calculator.applyAsLong(beforeUserPoint);
+                    if (requestAmount == UNCHANGED) {
+                        return beforeUserPoint;
+                    }
+                    UserPoint updatedUserPoint = userPointRepository.compareAndSet(userId, beforeUserPoint, requestAmount);
+                    if (updatedUserPoint != null) {
+                        long sequence = fence.nextSequence.getAndIncrement();
+                        fence.awaitTurn(sequence);
+                        try {
+                            afterCommit.accept(updatedUserPoint);
+                        } finally {
+                            fence.finishTurn();
+                        }
+                        return updatedUserPoint;
+                    }
+                    conflicts.increment();
+                    if (attempt >= maxRetries) {
+                        throw new PointException(ExceptionCode.UPDATE_CONFLICT);
+                    }
+                    backoff(attempt);
+                }
+            } finally {
+                readLock.unlock();
+            }
+        } finally {
+            releaseFence(userId);
+        }
+    }
+
+    /**
+     * 두 유저의 펜스 쓰기 락을 유저 id 오름차순으로 잡고 두 잔액을 함께 바꾼다.
+     * 락을 잡은 동안에는 두 유저의 다른 변경이 없으므로 검증한 잔액 그대로 저장된다.
+     */
+    @Override
+    public UserPoint[] updatePair(long firstUserId, long secondUserId, BiFunction<UserPoint, UserPoint, long[]> calculator,
+                                  BiConsumer<UserPoint, UserPoint> afterCommit) {
+        long lowerUserId = Math.min(firstUserId, secondUserId);
+        long upperUserId = Math.max(firstUserId, secondUserId);
+        UserFence lowerFence = acquireFence(lowerUserId);
+        try {
+            UserFence upperFence = acquireFence(upperUserId);
+            try {
+                Lock lowerLock = lock(lowerFence.lock.writeLock());
+                try {
+                    Lock upperLock = lock(upperFence.lock.writeLock());
+                    try {
+                        // 쓰기 락은 afterCommit 중인 잔액 변경이 모두 끝나야 잡히므로, 순번을 기다리지 않고 바로 실행한다
+                        UserPoint beforeFirst = userPointRepository.selectById(firstUserId);
+                        UserPoint beforeSecond = userPointRepository.selectById(secondUserId);
+                        long[] requestAmounts = calculator.apply(beforeFirst, beforeSecond);
+                        UserPoint[] updated = commitPair(beforeFirst, beforeSecond, requestAmounts);
+                        try {
+                            afterCommit.accept(updated[0], updated[1]);
+                        } catch (RuntimeException e) {
+                            userPointRepository.insertOrUpdate(firstUserId, beforeFirst.point());
+                            userPointRepository.insertOrUpdate(secondUserId, beforeSecond.point());
+                            throw e;
+                        }
+                        return updated;
+                    } finally {
+                        upperLock.unlock();
+                    }
+                } finally {
+                    lowerLock.unlock();
+                }
+            } finally {
+                releaseFence(upperUserId);
+            }
+        } finally {
+            releaseFence(lowerUserId);
+        }
+    }
+
+    @Override
+    public <T> T executeExclusive(long userId, Supplier<T> task) {
+        UserFence fence = acquireFence(userId);
+        try {
+            Lock writeLock = lock(fence.lock.writeLock());
+            try {
+                return task.get();
+            } finally {
+                userPointRepository.evict(userId);
+                writeLock.unlock();
+            }
+        } finally {
+            releaseFence(userId);
+        }
+    }
+
+    /**
+     * 다른 변경과 충돌해 다시 시도한 횟수
+     */
+    public long conflictCount() {
+        return conflicts.sum();
+    }
+
+    /**
+     * 현재 맵에 남아있는 펜스 개수 (변경 또는 펜스 작업 중인 유저 수)
+     */
+    public int activeFenceCount() {
+        return fences.size();
+    }
+
+    /**
+     * 두 잔액을 저장한다. 하나라도 실패하면 두 유저를 검증 전 잔액으로 되돌리고 예외를 다시 던진다.
+     * 두 유저의 쓰기 락 안에서만 부르므로 되돌린 잔액을 덮어쓸 다른 변경은 없다.
+     */
+    private UserPoint[] commitPair(UserPoint beforeFirst, UserPoint beforeSecond, long[] requestAmounts) {
+        try {
+            UserPoint updatedFirst = requireCommitted(userPointRepository.compareAndSet(beforeFirst.id(), beforeFirst, requestAmounts[0]));
+            UserPoint updatedSecond = requireCommitted(userPointRepository.compareAndSet(beforeSecond.id(), beforeSecond, requestAmounts[1]));
+            return new UserPoint[] {updatedFirst, updatedSecond};
+        } catch (RuntimeException e) {
+            userPointRepository.insertOrUpdate(beforeFirst.id(), beforeFirst.point());
+            userPointRepository.insertOrUpdate(beforeSecond.id(), beforeSecond.point());
+            throw e;
+        }
+    }
+
+    private UserPoint requireCommitted(UserPoint updatedUserPoint) {
+        if (updatedUserPoint == null) {
+            conflicts.increment();
+            throw new PointException(ExceptionCode.UPDATE_CONFLICT);
+        }
+        return updatedUserPoint;
+    }
+
+    private UserFence acquireFence(long userId) {
+        return fences.compute(userId, (id, fence) -> {
+            UserFence target = fence == null ? new UserFence() : fence;
+            target.refCount++;
+            return target;
+        });
+    }
+
+    private void releaseFence(long userId) {
+        fences.computeIfPresent(userId, (id, fence) -> --fence.refCount == 0 ? null : fence);
+    }
+
+    private Lock lock(Lock lock) {
+        try {
+            if (!lock.tryLock(fenceTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new PointException(ExceptionCode.LOCK_TIMEOUT);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PointException(ExceptionCode.LOCK_TIMEOUT, e);
+        }
+        return lock;
+    }
+
+    private void backoff(int attempt) {
+        if (attempt <= SPIN_ATTEMPTS) {
+            Thread.onSpinWait();
+            return;
+        }
+        long ceiling = Math.min(maxBackoffNanos, MIN_BACKOFF_NANOS << Math.min(attempt - SPIN_ATTEMPTS, 30));
+        LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1));
+    }
+
+    /**
+     * 유저별 펜스. 잔액 변경은 읽기 락, {@link #executeExclusive} 와 두 유저의 변경은 쓰기 락을 잡는다.
+     * - nextSequence 는 저장에 성공한 순서대로 발급하는 순번, turn 은 afterCommit 을 실행할 차례인 순번이다.
+     *   순번을 받은 변경은 반드시 finishTurn 까지 하므로 차례가 건너뛰어지지 않는다.
+     * - refCount 는 ConcurrentHashMap 의 compute 안에서만 변경된다. 참조 중에는 펜스가 사라지지 않으므로 순번도 이어진다.
+     */
+    private static final class UserFence {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final AtomicLong nextSequence = new AtomicLong();
+        private final ReentrantLock turnLock = new ReentrantLock();
+        private final Condition turnChanged = turnLock.newCondition();
+        private volatile long turn;
+        private int refCount;
+
+        /**
+         * 앞 순번의 afterCommit 이 끝날 때까지 기다린다. 순번을 지켜야 하므로 인터럽트되어도 계속 기다린다.
+         */
+        private void awaitTurn(long sequence) {
+            if (turn == sequence) {
+                return;
+            }
+            turnLock.lock();
+            try {
+                while (turn != sequence) {
+                    turnChanged.awaitUninterruptibly();
+                }
+            } finally {
+                turnLock.unlock();
+            }
+        }
+
+        private void finishTurn() {
+            turnLock.lock();
+            try {
+                turn++;
+                turnChanged.signalAll();
+            } finally {
+                turnLock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package io.hhplus.tdd.point.controller;
+
+import io.hhplus.tdd.point.executor.BoundedElasticExecutor;
+import io.hhplus.tdd.point.idempotency.IdempotencyStore;
+import io.hhplus.tdd.point.limiter.AdaptiveConcurrencyLimiter;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointOperation;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.service.PointService;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 비동기 포인트 API
+ * - {@link PointController} 와 같은 기능을 CompletableFuture 로 돌려준다.
+ * - 요청 스레드(Tomcat)는 작업을 {@link BoundedElasticExecutor} 에 넘기고 바로 반환되며, 응답은 작업이 끝날 때 이어서 쓴다.
+ * - 충전/사용은 동기 API 와 같은 {@link AdaptiveConcurrencyLimiter} 한도를 함께 쓴다.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/async/point")
+public class PointAsyncController {
+
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private final PointService pointService;
+    private final IdempotencyStore idempotencyStore;
+    private final BoundedElasticExecutor boundedElasticExecutor;
+    private final AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+
+    @GetMapping("{id}")
+    public CompletableFuture<UserPoint> point(
+            @PathVariable long id
+    ) {
+        return boundedElasticExecutor.supply(() -> pointService.point(id));
+    }
+
+    @GetMapping("{id}/histories")
+    public CompletableFuture<List<PointHistory>> history(
+            @PathVariable long id
+    ) {
+        return boundedElasticExecutor.supply(() -> pointService.pointHistory(id));
+    }
+
+    @PatchMapping("{id}/charge")
+    public CompletableFuture<UserPoint> charge(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        if (idempotencyKey == null) {
+            return adaptiveConcurrencyLimiter.executeAsync(id,
+                () -> boundedElasticExecutor.supply(() -> pointService.charge(id, amount)));
+        }
+        PointOperation operation = new PointOperation(id, TransactionType.CHARGE, amount);
+        UserPoint replayed = idempotencyStore.completed(idempotencyKey, operation);
+        if (replayed != null) {
+            return CompletableFuture.completedFuture(replayed);
+        }
+        return adaptiveConcurrencyLimiter.executeAsync(id, () -> boundedElasticExecutor.supply(
+            () -> idempotencyStore.execute(idempotencyKey, operation, () -> pointService.charge(id, amount))));
+    }
+
+    @PatchMapping("{id}/use")
+    public CompletableFuture<UserPoint> use(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        if (idempotencyKey == null) {
+            return adaptiveConcurrencyLimiter.executeAsync(id,
+                () -> boundedElasticExecutor.supply(() -> pointService.use(id, amount)));
+        }
+        PointOperation operation = new PointOperation(id, TransactionType.USE, amount);
+        UserPoint replayed = idempotencyStore.completed(idempotencyKey, operation);
+        if (replayed != null) {
+            return CompletableFuture.completedFuture(replayed);
+        }
+        return adaptiveConcurrencyLimiter.executeAsync(id, () -> boundedElasticExecutor.supply(
+            () -> idempotencyStore.execute(idempotencyKey, operation, () -> pointService.use(id, amount))));
+    }
+}
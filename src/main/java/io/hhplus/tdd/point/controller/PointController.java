@@ -1,22 +1,56 @@
 package io.hhplus.tdd.point.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.exception.PointException;
+import io.hhplus.tdd.point.idempotency.IdempotencyStore;
+import io.hhplus.tdd.point.limiter.AdaptiveConcurrencyLimiter;
+import io.hhplus.tdd.point.service.PointBatchService;
 import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.service.PointSummaryService;
+import io.hhplus.tdd.point.shard.ShardClient;
+import io.hhplus.tdd.point.shard.ShardRouter;
 import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryPage;
+import io.hhplus.tdd.point.model.PointOperation;
+import io.hhplus.tdd.point.model.PointOperationResult;
+import io.hhplus.tdd.point.model.PointSummary;
+import io.hhplus.tdd.point.model.PointSummaryRebuildResult;
+import io.hhplus.tdd.point.model.PointTransferRequest;
+import io.hhplus.tdd.point.model.PointTransferResult;
+import io.hhplus.tdd.point.model.TransactionType;
 import io.hhplus.tdd.point.model.UserPoint;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/point")
 public class PointController {
+    public static final int MAX_STREAM_USER_COUNT = 100;
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
+    private static final int STREAM_CHUNK_SIZE = 500;
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
     private final PointService pointService;
+    private final PointBatchService pointBatchService;
+    private final PointSummaryService pointSummaryService;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore idempotencyStore;
+    private final AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+    private final ShardRouter shardRouter;
+    private final ShardClient shardClient;
 
     /**
      * TODO - 특정 유저의 포인트를 조회하는 기능을 작성해주세요.
@@ -38,26 +72,175 @@ public class PointController {
         return pointService.pointHistory(id);
     }
 
+    /**
+     * 특정 유저의 충전/사용 누계, 건수, 마지막 거래 시각을 조회한다. (내역을 다시 읽지 않고 누계를 돌려준다)
+     */
+    @GetMapping("{id}/summary")
+    public PointSummary summary(
+            @PathVariable long id
+    ) {
+        return pointSummaryService.summary(id);
+    }
+
+    /**
+     * 관리용 : 모든 유저의 요약을 내역으로 다시 계산한다. (재시작 후 등)
+     */
+    @PostMapping("summary/rebuild")
+    public PointSummaryRebuildResult rebuildSummary() {
+        return pointSummaryService.rebuild();
+    }
+
+    /**
+     * 특정 유저의 포인트 내역을 id 기준 커서로 나누어 조회한다. (limit 파라미터가 있을 때)
+     * - after : 이전 페이지의 nextCursor, fromMillis/toMillis : updateMillis 범위 [fromMillis, toMillis)
+     */
+    @GetMapping(value = "{id}/histories", params = "limit")
+    public PointHistoryPage historyPage(
+            @PathVariable long id,
+            @RequestParam int limit,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(required = false) Long fromMillis,
+            @RequestParam(required = false) Long toMillis
+    ) {
+        return pointService.pointHistoryPage(
+            id,
+            after,
+            limit,
+            fromMillis == null ? Long.MIN_VALUE : fromMillis,
+            toMillis == null ? Long.MAX_VALUE : toMillis
+        );
+    }
+
+    /**
+     * 특정 유저의 포인트 내역 전체를 한 줄에 한 건씩(NDJSON) 응답 스트림에 바로 쓴다.
+     * - 내역을 STREAM_CHUNK_SIZE 건씩 커서로 읽어 쓰고 flush 하므로, 내역 크기와 관계없이 메모리 사용량이 일정하다.
+     */
+    @GetMapping(value = "{id}/histories/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> historyStream(
+            @PathVariable long id
+    ) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(outputStream -> writeHistories(List.of(id), outputStream));
+    }
+
+    /**
+     * 여러 유저의 포인트 내역을 userIds 순서대로 이어서 NDJSON 으로 쓴다.
+     * - 한 요청이 스트림을 오래 붙잡지 않도록 유저 수는 MAX_STREAM_USER_COUNT 까지만 받는다.
+     */
+    @GetMapping(value = "histories/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> historiesStream(
+            @RequestParam List<Long> userIds
+    ) {
+        if (userIds.isEmpty() || userIds.size() > MAX_STREAM_USER_COUNT) {
+            throw new PointException(ExceptionCode.INVALID_STREAM_USER_COUNT);
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(outputStream -> writeHistories(userIds, outputStream));
+    }
+
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
+     * - Idempotency-Key 헤더가 있으면 같은 키의 재요청은 다시 충전하지 않고 처음 결과를 돌려준다.
+     * - 동시 처리 수가 한도를 넘으면 기다리지 않고 429 로 실패한다. (이미 끝난 키의 재요청은 한도를 잡지 않고 바로 응답한다)
      */
     @PatchMapping("{id}/charge")
     //@PostMapping("{id}/charge")
     public UserPoint charge(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
     ) {
-        return pointService.charge(id, amount);
+        if (idempotencyKey == null) {
+            return adaptiveConcurrencyLimiter.execute(id, () -> pointService.charge(id, amount));
+        }
+        PointOperation operation = new PointOperation(id, TransactionType.CHARGE, amount);
+        UserPoint replayed = idempotencyStore.completed(idempotencyKey, operation);
+        if (replayed != null) {
+            return replayed;
+        }
+        return adaptiveConcurrencyLimiter.execute(id,
+            () -> idempotencyStore.execute(idempotencyKey, operation, () -> pointService.charge(id, amount)));
     }
 
     /**
      * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
+     * - Idempotency-Key 헤더가 있으면 같은 키의 재요청은 다시 사용하지 않고 처음 결과를 돌려준다.
+     * - 동시 처리 수가 한도를 넘으면 기다리지 않고 429 로 실패한다. (이미 끝난 키의 재요청은 한도를 잡지 않고 바로 응답한다)
      */
     @PatchMapping("{id}/use")
     public UserPoint use(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
     ) {
-        return pointService.use(id, amount);
+        if (idempotencyKey == null) {
+            return adaptiveConcurrencyLimiter.execute(id, () -> pointService.use(id, amount));
+        }
+        PointOperation operation = new PointOperation(id, TransactionType.USE, amount);
+        UserPoint replayed = idempotencyStore.completed(idempotencyKey, operation);
+        if (replayed != null) {
+            return replayed;
+        }
+        return adaptiveConcurrencyLimiter.execute(id,
+            () -> idempotencyStore.execute(idempotencyKey, operation, () -> pointService.use(id, amount)));
+    }
+
+    /**
+     * 한 유저의 포인트를 다른 유저에게 이체한다. 두 잔액과 두 내역(USE, CHARGE)이 함께 반영된다.
+     * - 동시 처리 수 제한은 두 유저의 유저당 자리를 함께 잡는다.
+     * - 샤딩 중이면 두 유저를 함께 맡은 노드로 요청해야 한다. 두 유저를 맡은 노드가 다르면 노드를 넘나드는 이체는 지원하지 않으므로
+     *   {@link ExceptionCode#TRANSFER_NOT_LOCAL}(421) 로 실패한다. (두 노드의 잔액을 함께 바꾸려면 노드 간 2단계 커밋이 필요함)
+     */
+    @PostMapping("transfer")
+    public PointTransferResult transfer(
+            @RequestBody PointTransferRequest request,
+            HttpServletRequest servletRequest
+    ) {
+        if (shardRouter.enabled()) {
+            String fromNodeId = shardClient.authenticatedFrom(servletRequest);
+            return adaptiveConcurrencyLimiter.executePair(request.fromUserId(), request.toUserId(), () -> shardRouter.executeLocal(
+                request.fromUserId(), request.toUserId(), fromNodeId,
+                () -> pointService.transfer(request.fromUserId(), request.toUserId(), request.amount())));
+        }
+        return adaptiveConcurrencyLimiter.executePair(request.fromUserId(), request.toUserId(),
+            () -> pointService.transfer(request.fromUserId(), request.toUserId(), request.amount()));
+    }
+
+    /**
+     * 여러 유저의 포인트 충전/사용을 한 번에 처리하고, 요청 순서대로 건별 결과를 돌려준다.
+     * - 샤딩 중이면 유저를 맡은 노드별로 나눠 처리한다.
+     */
+    @PostMapping("batch")
+    public List<PointOperationResult> batch(
+            @RequestBody List<PointOperation> operations,
+            HttpServletRequest servletRequest
+    ) {
+        if (shardRouter.enabled()) {
+            return shardRouter.executeBatch(operations, shardClient.authenticatedFrom(servletRequest), pointBatchService::execute);
+        }
+        return pointBatchService.execute(operations);
+    }
+
+    private void writeHistories(List<Long> userIds, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            for (long userId : userIds) {
+                long after = 0;
+                Long nextCursor;
+                do {
+                    PointHistoryPage page = pointService.pointHistoryPage(
+                        userId, after, STREAM_CHUNK_SIZE, Long.MIN_VALUE, Long.MAX_VALUE);
+                    for (PointHistory pointHistory : page.histories()) {
+                        generator.writeObject(pointHistory);
+                        generator.writeRaw('\n');
+                    }
+                    generator.flush();
+                    nextCursor = page.nextCursor();
+                    after = nextCursor == null ? after : nextCursor;
+                } while (nextCursor != null);
+            }
+        }
     }
 }
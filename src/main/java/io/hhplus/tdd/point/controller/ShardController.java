@@ -0,0 +1,61 @@
+package io.hhplus.tdd.point.controller;
+
+import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.exception.PointException;
+import io.hhplus.tdd.point.model.ShardStatus;
+import io.hhplus.tdd.point.model.UserShardState;
+import io.hhplus.tdd.point.shard.ShardClient;
+import io.hhplus.tdd.point.shard.ShardNode;
+import io.hhplus.tdd.point.shard.ShardRouter;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 샤드 노드 사이의 호출 (point.shard.enabled=true 일 때만 등록)
+ * - 합류/이관은 비밀값(point.shard.secret)으로 인증된 노드만 호출할 수 있다. 링 조회는 상태 확인용이라 열어 둔다.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/shard")
+@ConditionalOnProperty(name = "point.shard.enabled", havingValue = "true")
+public class ShardController {
+
+    private final ShardRouter shardRouter;
+    private final ShardClient shardClient;
+
+    /**
+     * 이 노드가 보고 있는 링
+     */
+    @GetMapping("ring")
+    public ShardStatus ring() {
+        return shardRouter.status();
+    }
+
+    /**
+     * 합류하는 노드가 호출한다. 그 노드로 옮겨갈 유저를 모두 넘긴 뒤 넘긴 유저 수를 돌려준다.
+     * - 합류하는 노드 자신만 요청할 수 있다. (다른 노드가 대신 합류시킬 수 없음)
+     */
+    @PostMapping("handoff")
+    public int handoff(
+            @RequestBody ShardNode joiner,
+            HttpServletRequest request
+    ) {
+        if (!shardClient.requireNode(request).equals(joiner.id())) {
+            throw new PointException(ExceptionCode.SHARD_UNAUTHORIZED);
+        }
+        return shardRouter.handOffTo(joiner);
+    }
+
+    /**
+     * 이전 담당 노드가 넘기는 유저의 잔액과 내역을 받는다.
+     */
+    @PostMapping("import")
+    public void importState(
+            @RequestBody UserShardState state,
+            HttpServletRequest request
+    ) {
+        shardRouter.importState(shardClient.requireNode(request), state);
+    }
+}
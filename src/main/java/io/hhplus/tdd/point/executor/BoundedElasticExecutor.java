@@ -0,0 +1,68 @@
+package io.hhplus.tdd.point.executor;
+
+import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.exception.PointException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 비동기 API 의 Table 호출(블로킹)을 맡는 실행기
+ * - 스레드는 작업이 들어올 때 maxThreads 까지 늘어나고, keepAlive 동안 놀면 줄어든다. (bounded elastic)
+ * - maxThreads 가 모두 바쁘면 queueCapacity 까지 대기열에 쌓고, 그것도 차면 바로 {@link ExceptionCode#ASYNC_EXECUTOR_SATURATED} 로 실패시킨다.
+ */
+@Component
+public class BoundedElasticExecutor implements AutoCloseable {
+    private final ThreadPoolExecutor executor;
+
+    public BoundedElasticExecutor(
+            @Value("${point.async.max-threads:512}") int maxThreads,
+            @Value("${point.async.queue-capacity:100000}") int queueCapacity,
+            @Value("${point.async.keep-alive-millis:60000}") long keepAliveMillis
+    ) {
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxThreads, maxThreads, keepAliveMillis, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "point-elastic-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new PointException(ExceptionCode.ASYNC_EXECUTOR_SATURATED, e));
+        }
+    }
+
+    public int activeCount() {
+        return executor.getActiveCount();
+    }
+
+    public int poolSize() {
+        return executor.getPoolSize();
+    }
+
+    public int queuedCount() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
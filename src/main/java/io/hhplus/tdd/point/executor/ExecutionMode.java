@@ -0,0 +1,34 @@
+package io.hhplus.tdd.point.executor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 요청 처리와 내부 비동기 작업을 실행할 스레드 종류
+ * - PLATFORM : 크기가 정해진 플랫폼 스레드 풀
+ * - VIRTUAL : 작업마다 가상 스레드 (Java 21 이상, 빌드는 Java 17 이므로 리플렉션으로 생성)
+ */
+public enum ExecutionMode {
+    PLATFORM, VIRTUAL;
+
+    public ExecutorService newExecutor(int poolSize, String threadNamePrefix) {
+        if (this == VIRTUAL) {
+            return newVirtualThreadPerTaskExecutor();
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, threadNamePrefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("point.execution.mode=virtual 은 Java 21 이상에서만 사용할 수 있습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.hhplus.tdd.point.executor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 포인트 내부 비동기 작업용 실행기
+ * - point.execution.mode 에 따라 플랫폼 스레드 풀 또는 가상 스레드로 작업을 실행한다.
+ * - Executor 를 구현하지 않으므로 스프링 기본 applicationTaskExecutor 구성에는 영향을 주지 않는다.
+ */
+@Component
+public class PointTaskExecutor implements AutoCloseable {
+    private final ExecutorService executorService;
+
+    public PointTaskExecutor(
+            @Value("${point.execution.mode:platform}") ExecutionMode executionMode,
+            @Value("${point.executor.pool-size:64}") int poolSize
+    ) {
+        this.executorService = executionMode.newExecutor(poolSize, "point-task-");
+    }
+
+    public CompletableFuture<Void> run(Runnable task) {
+        return CompletableFuture.runAsync(task, executorService);
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executorService);
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdown();
+        try {
+            executorService.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package io.hhplus.tdd.point.expiry;
+
+/**
+ * 한 유저의 충전 묶음(lot) 목록
+ * - 충전 순서(= 만료 순서)대로 (만료 시각, 남은 금액) 을 원형 배열에 둔다.
+ * - 사용/만료는 가장 오래된 묶음부터 차감한다. (FIFO)
+ */
+final class ChargeLots {
+    private long[] expiresAt = new long[4];
+    private long[] remaining = new long[4];
+    private int head;
+    private int size;
+
+    synchronized void add(long amount, long expiresAtMillis) {
+        if (size == expiresAt.length) {
+            grow();
+        }
+        int tail = (head + size) & (expiresAt.length - 1);
+        expiresAt[tail] = expiresAtMillis;
+        remaining[tail] = amount;
+        size++;
+    }
+
+    /**
+     * 오래된 묶음부터 amount 만큼 차감한다. 묶음이 모자라면 있는 만큼만 차감한다.
+     */
+    synchronized void consume(long amount) {
+        long left = amount;
+        while (left > 0 && size > 0) {
+            long taken = Math.min(left, remaining[head]);
+            remaining[head] -= taken;
+            left -= taken;
+            if (remaining[head] == 0) {
+                removeHead();
+            }
+        }
+    }
+
+    /**
+     * nowMillis 까지 만료된 묶음의 남은 금액 합
+     */
+    synchronized long dueAmount(long nowMillis) {
+        long due = 0;
+        for (int i = 0; i < size; i++) {
+            int index = (head + i) & (expiresAt.length - 1);
+            if (expiresAt[index] > nowMillis) {
+                break;
+            }
+            due += remaining[index];
+        }
+        return due;
+    }
+
+    /**
+     * nowMillis 까지 만료된 묶음을 남은 금액과 관계없이 버린다. 버린 묶음 수를 돌려준다.
+     */
+    synchronized int discardExpired(long nowMillis) {
+        int discarded = 0;
+        while (size > 0 && expiresAt[head] <= nowMillis) {
+            removeHead();
+            discarded++;
+        }
+        return discarded;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private void removeHead() {
+        head = (head + 1) & (expiresAt.length - 1);
+        size--;
+    }
+
+    private void grow() {
+        long[] nextExpiresAt = new long[expiresAt.length * 2];
+        long[] nextRemaining = new long[expiresAt.length * 2];
+        for (int i = 0; i < size; i++) {
+            int index = (head + i) & (expiresAt.length - 1);
+            nextExpiresAt[i] = expiresAt[index];
+            nextRemaining[i] = remaining[index];
+        }
+        expiresAt = nextExpiresAt;
+        remaining = nextRemaining;
+        head = 0;
+    }
+}
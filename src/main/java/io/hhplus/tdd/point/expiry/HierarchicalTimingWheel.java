@@ -0,0 +1,134 @@
+package io.hhplus.tdd.point.expiry;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * 계층형 타이밍 휠 (한 스레드에서만 사용)
+ * - 만료 시각을 tickMillis 단위 tick 으로 바꿔, 남은 tick 수에 맞는 단계(level)의 칸(slot)에 넣는다.
+ *   level 0 의 한 칸은 1 tick, level n 의 한 칸은 wheelSize^n tick 이다.
+ * - 시각을 진행하면 level 0 의 칸을 차례로 비우며 만료된 항목을 내보내고, 상위 level 의 칸 경계에 닿으면
+ *   그 칸의 항목을 아래 level 로 다시 나눠 넣는다. 항목마다 넣기 O(1), 내려가기는 최대 (levels - 1) 번이다.
+ * - 항목은 (userId, 만료 tick) 두 long 으로 칸마다 기본형 배열에 담아, 항목 수가 많아도 객체를 만들지 않는다.
+ */
+public class HierarchicalTimingWheel {
+    private static final int WHEEL_BITS = 9;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final Bucket[][] buckets = new Bucket[LEVELS][WHEEL_SIZE];
+    private final Bucket due = new Bucket();
+    private long currentTick;
+    private long size;
+
+    public HierarchicalTimingWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        for (Bucket[] level : buckets) {
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                level[slot] = new Bucket();
+            }
+        }
+    }
+
+    /**
+     * deadlineMillis 가 되면 userId 를 내보내도록 넣는다. 이미 지난 시각이면 다음 진행 때 바로 내보낸다.
+     */
+    public void add(long userId, long deadlineMillis) {
+        long deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        place(userId, deadlineTick);
+        size++;
+    }
+
+    /**
+     * nowMillis 까지 진행하며 만료된 userId 를 expired 로 내보낸다.
+     */
+    public void advanceTo(long nowMillis, LongConsumer expired) {
+        drain(due, expired);
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = 1; level < LEVELS; level++) {
+                if ((currentTick & ((1L << (WHEEL_BITS * level)) - 1)) != 0) {
+                    break;
+                }
+                cascade(buckets[level][(int) (currentTick >>> (WHEEL_BITS * level)) & MASK]);
+            }
+            drain(buckets[0][(int) currentTick & MASK], expired);
+            drain(due, expired);
+        }
+    }
+
+    /**
+     * 아직 내보내지 않은 항목 수
+     */
+    public long size() {
+        return size;
+    }
+
+    private void place(long userId, long deadlineTick) {
+        long delta = deadlineTick - currentTick;
+        if (delta <= 0) {
+            due.add(userId, deadlineTick);
+            return;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+        buckets[level][(int) (deadlineTick >>> (WHEEL_BITS * level)) & MASK].add(userId, deadlineTick);
+    }
+
+    /**
+     * 상위 level 칸의 항목을 지금 시각 기준으로 다시 넣는다. (대부분 아래 level 로 내려간다)
+     */
+    private void cascade(Bucket bucket) {
+        if (bucket.count == 0) {
+            return;
+        }
+        long[] entries = bucket.entries;
+        int count = bucket.count;
+        bucket.reset();
+        for (int i = 0; i < count; i += 2) {
+            place(entries[i], entries[i + 1]);
+        }
+    }
+
+    private void drain(Bucket bucket, LongConsumer expired) {
+        if (bucket.count == 0) {
+            return;
+        }
+        long[] entries = bucket.entries;
+        int count = bucket.count;
+        bucket.reset();
+        for (int i = 0; i < count; i += 2) {
+            expired.accept(entries[i]);
+        }
+        size -= count / 2;
+    }
+
+    /**
+     * (userId, 만료 tick) 쌍을 이어 붙인 배열
+     */
+    private static final class Bucket {
+        private static final long[] EMPTY = new long[0];
+
+        private long[] entries = EMPTY;
+        private int count;
+
+        void add(long userId, long deadlineTick) {
+            if (count == entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(8, entries.length * 2));
+            }
+            entries[count++] = userId;
+            entries[count++] = deadlineTick;
+        }
+
+        void reset() {
+            entries = EMPTY;
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package io.hhplus.tdd.point.expiry;
+
+import io.hhplus.tdd.point.concurrency.BalanceUpdater;
+import io.hhplus.tdd.point.executor.PointTaskExecutor;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.shard.ShardRouter;
+import io.hhplus.tdd.point.summary.PointSummaryAggregator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 충전 포인트 만료 실행기
+ * - tick 마다 타이밍 휠을 진행해 만료된 묶음이 있는 유저만 골라, 유저마다 만료 금액을 한 번에 차감하고 EXPIRE 내역 한 건을 남긴다.
+ *   (전체 내역을 훑지 않는다)
+ * - 만료 금액은 만료된 묶음의 남은 금액 합이며 잔액을 넘지 않는다. 잔액 변경은 충전/사용과 같은 {@link BalanceUpdater} 를 거친다.
+ * - 휠에서 꺼낸 유저 중 만료할 금액이 없는 유저(만료 전에 모두 사용)는 실행기에 넣지 않고 남은 만료 묶음만 버린다.
+ * - 만료할 유저는 batchSize 명씩 나눠 병렬로 처리한다. 락 대기 시간 초과, 저장 실패, 실행기 포화 등으로 실패한 유저는
+ *   그 유저만 다음 tick 에 다시 시도하고 나머지 유저는 계속 처리한다.
+ * - 샤딩 중이면 이 노드가 맡은 유저만 만료한다. (넘겨준 유저의 묶음은 버린다)
+ */
+public class PointExpiryScheduler implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(PointExpiryScheduler.class);
+
+    private final PointExpiryTracker pointExpiryTracker;
+    private final BalanceUpdater balanceUpdater;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final PointSummaryAggregator pointSummaryAggregator;
+    private final PointTaskExecutor pointTaskExecutor;
+    private final ShardRouter shardRouter;
+    private final long tickMillis;
+    private final int batchSize;
+    private final LongAdder expiredAmount = new LongAdder();
+    private final LongAdder skippedUsers = new LongAdder();
+    private final ScheduledExecutorService ticker;
+
+    public PointExpiryScheduler(PointExpiryTracker pointExpiryTracker, BalanceUpdater balanceUpdater,
+                                PointHistoryRepository pointHistoryRepository, PointSummaryAggregator pointSummaryAggregator,
+                                PointTaskExecutor pointTaskExecutor, ShardRouter shardRouter, long tickMillis, int batchSize) {
+        this.pointExpiryTracker = pointExpiryTracker;
+        this.balanceUpdater = balanceUpdater;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.pointSummaryAggregator = pointSummaryAggregator;
+        this.pointTaskExecutor = pointTaskExecutor;
+        this.shardRouter = shardRouter;
+        this.tickMillis = tickMillis;
+        this.batchSize = batchSize;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * nowMillis 까지 만료된 묶음을 처리하고, 포인트가 만료된 유저 수를 돌려준다.
+     */
+    public synchronized int expireDue(long nowMillis) {
+        List<Long> dueUsers = new ArrayList<>();
+        for (long userId : pointExpiryTracker.advance(nowMillis)) {
+            if (pointExpiryTracker.dueAmount(userId, nowMillis) > 0) {
+                dueUsers.add(userId);
+                continue;
+            }
+            // 남은 금액이 없는 묶음은 충전/사용과 겹쳐도 버려도 되므로 유저 락 없이 정리한다
+            pointExpiryTracker.discardExpired(userId, nowMillis);
+            skippedUsers.increment();
+        }
+        AtomicInteger expiredUsers = new AtomicInteger();
+        for (int from = 0; from < dueUsers.size(); from += batchSize) {
+            CompletableFuture<?>[] futures = dueUsers.subList(from, Math.min(from + batchSize, dueUsers.size())).stream()
+                .map(userId -> submit(userId, nowMillis, expiredUsers))
+                .toArray(CompletableFuture[]::new);
+            // 유저마다 실패를 처리해 두므로 한 유저가 실패해도 남은 묶음을 계속 처리한다
+            CompletableFuture.allOf(futures).join();
+        }
+        return expiredUsers.get();
+    }
+
+    /**
+     * 지금까지 만료된 포인트 합
+     */
+    public long expiredAmount() {
+        return expiredAmount.sum();
+    }
+
+    /**
+     * 만료할 금액이 없어 실행기에 넣지 않은 유저 수
+     */
+    public long skippedUsers() {
+        return skippedUsers.sum();
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdown();
+        try {
+            ticker.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void tick() {
+        try {
+            expireDue(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            // 예외로 끝나면 이후 tick 이 실행되지 않으므로 남기고 넘어간다
+            log.warn("point expiry tick failed", e);
+        }
+    }
+
+    /**
+     * 유저 한 명의 만료를 실행기에 넣는다. 넣지 못하거나 예외로 끝나면 그 유저만 다음 tick 에 다시 시도한다.
+     */
+    private CompletableFuture<Void> submit(long userId, long nowMillis, AtomicInteger expiredUsers) {
+        try {
+            return pointTaskExecutor.run(() -> {
+                if (expire(userId, nowMillis)) {
+                    expiredUsers.incrementAndGet();
+                }
+            }).exceptionally(e -> {
+                retryNextTick(userId, nowMillis, e);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            retryNextTick(userId, nowMillis, e);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private void retryNextTick(long userId, long nowMillis, Throwable cause) {
+        log.warn("point expiry failed for user {}, retry next tick", userId, cause);
+        pointExpiryTracker.reschedule(userId, nowMillis + tickMillis);
+    }
+
+    private boolean expire(long userId, long nowMillis) {
+        if (!shardRouter.enabled()) {
+            return expireLocal(userId, nowMillis);
+        }
+        long stamp = shardRouter.lockLocal(userId);
+        try {
+            if (!shardRouter.isLocal(userId, null)) {
+                pointExpiryTracker.discardExpired(userId, nowMillis);
+                return false;
+            }
+            return expireLocal(userId, nowMillis);
+        } finally {
+            shardRouter.unlockLocal(userId, stamp);
+        }
+    }
+
+    private boolean expireLocal(long userId, long nowMillis) {
+        long[] expiring = new long[1];
+        try {
+            // 만료 금액 계산부터 만료된 묶음 정리까지 같은 유저의 충전/사용이 묶음을 바꾸지 못하게 막는다
+            balanceUpdater.executeExclusive(userId, () -> {
+                balanceUpdater.update(userId, beforeUserPoint -> {
+                    expiring[0] = Math.min(pointExpiryTracker.dueAmount(userId, nowMillis), beforeUserPoint.point());
+                    return expiring[0] > 0 ? beforeUserPoint.point() - expiring[0] : BalanceUpdater.UNCHANGED;
+                }, updatedUserPoint -> {
+                    pointHistoryRepository.insert(userId, expiring[0], TransactionType.EXPIRE, nowMillis);
+                    pointSummaryAggregator.record(userId, TransactionType.EXPIRE, expiring[0], nowMillis);
+                });
+                pointExpiryTracker.discardExpired(userId, nowMillis);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // 락 대기 시간 초과뿐 아니라 내역 저장 실패 등도 그 유저만 다음 tick 에 다시 시도한다
+            retryNextTick(userId, nowMillis, e);
+            return false;
+        }
+        if (expiring[0] <= 0) {
+            return false;
+        }
+        expiredAmount.add(expiring[0]);
+        return true;
+    }
+}
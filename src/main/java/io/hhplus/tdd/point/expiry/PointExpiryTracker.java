@@ -0,0 +1,110 @@
+package io.hhplus.tdd.point.expiry;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 유저별 충전 묶음과 만료 일정
+ * - 충전 내역이 저장될 때마다 묶음(충전 시각 + ttl 에 만료)을 만들고 타이밍 휠에 넣는다.
+ * - 사용/만료 내역이 저장되면 가장 오래된 묶음부터 차감한다.
+ * - 휠은 만료 스레드만 다루므로, 요청 스레드는 넣을 항목을 큐에 두고 만료 스레드가 진행 전에 휠로 옮긴다.
+ */
+public class PointExpiryTracker {
+    private final long ttlMillis;
+    private final HierarchicalTimingWheel wheel;
+    private final ConcurrentHashMap<Long, ChargeLots> lots = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<long[]> scheduled = new ConcurrentLinkedQueue<>();
+
+    public PointExpiryTracker(long ttlMillis, long tickMillis) {
+        this.ttlMillis = ttlMillis;
+        this.wheel = new HierarchicalTimingWheel(tickMillis, System.currentTimeMillis());
+    }
+
+    /**
+     * 저장된 내역을 묶음에 반영한다. (유저 락 안에서 호출되므로 같은 유저의 내역은 저장 순서대로 들어온다)
+     */
+    public void record(long userId, long amount, TransactionType type, long updateMillis) {
+        if (type == TransactionType.CHARGE) {
+            long expiresAtMillis = updateMillis + ttlMillis;
+            lots.computeIfAbsent(userId, id -> new ChargeLots()).add(amount, expiresAtMillis);
+            scheduled.add(new long[] {userId, expiresAtMillis});
+            return;
+        }
+        ChargeLots userLots = lots.get(userId);
+        if (userLots != null) {
+            userLots.consume(amount);
+            if (type == TransactionType.EXPIRE) {
+                userLots.discardExpired(updateMillis);
+            }
+        }
+    }
+
+    /**
+     * 기동 시 저널에서 읽은 내역으로 묶음을 다시 만든다. (이미 지난 만료는 다음 진행 때 바로 처리된다)
+     */
+    public void restore(PointHistory pointHistory) {
+        record(pointHistory.userId(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+    }
+
+    /**
+     * nowMillis 까지 진행하고, 만료된 묶음이 있는 유저를 돌려준다. 만료 스레드에서만 호출한다.
+     */
+    public Set<Long> advance(long nowMillis) {
+        for (long[] entry = scheduled.poll(); entry != null; entry = scheduled.poll()) {
+            wheel.add(entry[0], entry[1]);
+        }
+        Set<Long> dueUsers = new LinkedHashSet<>();
+        wheel.advanceTo(nowMillis, dueUsers::add);
+        return dueUsers;
+    }
+
+    /**
+     * 만료 처리에 실패한 유저를 deadlineMillis 에 다시 꺼내도록 넣는다.
+     */
+    public void reschedule(long userId, long deadlineMillis) {
+        scheduled.add(new long[] {userId, deadlineMillis});
+    }
+
+    /**
+     * nowMillis 까지 만료된 묶음의 남은 금액 합
+     */
+    public long dueAmount(long userId, long nowMillis) {
+        ChargeLots userLots = lots.get(userId);
+        return userLots == null ? 0 : userLots.dueAmount(nowMillis);
+    }
+
+    /**
+     * 만료 처리 후에도 남은 만료 묶음을 버린다. (잔액이 묶음 합보다 적었던 경우 등)
+     */
+    public void discardExpired(long userId, long nowMillis) {
+        ChargeLots userLots = lots.get(userId);
+        if (userLots != null) {
+            userLots.discardExpired(nowMillis);
+        }
+    }
+
+    /**
+     * 유저의 묶음을 버린다. (다른 샤드 노드로 넘긴 뒤) 휠에 남은 일정은 꺼냈을 때 만료할 금액이 없어 그냥 지나간다.
+     */
+    public void remove(long userId) {
+        lots.remove(userId);
+    }
+
+    /**
+     * 남아 있는 묶음 수
+     */
+    public long lotCount() {
+        return lots.values().stream().mapToLong(ChargeLots::size).sum();
+    }
+
+    /**
+     * 휠과 큐에 남아 있는 만료 일정 수
+     */
+    public long scheduledCount() {
+        return wheel.size() + scheduled.size();
+    }
+}
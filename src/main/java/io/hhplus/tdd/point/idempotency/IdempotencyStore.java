@@ -0,0 +1,156 @@
+package io.hhplus.tdd.point.idempotency;
+
+import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.exception.PointException;
+import io.hhplus.tdd.point.model.PointOperation;
+import io.hhplus.tdd.point.model.UserPoint;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Idempotency-Key 별 충전/사용 결과 저장소
+ * - 처음 들어온 요청만 실행하고 결과 UserPoint 를 ttl 동안 보관한다. 같은 키로 다시 오면 보관한 결과를 바로 돌려준다.
+ * - 아직 실행 중인 키로 요청이 오면 다시 실행하지 않고 실행 중인 요청의 결과를 기다린다.
+ * - 같은 키로 다른 요청(유저, 종류, 금액)이 오면 {@link ExceptionCode#IDEMPOTENCY_KEY_REUSED} 예외가 발생한다.
+ * - 실패한 요청은 보관하지 않으므로 같은 키로 다시 시도할 수 있다.
+ * - {@link #completed} 로 이미 끝난 결과만 먼저 꺼내 볼 수 있다. (동시 처리 한도를 잡기 전에 재요청을 바로 응답할 때)
+ * - 최대 maxSize 건을 저장 순서대로 유지하며, 넘치면 가장 오래된 키부터 버린다.
+ *   실행 중인 키는 버리면 같은 키의 재시도가 한 번 더 실행되므로, 끝날 때까지 건너뛴다. (그동안은 maxSize 를 잠시 넘을 수 있음)
+ */
+@Component
+public class IdempotencyStore {
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    public IdempotencyStore(
+            @Value("${point.idempotency.max-size:100000}") int maxSize,
+            @Value("${point.idempotency.ttl-millis:86400000}") long ttlMillis
+    ) {
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    public UserPoint execute(String key, PointOperation operation, Supplier<UserPoint> task) {
+        Entry entry;
+        boolean owner = false;
+        synchronized (entries) {
+            long now = System.nanoTime();
+            removeExpired(now);
+            entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(operation, new CompletableFuture<>(), now + ttlNanos);
+                entries.put(key, entry);
+                evictOverflow();
+                owner = true;
+            }
+        }
+
+        if (!entry.operation.equals(operation)) {
+            throw new PointException(ExceptionCode.IDEMPOTENCY_KEY_REUSED);
+        }
+        if (owner) {
+            return run(key, entry, task);
+        }
+        return await(entry.result);
+    }
+
+    /**
+     * key 의 요청이 이미 성공해 결과가 보관되어 있으면 그 결과를, 없거나 아직 실행 중이면 null 을 돌려준다.
+     * - 같은 키로 다른 요청이 오면 {@link ExceptionCode#IDEMPOTENCY_KEY_REUSED} 예외가 발생한다.
+     */
+    public UserPoint completed(String key, PointOperation operation) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry == null || entry.expireAtNanos - System.nanoTime() < 0) {
+            return null;
+        }
+        if (!entry.operation.equals(operation)) {
+            throw new PointException(ExceptionCode.IDEMPOTENCY_KEY_REUSED);
+        }
+        return entry.result.isDone() && !entry.result.isCompletedExceptionally() ? entry.result.join() : null;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * 어떤 예외(Error 포함)로 끝나더라도 기다리는 요청이 멈추지 않도록 finally 에서 결과를 채운다.
+     */
+    private UserPoint run(String key, Entry entry, Supplier<UserPoint> task) {
+        UserPoint userPoint = null;
+        Throwable failure = null;
+        try {
+            userPoint = task.get();
+            return userPoint;
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            if (failure == null) {
+                entry.result.complete(userPoint);
+            } else {
+                synchronized (entries) {
+                    entries.remove(key, entry);
+                }
+                entry.result.completeExceptionally(failure);
+            }
+        }
+    }
+
+    private static UserPoint await(CompletableFuture<UserPoint> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 저장 순서와 만료 순서가 같으므로 앞에서부터 만료된 키만 지운다. 실행 중인 키는 남겨 둔다.
+     */
+    private void removeExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.expireAtNanos - now >= 0) {
+                return;
+            }
+            if (entry.result.isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * maxSize 를 넘은 만큼 오래된 키부터 지우되, 실행 중인 키는 건너뛴다.
+     */
+    private void evictOverflow() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            if (iterator.next().result.isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private record Entry(PointOperation operation, CompletableFuture<UserPoint> result, long expireAtNanos) {
+    }
+}
@@ -0,0 +1,172 @@
+package io.hhplus.tdd.point.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * 저널 파일 하나. 고정 크기로 미리 잡아 메모리 매핑하고, 40 바이트 고정 길이 레코드를 앞에서부터 채운다.
+ * - 기존 파일은 만들 때의 크기 그대로 연다. (설정의 파일 크기가 바뀌어도 기존 파일의 레코드를 모두 읽음)
+ * - 레코드 : id(8) userId(8) amount(8) updateMillis(8) type(4) crc32c(4)
+ *   type 의 뜻(내역 종류, 이관 레코드 등)은 {@link PointJournal} 이 정하고, 이 파일은 그대로 쓰고 읽는다.
+ * - id 가 0 인 자리는 비어있는 자리이며, crc 가 맞지 않는 레코드는 마지막에 쓰다 만 레코드로 보고 그 앞까지만 읽는다.
+ * - 쓰기는 {@link PointJournal} 의 append 락 안에서만 한다.
+ */
+class JournalSegment {
+    static final int RECORD_SIZE = 40;
+    private static final int CRC_OFFSET = 36;
+
+    private final Path path;
+    private final long firstId;
+    private final int capacity;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final byte[] scratch = new byte[RECORD_SIZE];
+    private final ByteBuffer scratchBuffer = ByteBuffer.wrap(scratch);
+    private final CRC32C crc = new CRC32C();
+    private int count;
+
+    private JournalSegment(Path path, long firstId, int capacity) {
+        this.path = path;
+        this.firstId = firstId;
+        this.capacity = capacity;
+        try {
+            this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static JournalSegment create(Path path, long firstId, int capacity) {
+        return new JournalSegment(path, firstId, capacity);
+    }
+
+    /**
+     * 기존 파일을 실제 파일 크기로 열고 마지막 레코드 다음 위치를 찾는다. 쓰다 만 레코드가 있으면 그 자리부터 지운다.
+     * - 크기를 잡기 전에 멈춘 빈 파일이면 newCapacity 로 다시 잡는다.
+     */
+    static JournalSegment open(Path path, long firstId, int newCapacity) {
+        long size;
+        try {
+            size = Files.size(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int capacity = size < RECORD_SIZE ? newCapacity : (int) (size / RECORD_SIZE);
+        JournalSegment segment = new JournalSegment(path, firstId, capacity);
+        segment.count = segment.scan(null, capacity);
+        segment.clearFrom(segment.count);
+        return segment;
+    }
+
+    long firstId() {
+        return firstId;
+    }
+
+    int count() {
+        return count;
+    }
+
+    boolean isFull() {
+        return count == capacity;
+    }
+
+    /**
+     * 마지막 레코드의 id. 비어있으면 firstId - 1
+     */
+    long lastId() {
+        return count == 0 ? firstId - 1 : buffer.getLong((count - 1) * RECORD_SIZE);
+    }
+
+    void append(long id, long userId, long amount, int type, long updateMillis) {
+        scratchBuffer.putLong(0, id)
+            .putLong(8, userId)
+            .putLong(16, amount)
+            .putLong(24, updateMillis)
+            .putInt(32, type);
+        crc.reset();
+        crc.update(scratch, 0, CRC_OFFSET);
+        scratchBuffer.putInt(CRC_OFFSET, (int) crc.getValue());
+        buffer.put(count * RECORD_SIZE, scratch, 0, RECORD_SIZE);
+        count++;
+    }
+
+    /**
+     * 앞에서부터 최대 limit 건의 유효한 레코드를 읽어 visitor 에 넘기고, 읽은 개수를 돌려준다. (visitor 가 null 이면 개수만 센다)
+     */
+    int scan(RecordVisitor visitor, int limit) {
+        byte[] record = new byte[RECORD_SIZE];
+        ByteBuffer recordBuffer = ByteBuffer.wrap(record);
+        CRC32C recordCrc = new CRC32C();
+        int index = 0;
+        while (index < limit) {
+            buffer.get(index * RECORD_SIZE, record, 0, RECORD_SIZE);
+            long id = recordBuffer.getLong(0);
+            if (id == 0) {
+                break;
+            }
+            recordCrc.reset();
+            recordCrc.update(record, 0, CRC_OFFSET);
+            if ((int) recordCrc.getValue() != recordBuffer.getInt(CRC_OFFSET)) {
+                break;
+            }
+            if (visitor != null) {
+                visitor.visit(id, recordBuffer.getLong(8), recordBuffer.getLong(16), recordBuffer.getInt(32), recordBuffer.getLong(24));
+            }
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * 지금까지 쓴 레코드를 디스크에 내린다.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    void close() {
+        force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    Path path() {
+        return path;
+    }
+
+    /**
+     * 파일을 닫고 지운다. 스냅샷에 모두 포함된 파일만 지운다.
+     */
+    void delete() {
+        close();
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    interface RecordVisitor {
+        void visit(long id, long userId, long amount, int type, long updateMillis);
+    }
+
+    private void clearFrom(int index) {
+        byte[] zeros = new byte[RECORD_SIZE];
+        for (int i = index; i < capacity && buffer.getLong(i * RECORD_SIZE) != 0; i++) {
+            buffer.put(i * RECORD_SIZE, zeros, 0, RECORD_SIZE);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package io.hhplus.tdd.point.journal;
+
+import io.hhplus.tdd.point.model.UserPoint;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 저널 잔액 스냅샷
+ * - 형식 : magic(4) lastId(8) count(4) [userId(8) point(8) updateMillis(8)] * count crc32c(4)
+ * - 고정 크기 버퍼로 나눠 쓰고 읽으므로 유저 수만큼 큰 버퍼를 잡지 않는다. (CRC 도 나눠서 계산한다)
+ * - 임시 파일에 쓰고 디스크에 내린 뒤 이름을 바꾸므로, 쓰다 만 스냅샷은 읽히지 않는다. 새 스냅샷을 쓰면 이전 스냅샷은 지운다.
+ */
+record JournalSnapshot(long lastId, Map<Long, UserPoint> balances) {
+    private static final Logger log = LoggerFactory.getLogger(JournalSnapshot.class);
+    private static final int MAGIC = 0x50534E50;
+    private static final int HEADER_SIZE = 4 + 8 + 4;
+    private static final int ENTRY_SIZE = 24;
+    private static final int CHUNK_SIZE = ENTRY_SIZE * 4096;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+
+    static JournalSnapshot empty() {
+        return new JournalSnapshot(0L, new HashMap<>());
+    }
+
+    /**
+     * 가장 최근의 읽을 수 있는 스냅샷. 없으면 빈 스냅샷
+     */
+    static JournalSnapshot readLatest(Path directory) {
+        for (Path path : listSnapshots(directory)) {
+            try {
+                return read(path);
+            } catch (IOException | RuntimeException e) {
+                log.warn("point journal snapshot skipped: {}", path, e);
+            }
+        }
+        return empty();
+    }
+
+    static void write(Path directory, long lastId, Collection<UserPoint> balances) {
+        int count = balances.size();
+        Path target = directory.resolve(String.format(PREFIX + "%020d" + SUFFIX, lastId));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                // 유저 수만큼 큰 버퍼를 한 번에 잡지 않고, 고정 크기 버퍼를 채울 때마다 파일에 쓴다
+                ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+                CRC32C crc = new CRC32C();
+                buffer.putInt(MAGIC).putLong(lastId).putInt(count);
+                for (UserPoint userPoint : balances) {
+                    if (buffer.remaining() < ENTRY_SIZE) {
+                        flush(channel, buffer, crc);
+                    }
+                    buffer.putLong(userPoint.id()).putLong(userPoint.point()).putLong(userPoint.updateMillis());
+                }
+                flush(channel, buffer, crc);
+                buffer.putInt((int) crc.getValue());
+                buffer.flip();
+                writeFully(channel, buffer);
+                if (channel.size() != expectedSize(count)) {
+                    throw new IllegalStateException("snapshot size mismatch");
+                }
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            for (Path old : listSnapshots(directory)) {
+                if (!old.equals(target)) {
+                    Files.deleteIfExists(old);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static JournalSnapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+            CRC32C crc = new CRC32C();
+            readFully(channel, buffer, HEADER_SIZE);
+            crc.update(buffer.array(), 0, HEADER_SIZE);
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalStateException("broken snapshot");
+            }
+            long lastId = buffer.getLong();
+            int count = buffer.getInt();
+            // 크기는 long 으로 계산해 유저 수가 많아도 넘치지 않게 하고, 파일 크기와 맞지 않으면 읽지 않는다
+            if (count < 0 || channel.size() != expectedSize(count)) {
+                throw new IllegalStateException("broken snapshot");
+            }
+            Map<Long, UserPoint> balances = new HashMap<>(Math.max(16, (int) Math.min(Integer.MAX_VALUE, count * 4L / 3 + 1)));
+            int entriesPerChunk = CHUNK_SIZE / ENTRY_SIZE;
+            for (int read = 0; read < count; ) {
+                int entries = Math.min(entriesPerChunk, count - read);
+                readFully(channel, buffer, entries * ENTRY_SIZE);
+                crc.update(buffer.array(), 0, entries * ENTRY_SIZE);
+                for (int i = 0; i < entries; i++) {
+                    UserPoint userPoint = new UserPoint(buffer.getLong(), buffer.getLong(), buffer.getLong());
+                    balances.put(userPoint.id(), userPoint);
+                }
+                read += entries;
+            }
+            readFully(channel, buffer, 4);
+            if ((int) crc.getValue() != buffer.getInt()) {
+                throw new IllegalStateException("broken snapshot");
+            }
+            return new JournalSnapshot(lastId, balances);
+        }
+    }
+
+    private static long expectedSize(int count) {
+        return HEADER_SIZE + (long) count * ENTRY_SIZE + 4;
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer, CRC32C crc) throws IOException {
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.flip();
+        writeFully(channel, buffer);
+        buffer.clear();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * length 바이트를 버퍼 앞부분에 읽어 읽을 수 있게 뒤집어 둔다.
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, int length) throws IOException {
+        buffer.clear().limit(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IllegalStateException("broken snapshot");
+            }
+        }
+        buffer.flip();
+    }
+
+    /**
+     * 최근 스냅샷부터 (이름에 마지막 id 가 0 으로 채워져 있어 이름 역순이 최근 순)
+     */
+    private static List<Path> listSnapshots(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(path -> {
+                    String name = path.getFileName().toString();
+                    return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                })
+                .sorted(Comparator.reverseOrder())
+                .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
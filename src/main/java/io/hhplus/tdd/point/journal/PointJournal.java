@@ -0,0 +1,405 @@
+package io.hhplus.tdd.point.journal;
+
+import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.exception.PointException;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 포인트 충전/사용 이벤트의 추가 전용(append-only) 저널
+ * - 내역 한 건을 {@link JournalSegment} 파일에 레코드 하나로 쓰고, 파일이 가득 차면 다음 파일로 넘어간다. (journal-{첫 id}.log)
+ * - 그룹 커밋 : append 는 매핑된 파일에 쓰기만 하고, sync 스레드가 commitInterval 마다 한 번 force 해서 그 사이에 쓴 레코드를 함께 내린다.
+ *   {@link #awaitDurable(long)} 로 자기 레코드가 내려갈 때까지 기다린다.
+ * - 스냅샷 : 주기적으로 유저별 잔액과 마지막 id 를 snapshot-{마지막 id}.bin 에 쓴다.
+ * - 복구 : 최신 스냅샷의 잔액에 그 이후 레코드만 더해 잔액을 구한다. 내역은 {@link #replay(Consumer, LongConsumer)} 로 처음부터 한 번 읽는다.
+ * - 샤드 이관 : 넘긴 유저는 {@link #appendTombstone(long)} 으로, 넘겨받은 유저는 {@link #appendImport} 로 남겨 재시작해도 이관 결과가 유지된다.
+ *   레코드 type 의 하위 8비트는 내역 종류(TransactionType ordinal), 그 위는 레코드 종류다. (내역 레코드는 0 이라 기존 파일과 호환)
+ * - deleteAfterSnapshot 이면 스냅샷을 쓴 뒤 스냅샷에 모두 포함된 파일을 지운다. 잔액은 스냅샷으로 복구되지만 지운 파일의 내역은 replay 되지 않는다.
+ * - force 가 한 번이라도 실패하면 어떤 레코드가 내려갔는지 알 수 없으므로, 기다리던 요청과 이후의 append 를 모두 실패시킨다.
+ */
+public class PointJournal implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(PointJournal.class);
+    private static final Pattern SEGMENT_NAME = Pattern.compile("journal-(\\d{20})\\.log");
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final int TYPE_MASK = 0xFF;
+    private static final int KIND_MASK = ~TYPE_MASK;
+    // 충전/사용/만료 내역. 잔액에 더한다
+    private static final int HISTORY = 0;
+    // 넘겨받은 내역의 원래 id (amount). 바로 다음 레코드가 그 내역이다
+    private static final int IMPORTED_ORIGIN = 1 << 8;
+    // 넘겨받은 내역. 잔액은 BALANCE 로 따로 받으므로 더하지 않는다
+    private static final int IMPORTED = 2 << 8;
+    // 넘겨받은 잔액 (amount)
+    private static final int BALANCE = 3 << 8;
+    // 다른 노드로 넘긴(또는 다시 넘겨받기 전에 비운) 유저. 잔액과 내역을 지운다
+    private static final int TOMBSTONE = 4 << 8;
+
+    private final Path directory;
+    private final int segmentCapacity;
+    private final long commitIntervalMillis;
+    private final boolean deleteAfterSnapshot;
+    private final List<JournalSegment> segments = new ArrayList<>();
+    private final Map<Long, UserPoint> balances;
+    private final Object appendLock = new Object();
+    private final Object durableMonitor = new Object();
+    private final Thread syncer;
+    private final ScheduledExecutorService snapshotter;
+    private JournalSegment current;
+    private long lastAppendedId;
+    private long durableId;
+    private long snapshotId;
+    private volatile boolean running = true;
+    private volatile RuntimeException syncFailure;
+
+    private PointJournal(Path directory, int segmentCapacity, long commitIntervalMillis, long snapshotIntervalMillis,
+                         boolean deleteAfterSnapshot) {
+        this.directory = directory;
+        this.segmentCapacity = segmentCapacity;
+        this.commitIntervalMillis = commitIntervalMillis;
+        this.deleteAfterSnapshot = deleteAfterSnapshot;
+
+        JournalSnapshot snapshot = JournalSnapshot.readLatest(directory);
+        this.balances = snapshot.balances();
+        this.snapshotId = snapshot.lastId();
+        openSegments();
+        this.durableId = lastAppendedId;
+
+        this.syncer = new Thread(this::syncLoop, "point-journal-sync");
+        this.syncer.setDaemon(true);
+        this.syncer.start();
+        this.snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-journal-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotter.scheduleWithFixedDelay(this::snapshotQuietly, snapshotIntervalMillis, snapshotIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 디렉터리의 스냅샷과 저널 파일로 상태를 복구하고, 마지막 레코드 다음부터 이어서 쓴다.
+     */
+    public static PointJournal open(Path directory, int segmentSizeMb, long commitIntervalMillis, long snapshotIntervalMillis,
+                                    boolean deleteAfterSnapshot) {
+        if (segmentSizeMb < 1 || segmentSizeMb > 1024) {
+            throw new IllegalArgumentException("point.journal.segment-size-mb 는 1 이상 1024 이하여야 합니다.");
+        }
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int segmentCapacity = (int) ((long) segmentSizeMb * 1024 * 1024 / JournalSegment.RECORD_SIZE);
+        return new PointJournal(directory, segmentCapacity, commitIntervalMillis, snapshotIntervalMillis, deleteAfterSnapshot);
+    }
+
+    /**
+     * 다음 id 를 발급해 레코드를 쓰고 잔액에 반영한다. 디스크에 내려갔는지는 {@link #awaitDurable(long)} 로 확인한다.
+     */
+    public PointHistory append(long userId, long amount, TransactionType type, long updateMillis) {
+        synchronized (appendLock) {
+            requireHealthy();
+            long id = write(userId, amount, HISTORY | type.ordinal(), updateMillis);
+            return new PointHistory(id, userId, amount, type, updateMillis);
+        }
+    }
+
+    /**
+     * 다른 노드로 넘긴 유저를 지웠다는 레코드를 쓰고 그 id 를 돌려준다. 재생하면 그 앞의 잔액과 내역이 지워진다.
+     */
+    public long appendTombstone(long userId) {
+        synchronized (appendLock) {
+            requireHealthy();
+            return write(userId, 0L, TOMBSTONE, 0L);
+        }
+    }
+
+    /**
+     * 이전 담당 노드에서 넘겨받은 유저의 잔액과 내역을 쓰고 마지막 레코드 id 를 돌려준다.
+     * - 먼저 유저를 비우는 레코드를 써서, 같은 유저를 다시 넘겨받아도(이관 재시도) 내역이 겹치지 않는다.
+     * - 내역은 원래 id 를 함께 남겨 재생할 때 원래 id 그대로 돌려준다. 잔액은 내역의 합이 아니라 넘겨받은 잔액으로 정한다.
+     */
+    public long appendImport(long userId, UserPoint userPoint, List<PointHistory> histories) {
+        synchronized (appendLock) {
+            requireHealthy();
+            write(userId, 0L, TOMBSTONE, 0L);
+            for (PointHistory pointHistory : histories) {
+                write(userId, pointHistory.id(), IMPORTED_ORIGIN, 0L);
+                write(userId, pointHistory.amount(), IMPORTED | pointHistory.type().ordinal(), pointHistory.updateMillis());
+            }
+            return write(userId, userPoint.point(), BALANCE, userPoint.updateMillis());
+        }
+    }
+
+    /**
+     * id 까지의 레코드가 디스크에 내려갈 때까지 기다린다.
+     * force 가 실패했거나, 기다리는 중에 인터럽트되었거나, 저널이 닫혀 더 내려가지 않으면 예외가 발생한다.
+     * (정상 반환은 레코드가 디스크에 내려갔다는 뜻이다)
+     */
+    public void awaitDurable(long id) {
+        synchronized (durableMonitor) {
+            while (durableId < id) {
+                requireHealthy();
+                if (!running) {
+                    throw new PointException(ExceptionCode.JOURNAL_UNAVAILABLE);
+                }
+                try {
+                    durableMonitor.wait(commitIntervalMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new PointException(ExceptionCode.JOURNAL_UNAVAILABLE, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 저널에 남은 모든 내역을 기록된 순서대로 넘긴다. 기동 시 append 전에 호출한다. (색인, 만료 묶음 복구)
+     * - 넘겨받은 내역은 원래 id 로 넘기고, 다른 노드로 넘긴 유저는 그 시점에 removed 로 알린다. (그 앞의 내역을 지워야 한다)
+     */
+    public void replay(Consumer<PointHistory> consumer, LongConsumer removed) {
+        List<JournalSegment> targets;
+        synchronized (appendLock) {
+            targets = List.copyOf(segments);
+        }
+        long[] originId = {0L};
+        JournalSegment.RecordVisitor visitor = (id, userId, amount, type, updateMillis) -> {
+            switch (type & KIND_MASK) {
+                case HISTORY -> consumer.accept(new PointHistory(id, userId, amount, TYPES[type & TYPE_MASK], updateMillis));
+                case IMPORTED_ORIGIN -> originId[0] = amount;
+                case IMPORTED -> {
+                    consumer.accept(new PointHistory(originId[0], userId, amount, TYPES[type & TYPE_MASK], updateMillis));
+                    originId[0] = 0L;
+                }
+                case TOMBSTONE -> removed.accept(userId);
+                default -> {
+                }
+            }
+        };
+        for (JournalSegment segment : targets) {
+            segment.scan(visitor, segment.count());
+        }
+    }
+
+    /**
+     * 복구된(그리고 이후 반영된) 유저별 잔액
+     */
+    public Collection<UserPoint> balances() {
+        synchronized (appendLock) {
+            return List.copyOf(balances.values());
+        }
+    }
+
+    public long lastId() {
+        synchronized (appendLock) {
+            return lastAppendedId;
+        }
+    }
+
+    /**
+     * 현재 잔액으로 스냅샷을 쓴다. 스냅샷에 포함된 레코드가 모두 디스크에 내려간 뒤에 쓴다.
+     */
+    public void snapshot() {
+        long lastId;
+        Map<Long, UserPoint> copied;
+        synchronized (appendLock) {
+            lastId = lastAppendedId;
+            if (lastId == snapshotId) {
+                return;
+            }
+            copied = new HashMap<>(balances);
+        }
+        awaitDurable(lastId);
+        JournalSnapshot.write(directory, lastId, copied.values());
+        synchronized (appendLock) {
+            snapshotId = Math.max(snapshotId, lastId);
+        }
+        if (deleteAfterSnapshot) {
+            deleteSegmentsUpTo(lastId);
+        }
+    }
+
+    @Override
+    public void close() {
+        snapshotter.shutdown();
+        try {
+            snapshotter.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        snapshotQuietly();
+        running = false;
+        synchronized (durableMonitor) {
+            durableMonitor.notifyAll();
+        }
+        try {
+            syncer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (appendLock) {
+            current.close();
+        }
+    }
+
+    /**
+     * 마지막 레코드가 upToId 이하인 파일을 지운다. 지금 쓰고 있는 파일은 남긴다.
+     */
+    private void deleteSegmentsUpTo(long upToId) {
+        List<JournalSegment> deleted = new ArrayList<>();
+        synchronized (appendLock) {
+            while (segments.size() > 1 && segments.get(0) != current && segments.get(0).lastId() <= upToId) {
+                deleted.add(segments.remove(0));
+            }
+        }
+        for (JournalSegment segment : deleted) {
+            segment.delete();
+            log.info("point journal segment deleted: {}", segment.path());
+        }
+    }
+
+    private void openSegments() {
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(directory)) {
+            paths = files.filter(path -> SEGMENT_NAME.matcher(path.getFileName().toString()).matches()).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        lastAppendedId = snapshotId;
+        for (Path path : paths) {
+            Matcher matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+            matcher.matches();
+            JournalSegment segment = JournalSegment.open(path, Long.parseLong(matcher.group(1)), segmentCapacity);
+            segments.add(segment);
+            if (segment.lastId() > snapshotId) {
+                // 스냅샷 이후의 레코드만 잔액에 더한다
+                segment.scan((id, userId, amount, type, updateMillis) -> {
+                    if (id > snapshotId) {
+                        apply(userId, amount, type, updateMillis);
+                    }
+                }, segment.count());
+            }
+            lastAppendedId = Math.max(lastAppendedId, segment.lastId());
+        }
+
+        if (segments.isEmpty() || segments.get(segments.size() - 1).isFull()) {
+            current = JournalSegment.create(segmentPath(lastAppendedId + 1), lastAppendedId + 1, segmentCapacity);
+            segments.add(current);
+        } else {
+            current = segments.get(segments.size() - 1);
+        }
+        log.info("point journal recovered: lastId={}, snapshotId={}, users={}", lastAppendedId, snapshotId, balances.size());
+    }
+
+    /**
+     * 다음 id 로 레코드를 쓰고 잔액에 반영한다. append 락 안에서 호출된다.
+     */
+    private long write(long userId, long amount, int type, long updateMillis) {
+        if (current.isFull()) {
+            rotate();
+        }
+        long id = lastAppendedId + 1;
+        current.append(id, userId, amount, type, updateMillis);
+        lastAppendedId = id;
+        apply(userId, amount, type, updateMillis);
+        return id;
+    }
+
+    private void apply(long userId, long amount, int type, long updateMillis) {
+        switch (type & KIND_MASK) {
+            case HISTORY -> {
+                long delta = TYPES[type & TYPE_MASK] == TransactionType.CHARGE ? amount : -amount;
+                UserPoint before = balances.get(userId);
+                long point = (before == null ? 0 : before.point()) + delta;
+                balances.put(userId, new UserPoint(userId, point, updateMillis));
+            }
+            case BALANCE -> balances.put(userId, new UserPoint(userId, amount, updateMillis));
+            case TOMBSTONE -> balances.remove(userId);
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * 가득 찬 파일을 내리고 다음 파일을 만든다. append 락 안에서 호출된다.
+     */
+    private void rotate() {
+        current.force();
+        current = JournalSegment.create(segmentPath(lastAppendedId + 1), lastAppendedId + 1, segmentCapacity);
+        segments.add(current);
+    }
+
+    private Path segmentPath(long firstId) {
+        return directory.resolve(String.format("journal-%020d.log", firstId));
+    }
+
+    private void syncLoop() {
+        while (running) {
+            JournalSegment target;
+            long upTo;
+            synchronized (appendLock) {
+                target = current;
+                upTo = lastAppendedId;
+            }
+            if (upTo > durableId) {
+                try {
+                    target.force();
+                } catch (RuntimeException e) {
+                    // 실패한 뒤의 force 가 성공해도 앞서 쓴 레코드가 내려갔다고 보장할 수 없으므로 다시 시도하지 않는다
+                    log.error("point journal force failed, journal is now read-only", e);
+                    synchronized (durableMonitor) {
+                        syncFailure = e;
+                        durableMonitor.notifyAll();
+                    }
+                    return;
+                }
+            }
+            synchronized (durableMonitor) {
+                durableId = Math.max(durableId, upTo);
+                durableMonitor.notifyAll();
+                try {
+                    durableMonitor.wait(commitIntervalMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void requireHealthy() {
+        RuntimeException failure = syncFailure;
+        if (failure != null) {
+            // 저널을 디스크에 내리지 못해 더 이상 기록할 수 없다
+            throw new PointException(ExceptionCode.JOURNAL_UNAVAILABLE, failure);
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.error("point journal snapshot failed", e);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package io.hhplus.tdd.point.limiter;
+
+import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.exception.PointException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 충전/사용 요청 동시 처리 수 제한 (AIMD)
+ * - 처리 중인 요청이 limit 이상이면 기다리지 않고 {@link ExceptionCode#TOO_MANY_REQUESTS} 로 바로 실패시킨다.
+ * - 한 유저가 동시에 차지할 수 있는 자리는 limit * maxUserShare (최소 1) 까지다. 같은 유저의 요청은 유저 락에서 어차피 줄을 서므로,
+ *   몰린 유저 하나가 자리를 모두 차지해 다른 유저가 거절되지 않게 한다.
+ * - 두 유저의 요청(이체)은 자리 하나를 잡되, 두 유저의 유저당 자리를 id 오름차순으로 함께 잡는다.
+ *   받는 유저에게 몰린 이체도 유저당 한도에 걸리므로, 이체를 받는 유저 하나가 자리를 모두 차지하지 못한다.
+ * - 요청이 끝날 때마다 limit 을 조정한다.
+ *   처리 시간이 targetLatency 를 넘거나 락 대기 시간 초과/잔액 변경 충돌/실행기 포화로 실패하면 limit 을 BACKOFF_RATIO 배로 줄이고,
+ *   그렇지 않으면서 limit 의 절반 이상이 차 있으면 1 늘린다.
+ * - 한 번 혼잡하면 그 사이에 처리 중이던 요청이 모두 느리게 끝나므로, 마지막으로 줄인 뒤에 시작한 요청의 신호로만 다시 줄인다.
+ *   (혼잡 한 번에 limit 을 한 번만 줄인다)
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+    static final double BACKOFF_RATIO = 0.9;
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double maxUserShare;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ConcurrentHashMap<Long, Integer> userInFlight = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+    private volatile double limit;
+    private long lastDecreaseNanos = System.nanoTime();
+
+    public AdaptiveConcurrencyLimiter(
+            @Value("${point.limiter.enabled:true}") boolean enabled,
+            @Value("${point.limiter.initial-limit:200}") int initialLimit,
+            @Value("${point.limiter.min-limit:10}") int minLimit,
+            @Value("${point.limiter.max-limit:1000}") int maxLimit,
+            @Value("${point.limiter.target-latency-millis:1000}") long targetLatencyMillis,
+            @Value("${point.limiter.max-user-share:0.1}") double maxUserShare
+    ) {
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMillis);
+        this.maxUserShare = maxUserShare;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public <T> T execute(long userId, Supplier<T> task) {
+        return executePair(userId, userId, task);
+    }
+
+    /**
+     * 두 유저의 요청(이체)을 자리 하나로 처리한다. 두 유저 중 하나라도 유저당 한도에 차 있으면 거절한다.
+     */
+    public <T> T executePair(long firstUserId, long secondUserId, Supplier<T> task) {
+        if (!enabled) {
+            return task.get();
+        }
+        long lowerUserId = Math.min(firstUserId, secondUserId);
+        long higherUserId = Math.max(firstUserId, secondUserId);
+        acquire(lowerUserId, higherUserId);
+        long startNanos = System.nanoTime();
+        boolean dropped = false;
+        try {
+            return task.get();
+        } catch (RuntimeException e) {
+            dropped = isDropped(e);
+            throw e;
+        } finally {
+            release(lowerUserId, higherUserId, startNanos, dropped);
+        }
+    }
+
+    /**
+     * 비동기 작업용 : 자리는 작업을 넘길 때 잡고, 반환된 CompletableFuture 가 끝날 때 돌려준다.
+     */
+    public <T> CompletableFuture<T> executeAsync(long userId, Supplier<CompletableFuture<T>> task) {
+        if (!enabled) {
+            return task.get();
+        }
+        try {
+            acquire(userId, userId);
+        } catch (PointException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        long startNanos = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = task.get();
+        } catch (RuntimeException e) {
+            release(userId, userId, startNanos, isDropped(e));
+            throw e;
+        }
+        return future.whenComplete((result, e) ->
+            release(userId, userId, startNanos, e != null && isDropped(e)));
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * 자리 하나와 유저당 자리를 잡는다. 한 유저의 요청이면 lowerUserId 와 higherUserId 가 같다.
+     */
+    private void acquire(long lowerUserId, long higherUserId) {
+        int currentLimit = (int) limit;
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= currentLimit) {
+                reject();
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+
+        int userLimit = Math.max(1, (int) (currentLimit * maxUserShare));
+        if (!admitUser(lowerUserId, userLimit)) {
+            inFlight.decrementAndGet();
+            reject();
+        }
+        if (higherUserId != lowerUserId && !admitUser(higherUserId, userLimit)) {
+            releaseUser(lowerUserId);
+            inFlight.decrementAndGet();
+            reject();
+        }
+    }
+
+    private boolean admitUser(long userId, int userLimit) {
+        boolean[] admitted = {false};
+        userInFlight.compute(userId, (id, count) -> {
+            int userCount = count == null ? 0 : count;
+            if (userCount >= userLimit) {
+                return count;
+            }
+            admitted[0] = true;
+            return userCount + 1;
+        });
+        return admitted[0];
+    }
+
+    private void release(long lowerUserId, long higherUserId, long startNanos, boolean dropped) {
+        releaseUser(lowerUserId);
+        if (higherUserId != lowerUserId) {
+            releaseUser(higherUserId);
+        }
+        int inFlightBefore = inFlight.getAndDecrement();
+        adjust(startNanos, System.nanoTime(), dropped, inFlightBefore);
+    }
+
+    private void releaseUser(long userId) {
+        userInFlight.computeIfPresent(userId, (id, count) -> count == 1 ? null : count - 1);
+    }
+
+    private synchronized void adjust(long startNanos, long endNanos, boolean dropped, int inFlightBefore) {
+        if (dropped || endNanos - startNanos > targetLatencyNanos) {
+            // 마지막으로 줄이기 전에 시작한 요청은 이미 반영한 혼잡의 신호이므로 무시한다
+            if (startNanos - lastDecreaseNanos >= 0) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                lastDecreaseNanos = endNanos;
+            }
+        } else if (inFlightBefore * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    private void reject() {
+        rejected.increment();
+        throw new PointException(ExceptionCode.TOO_MANY_REQUESTS);
+    }
+
+    private static boolean isDropped(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof PointException pointException
+            && (pointException.exceptionCode() == ExceptionCode.LOCK_TIMEOUT
+                || pointException.exceptionCode() == ExceptionCode.UPDATE_CONFLICT
+                || pointException.exceptionCode() == ExceptionCode.ASYNC_EXECUTOR_SATURATED);
+    }
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point.lock;
+
+/**
+ * 유저 락을 얻기까지 기다린 시간을 전달받는다.
+ */
+@FunctionalInterface
+public interface LockWaitListener {
+    LockWaitListener NONE = (waitNanos, acquired) -> {
+    };
+
+    void onLockWait(long waitNanos, boolean acquired);
+}
@@ -0,0 +1,100 @@
+package io.hhplus.tdd.point.lock;
+
+import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.exception.PointException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 유저 단위 락 관리자
+ * - 유저마다 공정(fair) 락을 두어 같은 유저의 요청은 도착 순서대로, 다른 유저의 요청은 병렬로 처리한다.
+ * - 락을 참조 중인 스레드 수를 세어 0이 되면 맵에서 제거하므로, 요청이 없는 유저의 락은 메모리에 남지 않는다.
+ * - 제한 시간 안에 락을 얻지 못하면 {@link ExceptionCode#LOCK_TIMEOUT} 예외가 발생한다.
+ * - 락 대기 시간은 {@link LockWaitListener} 로 전달한다.
+ * - 두 유저의 락이 필요하면 {@link #executeWithLocks} 로 항상 id 가 작은 유저부터 잡는다. (서로 엇갈린 요청끼리 교착되지 않음)
+ */
+@Component
+public class UserLockManager {
+    private final ConcurrentHashMap<Long, LockEntry> locks = new ConcurrentHashMap<>();
+    private final long timeoutMillis;
+    private final LockWaitListener lockWaitListener;
+
+    public UserLockManager(long timeoutMillis) {
+        this(timeoutMillis, LockWaitListener.NONE);
+    }
+
+    @Autowired
+    public UserLockManager(
+            @Value("${point.lock.timeout-millis:10000}") long timeoutMillis,
+            LockWaitListener lockWaitListener
+    ) {
+        this.timeoutMillis = timeoutMillis;
+        this.lockWaitListener = lockWaitListener;
+    }
+
+    public <T> T executeWithLock(long userId, Supplier<T> task) {
+        LockEntry entry = acquireEntry(userId);
+        boolean locked = false;
+        try {
+            long waitStartNanos = System.nanoTime();
+            locked = entry.lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+            lockWaitListener.onLockWait(System.nanoTime() - waitStartNanos, locked);
+            if (!locked) {
+                throw new PointException(ExceptionCode.LOCK_TIMEOUT);
+            }
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PointException(ExceptionCode.LOCK_TIMEOUT, e);
+        } finally {
+            if (locked) {
+                entry.lock.unlock();
+            }
+            releaseEntry(userId);
+        }
+    }
+
+    /**
+     * 두 유저의 락을 id 가 작은 유저부터 차례로 잡고 task 를 실행한다. 같은 유저면 락 하나만 잡는다.
+     */
+    public <T> T executeWithLocks(long firstUserId, long secondUserId, Supplier<T> task) {
+        if (firstUserId == secondUserId) {
+            return executeWithLock(firstUserId, task);
+        }
+        long lowerUserId = Math.min(firstUserId, secondUserId);
+        long higherUserId = Math.max(firstUserId, secondUserId);
+        return executeWithLock(lowerUserId, () -> executeWithLock(higherUserId, task));
+    }
+
+    /**
+     * 현재 맵에 남아있는 락 개수 (대기 또는 실행 중인 유저 수)
+     */
+    public int activeLockCount() {
+        return locks.size();
+    }
+
+    private LockEntry acquireEntry(long userId) {
+        return locks.compute(userId, (id, entry) -> {
+            LockEntry target = entry == null ? new LockEntry() : entry;
+            target.refCount++;
+            return target;
+        });
+    }
+
+    private void releaseEntry(long userId) {
+        locks.computeIfPresent(userId, (id, entry) -> --entry.refCount == 0 ? null : entry);
+    }
+
+    /**
+     * refCount 는 ConcurrentHashMap 의 compute 안에서만 변경되므로 별도 동기화가 필요 없다.
+     */
+    private static final class LockEntry {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private int refCount;
+    }
+}
@@ -0,0 +1,133 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.exception.PointException;
+import io.hhplus.tdd.point.lock.LockWaitListener;
+import io.hhplus.tdd.point.repository.AsyncPointHistoryRepository;
+import io.hhplus.tdd.point.repository.CachingUserPointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+/**
+ * 포인트 기능 지표
+ * - 모든 Timer/Counter 는 생성 시점에 태그별로 미리 등록해 두고, 호출 경로에서는 꺼내 쓰기만 한다. (호출마다 태그 배열을 만들지 않음)
+ * - point.operation : 기능(operation)과 거래 종류(type), 결과(outcome)별 처리 시간
+ * - point.operation.failures : 실패한 기능별 {@link ExceptionCode} 건수 (정책 예외가 아니면 code=UNEXPECTED)
+ * - point.lock.wait : 유저 락을 얻기까지 기다린 시간 (result=acquired|timeout)
+ * - point.table : Table 호출 시간
+ */
+@Component
+public class PointMetrics implements LockWaitListener {
+    private static final String UNEXPECTED = "UNEXPECTED";
+
+    public enum Operation {
+        POINT("point", "NONE"),
+        HISTORY("history", "NONE"),
+        CHARGE("charge", "CHARGE"),
+        USE("use", "USE"),
+        TRANSFER("transfer", "TRANSFER");
+
+        private final String tagValue;
+        private final String type;
+
+        Operation(String tagValue, String type) {
+            this.tagValue = tagValue;
+            this.type = type;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final EnumMap<Operation, Timer> successTimers = new EnumMap<>(Operation.class);
+    private final EnumMap<Operation, Timer> failureTimers = new EnumMap<>(Operation.class);
+    private final EnumMap<Operation, EnumMap<ExceptionCode, Counter>> failureCounters = new EnumMap<>(Operation.class);
+    private final EnumMap<Operation, Counter> unexpectedFailureCounters = new EnumMap<>(Operation.class);
+    private final Timer lockAcquiredTimer;
+    private final Timer lockTimeoutTimer;
+
+    public PointMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Operation operation : Operation.values()) {
+            successTimers.put(operation, operationTimer(operation, "success"));
+            failureTimers.put(operation, operationTimer(operation, "failure"));
+
+            EnumMap<ExceptionCode, Counter> counters = new EnumMap<>(ExceptionCode.class);
+            for (ExceptionCode exceptionCode : ExceptionCode.values()) {
+                counters.put(exceptionCode, failureCounter(operation, exceptionCode.code()));
+            }
+            failureCounters.put(operation, counters);
+            unexpectedFailureCounters.put(operation, failureCounter(operation, UNEXPECTED));
+        }
+        this.lockAcquiredTimer = lockWaitTimer("acquired");
+        this.lockTimeoutTimer = lockWaitTimer("timeout");
+    }
+
+    public void recordSuccess(Operation operation, long startNanos) {
+        successTimers.get(operation).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordFailure(Operation operation, RuntimeException exception, long startNanos) {
+        failureTimers.get(operation).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        Counter counter = exception instanceof PointException pointException
+            ? failureCounters.get(operation).get(pointException.exceptionCode())
+            : unexpectedFailureCounters.get(operation);
+        counter.increment();
+    }
+
+    @Override
+    public void onLockWait(long waitNanos, boolean acquired) {
+        (acquired ? lockAcquiredTimer : lockTimeoutTimer).record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Table 호출 시간용 Timer. 저장소 구성 시 한 번 만들어 Timed 저장소에 넘긴다.
+     */
+    public Timer tableTimer(String table, String method) {
+        return Timer.builder("point.table")
+            .tag("table", table)
+            .tag("method", method)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    public void bindCache(CachingUserPointRepository cache) {
+        FunctionCounter.builder("point.balance.cache.hits", cache, c -> c.stats().hits()).register(meterRegistry);
+        FunctionCounter.builder("point.balance.cache.misses", cache, c -> c.stats().misses()).register(meterRegistry);
+        FunctionCounter.builder("point.balance.cache.evictions", cache, c -> c.stats().evictions()).register(meterRegistry);
+        Gauge.builder("point.balance.cache.size", cache, c -> c.stats().size()).register(meterRegistry);
+    }
+
+    public void bindHistoryQueue(AsyncPointHistoryRepository historyQueue) {
+        Gauge.builder("point.history.queue.pending", historyQueue, AsyncPointHistoryRepository::pendingCount)
+            .register(meterRegistry);
+    }
+
+    private Timer operationTimer(Operation operation, String outcome) {
+        return Timer.builder("point.operation")
+            .tag("operation", operation.tagValue)
+            .tag("type", operation.type)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private Counter failureCounter(Operation operation, String code) {
+        return Counter.builder("point.operation.failures")
+            .tag("operation", operation.tagValue)
+            .tag("type", operation.type)
+            .tag("code", code)
+            .register(meterRegistry);
+    }
+
+    private Timer lockWaitTimer(String result) {
+        return Timer.builder("point.lock.wait")
+            .tag("result", result)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point.model;
+
+import java.util.List;
+
+/**
+ * 포인트 내역 페이지
+ * - nextCursor 는 다음 페이지 요청의 after 값이며, 마지막 페이지이면 null 이다.
+ */
+public record PointHistoryPage(
+        List<PointHistory> histories,
+        Long nextCursor
+) {
+    /**
+     * limit 보다 한 건 더 조회한 결과로 다음 페이지가 있는지 판단한다.
+     */
+    public static PointHistoryPage of(List<PointHistory> fetched, int limit) {
+        if (fetched.size() <= limit) {
+            return new PointHistoryPage(fetched, null);
+        }
+        List<PointHistory> histories = fetched.subList(0, limit);
+        return new PointHistoryPage(histories, histories.get(limit - 1).id());
+    }
+}
@@ -0,0 +1,26 @@
+package io.hhplus.tdd.point.model;
+
+import io.hhplus.tdd.exception.ExceptionCode;
+
+/**
+ * 일괄 요청의 한 건에 대한 처리 결과
+ * - 성공 시 userPoint 는 해당 건까지 반영된 잔액, 실패 시 code/message 는 {@link ExceptionCode} 의 값이다.
+ */
+public record PointOperationResult(
+        long userId,
+        TransactionType type,
+        long amount,
+        boolean success,
+        UserPoint userPoint,
+        String code,
+        String message
+) {
+    public static PointOperationResult success(PointOperation operation, UserPoint userPoint) {
+        return new PointOperationResult(operation.userId(), operation.type(), operation.amount(), true, userPoint, null, null);
+    }
+
+    public static PointOperationResult fail(PointOperation operation, ExceptionCode exceptionCode) {
+        return new PointOperationResult(operation.userId(), operation.type(), operation.amount(), false, null,
+            exceptionCode.code(), exceptionCode.message());
+    }
+}
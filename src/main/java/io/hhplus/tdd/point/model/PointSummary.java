@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point.model;
+
+/**
+ * 유저별 포인트 거래 요약
+ * - totalExpired, expireCount : 기간이 지나 만료된 포인트 누계와 건수 (사용 누계에는 들어가지 않는다)
+ * - lastActivityMillis : 마지막 거래 시각 (거래가 없으면 0)
+ */
+public record PointSummary(
+    long userId,
+    long totalCharged,
+    long totalUsed,
+    long chargeCount,
+    long useCount,
+    long totalExpired,
+    long expireCount,
+    long lastActivityMillis
+) {
+    public static PointSummary empty(long userId) {
+        return new PointSummary(userId, 0, 0, 0, 0, 0, 0, 0);
+    }
+}
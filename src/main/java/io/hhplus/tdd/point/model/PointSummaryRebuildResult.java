@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.model;
+
+/**
+ * 요약 재계산 결과 : 다시 계산한 유저 수, 읽은 내역 건수, 걸린 시간
+ */
+public record PointSummaryRebuildResult(
+    int userCount,
+    long historyCount,
+    long elapsedMillis
+) {
+}
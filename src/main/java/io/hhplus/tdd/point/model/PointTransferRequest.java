@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.model;
+
+/**
+ * 포인트 이체 요청 (fromUserId 의 포인트를 amount 만큼 toUserId 로 옮긴다)
+ */
+public record PointTransferRequest(
+        long fromUserId,
+        long toUserId,
+        long amount
+) {
+}
@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point.model;
+
+/**
+ * 포인트 이체 결과 (이체가 반영된 두 유저의 잔액)
+ */
+public record PointTransferResult(
+        UserPoint from,
+        UserPoint to
+) {
+}
@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point.model;
+
+import io.hhplus.tdd.point.shard.ShardNode;
+import java.util.List;
+
+/**
+ * 노드가 보고 있는 링 상태
+ * - joining : 이 노드가 합류 중이라 아직 이전 담당 노드에서 유저를 넘겨받고 있다.
+ * - handingOffTo : 합류 중인 노드에 유저를 넘기고 있다면 그 노드 id
+ */
+public record ShardStatus(
+        String nodeId,
+        List<ShardNode> nodes,
+        boolean joining,
+        String handingOffTo
+) {
+}
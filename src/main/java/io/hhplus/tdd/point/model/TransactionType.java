@@ -5,7 +5,9 @@ package io.hhplus.tdd.point.model;
  * 포인트 트랜잭션 종류
  * - CHARGE : 충전
  * - USE : 사용
+ * - EXPIRE : 충전 후 기간이 지나 만료 (요청으로는 만들 수 없다)
+ * - 저널/열 저장소가 ordinal 로 저장하므로 새 종류는 뒤에 덧붙인다.
  */
 public enum TransactionType {
-    CHARGE, USE
+    CHARGE, USE, EXPIRE
 }
\ No newline at end of file
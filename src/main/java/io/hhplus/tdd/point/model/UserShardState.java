@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point.model;
+
+import java.util.List;
+
+/**
+ * 노드가 합류할 때 옮기는 한 유저의 잔액과 내역
+ */
+public record UserShardState(
+        long userId,
+        UserPoint userPoint,
+        List<PointHistory> histories
+) {
+    public boolean isEmpty() {
+        return userPoint.point() == 0 && histories.isEmpty();
+    }
+}
@@ -0,0 +1,171 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 비동기 포인트 내역 저장소
+ * - insert 는 내역을 큐에 넣고 바로 돌아오며, 단일 writer 스레드가 큐 순서대로 감싼 저장소에 저장한다.
+ * - 큐가 하나이고 writer 도 하나이므로 유저별 저장 순서가 유지된다. 큐가 가득 차면 insert 가 기다린다.
+ * - 감싼 저장소는 저장 순서대로 1부터 id 를 발급하므로, 큐에 넣을 때 같은 id 를 미리 발급해 돌려준다.
+ *   저장에 실패한 내역을 건너뛰면 뒤의 id 가 모두 어긋나므로, 성공할 때까지 같은 내역을 다시 저장한다. (종료 중에는 MAX_RETRIES_ON_CLOSE 번까지)
+ * - 큐는 메모리에만 있으므로 종료 전에 저장되지 않은 내역은 사라진다. 그래서 설정에서는 저널과 함께만 켠다.
+ *   ({@link JournaledPointHistoryRepository} 가 큐에 넣기 전에 저널에 기록하고, 재시작하면 저널로 내역을 복구한다)
+ * - 큐에 넣은 내역을 바로 조회하려면 {@link IndexedPointHistoryRepository} 로 감싸서 사용한다.
+ */
+public class AsyncPointHistoryRepository implements PointHistoryRepository {
+    private static final Logger log = LoggerFactory.getLogger(AsyncPointHistoryRepository.class);
+    private static final long INITIAL_RETRY_DELAY_MILLIS = 10L;
+    private static final long MAX_RETRY_DELAY_MILLIS = 1000L;
+    private static final int MAX_RETRIES_ON_CLOSE = 3;
+
+    private final PointHistoryRepository delegate;
+    private final BlockingQueue<PointHistory> queue;
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final Object enqueueLock = new Object();
+    private final Object idleMonitor = new Object();
+    private final Thread writer;
+    private long nextId;
+    private volatile boolean running = true;
+
+    public AsyncPointHistoryRepository(PointHistoryRepository delegate, int queueCapacity, long firstId) {
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.nextId = firstId;
+        this.writer = new Thread(this::drain, "point-history-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        synchronized (enqueueLock) {
+            PointHistory pointHistory = new PointHistory(nextId, userId, amount, type, updateMillis);
+            pendingCount.incrementAndGet();
+            putUninterruptibly(pointHistory);
+            nextId++;
+            return pointHistory;
+        }
+    }
+
+    /**
+     * 감싼 저장소의 조회 결과이므로 아직 저장되지 않은 내역은 포함되지 않는다.
+     */
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return delegate.selectAllByUserId(userId);
+    }
+
+    public long pendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * 큐에 쌓인 내역이 모두 저장될 때까지 기다린다.
+     */
+    public void flush() {
+        synchronized (idleMonitor) {
+            while (pendingCount.get() > 0) {
+                try {
+                    idleMonitor.wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 큐에 남은 내역을 writer 가 마저 저장하도록 기다린 뒤 감싼 저장소를 닫는다.
+     * - 저장소가 계속 실패해도 종료가 멈추지 않도록, 종료 중에는 재시도 횟수를 제한한다.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        delegate.close();
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            PointHistory pointHistory;
+            try {
+                pointHistory = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (pointHistory == null) {
+                continue;
+            }
+            try {
+                insertWithRetry(pointHistory);
+            } finally {
+                if (pendingCount.decrementAndGet() == 0) {
+                    synchronized (idleMonitor) {
+                        idleMonitor.notifyAll();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 저장에 성공할 때까지 간격을 늘려 가며 다시 저장한다. 종료 중이면 MAX_RETRIES_ON_CLOSE 번 실패한 뒤 버린다.
+     */
+    private void insertWithRetry(PointHistory pointHistory) {
+        long delayMillis = INITIAL_RETRY_DELAY_MILLIS;
+        int failuresOnClose = 0;
+        while (true) {
+            try {
+                PointHistory stored = delegate.insert(
+                    pointHistory.userId(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+                if (stored.id() != pointHistory.id()) {
+                    log.warn("point history id mismatch: issued {}, stored {}", pointHistory.id(), stored.id());
+                }
+                return;
+            } catch (RuntimeException e) {
+                if (!running && ++failuresOnClose >= MAX_RETRIES_ON_CLOSE) {
+                    log.error("point history insert failed on close, dropped: {}", pointHistory, e);
+                    return;
+                }
+                log.warn("point history insert failed, retrying in {}ms: {}", delayMillis, pointHistory, e);
+            }
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("point history writer interrupted, dropped: {}", pointHistory);
+                return;
+            }
+            delayMillis = Math.min(delayMillis * 2, MAX_RETRY_DELAY_MILLIS);
+        }
+    }
+
+    private void putUninterruptibly(PointHistory pointHistory) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(pointHistory);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
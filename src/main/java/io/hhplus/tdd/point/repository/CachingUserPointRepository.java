@@ -0,0 +1,107 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.model.UserPoint;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 읽기 캐시(read-through) 유저 포인트 저장소
+ * - 캐시에 없으면 감싼 저장소에서 읽어 채우고, 쓰기는 저장 후 캐시를 새 값으로 바꾼다.
+ * - 최대 maxSize 건을 LRU 로 유지하며, ttl 이 지난 항목은 조회 시 버린다.
+ * - 조회 도중 같은 유저에 쓰기가 있었다면 읽어온 값은 캐시에 넣지 않는다. (오래된 값이 캐시에 남지 않도록)
+ */
+public class CachingUserPointRepository implements UserPointRepository {
+    private static final int WRITE_STRIPES = 64;
+
+    private final UserPointRepository delegate;
+    private final long ttlNanos;
+    private final LinkedHashMap<Long, CacheEntry> entries;
+    private final AtomicLongArray writeVersions = new AtomicLongArray(WRITE_STRIPES);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachingUserPointRepository(UserPointRepository delegate, int maxSize, long ttlMillis) {
+        this.delegate = delegate;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CacheEntry> eldest) {
+                if (size() > maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        UserPoint cached = getIfPresent(id);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        int stripe = stripe(id);
+        long versionBeforeLoad = writeVersions.get(stripe);
+        UserPoint loaded = delegate.selectById(id);
+        synchronized (entries) {
+            if (writeVersions.get(stripe) == versionBeforeLoad && !entries.containsKey(id)) {
+                entries.put(id, new CacheEntry(loaded, System.nanoTime() + ttlNanos));
+            }
+        }
+        return loaded;
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint updated = delegate.insertOrUpdate(id, amount);
+        synchronized (entries) {
+            writeVersions.incrementAndGet(stripe(id));
+            entries.put(id, new CacheEntry(updated, System.nanoTime() + ttlNanos));
+        }
+        return updated;
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    public CacheStats stats() {
+        synchronized (entries) {
+            return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+        }
+    }
+
+    private UserPoint getIfPresent(long id) {
+        synchronized (entries) {
+            CacheEntry entry = entries.get(id);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expireAtNanos - System.nanoTime() < 0) {
+                entries.remove(id);
+                evictions.increment();
+                return null;
+            }
+            return entry.userPoint;
+        }
+    }
+
+    private static int stripe(long id) {
+        return (int) (id ^ (id >>> 32)) & (WRITE_STRIPES - 1);
+    }
+
+    private record CacheEntry(UserPoint userPoint, long expireAtNanos) {
+    }
+
+    public record CacheStats(long hits, long misses, long evictions, int size) {
+    }
+}
@@ -0,0 +1,221 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 한 유저의 포인트 내역을 열(column) 단위 기본형 배열에 쌓아두는 추가 전용 구간
+ * - 내역은 청크(chunk)에 나누어 담고, 청크마다 첫 id/updateMillis 를 기준값으로 두고 나머지는 int 차이값으로 저장한다.
+ *   (id 4 + updateMillis 4 + amount 8 + type 1 = 17 바이트/건, userId 는 구간에 한 번만 둔다)
+ * - 청크 크기는 8건에서 시작해 두 배씩 늘려 최대 1,024건이다. 차이값이 int 를 넘으면 새 청크를 연다.
+ * - 쓰기는 한 번에 한 스레드만 하고(synchronized), 읽기는 락 없이 size 를 먼저 읽고 그 안쪽만 읽는다.
+ *   (배열에 쓴 뒤 volatile size 를 늘리므로 size 안쪽의 값은 항상 다 쓰인 값이다)
+ */
+class ColumnarHistorySegment {
+    private static final int FIRST_CHUNK_CAPACITY = 8;
+    private static final int MAX_CHUNK_CAPACITY = 1_024;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final long userId;
+    private volatile Chunk[] chunks = new Chunk[0];
+    private volatile int size;
+
+    ColumnarHistorySegment(long userId) {
+        this.userId = userId;
+    }
+
+    synchronized void append(long id, long amount, TransactionType type, long updateMillis) {
+        Chunk[] current = chunks;
+        Chunk last = current.length == 0 ? null : current[current.length - 1];
+        if (last == null || !last.tryAppend(size - last.start, id, amount, type, updateMillis)) {
+            int capacity = last == null ? FIRST_CHUNK_CAPACITY : Math.min(last.capacity() * 2, MAX_CHUNK_CAPACITY);
+            Chunk chunk = new Chunk(size, capacity, id, updateMillis);
+            chunk.tryAppend(0, id, amount, type, updateMillis);
+            Chunk[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = chunk;
+            chunks = grown;
+        }
+        size = size + 1;
+    }
+
+    /**
+     * 지금까지 쌓인 내역을 PointHistory 로 만들지 않고 감싼 읽기 전용 목록. 원소는 꺼낼 때 만든다.
+     */
+    List<PointHistory> view() {
+        int viewSize = size;
+        return new HistoryView(chunks, viewSize);
+    }
+
+    /**
+     * 내역은 id 오름차순으로 쌓이므로 afterId 다음 위치를 이진 탐색으로 찾고, limit 건을 채우면 멈춘다.
+     */
+    List<PointHistory> page(long afterId, int limit, long fromMillis, long toMillis) {
+        int viewSize = size;
+        HistoryView view = new HistoryView(chunks, viewSize);
+        List<PointHistory> page = new ArrayList<>(Math.min(limit, viewSize));
+        for (int i = view.firstIndexAfter(afterId); i < viewSize && page.size() < limit; i++) {
+            long updateMillis = view.updateMillis(i);
+            if (updateMillis >= fromMillis && updateMillis < toMillis) {
+                page.add(view.get(i));
+            }
+        }
+        return page;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 배열에 잡아둔 바이트 수 (배열 머리 16 바이트 포함, 청크/구간 객체 자체는 제외)
+     */
+    long allocatedBytes() {
+        long bytes = 0;
+        for (Chunk chunk : chunks) {
+            bytes += chunk.allocatedBytes();
+        }
+        return bytes;
+    }
+
+    private static final class Chunk {
+        private final int start;
+        private final long baseId;
+        private final long baseMillis;
+        private final int[] idDeltas;
+        private final int[] millisDeltas;
+        private final long[] amounts;
+        private final byte[] types;
+
+        private Chunk(int start, int capacity, long baseId, long baseMillis) {
+            this.start = start;
+            this.baseId = baseId;
+            this.baseMillis = baseMillis;
+            this.idDeltas = new int[capacity];
+            this.millisDeltas = new int[capacity];
+            this.amounts = new long[capacity];
+            this.types = new byte[capacity];
+        }
+
+        private boolean tryAppend(int index, long id, long amount, TransactionType type, long updateMillis) {
+            long idDelta = id - baseId;
+            long millisDelta = updateMillis - baseMillis;
+            if (index >= capacity() || idDelta != (int) idDelta || millisDelta != (int) millisDelta) {
+                return false;
+            }
+            idDeltas[index] = (int) idDelta;
+            millisDeltas[index] = (int) millisDelta;
+            amounts[index] = amount;
+            types[index] = (byte) type.ordinal();
+            return true;
+        }
+
+        private int capacity() {
+            return amounts.length;
+        }
+
+        private long allocatedBytes() {
+            return 4L * 16 + capacity() * 17L;
+        }
+    }
+
+    private final class HistoryView extends AbstractList<PointHistory> {
+        private final Chunk[] chunks;
+        private final int size;
+
+        private HistoryView(Chunk[] chunks, int size) {
+            this.chunks = chunks;
+            this.size = size;
+        }
+
+        @Override
+        public PointHistory get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            Chunk chunk = chunks[chunkOf(index)];
+            return materialize(chunk, index - chunk.start);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        /**
+         * 직렬화처럼 처음부터 끝까지 읽을 때는 청크를 순서대로 따라가므로 원소마다 청크를 찾지 않는다.
+         */
+        @Override
+        public Iterator<PointHistory> iterator() {
+            return new Iterator<>() {
+                private int index;
+                private int chunkIndex;
+
+                @Override
+                public boolean hasNext() {
+                    return index < size;
+                }
+
+                @Override
+                public PointHistory next() {
+                    if (index >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    while (chunkIndex + 1 < chunks.length && chunks[chunkIndex + 1].start <= index) {
+                        chunkIndex++;
+                    }
+                    Chunk chunk = chunks[chunkIndex];
+                    return materialize(chunk, index++ - chunk.start);
+                }
+            };
+        }
+
+        private long id(int index) {
+            Chunk chunk = chunks[chunkOf(index)];
+            return chunk.baseId + chunk.idDeltas[index - chunk.start];
+        }
+
+        private long updateMillis(int index) {
+            Chunk chunk = chunks[chunkOf(index)];
+            return chunk.baseMillis + chunk.millisDeltas[index - chunk.start];
+        }
+
+        private int firstIndexAfter(long afterId) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (id(mid) <= afterId) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int chunkOf(int index) {
+            int low = 0;
+            int high = chunks.length - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (chunks[mid].start <= index) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+
+        private PointHistory materialize(Chunk chunk, int offset) {
+            return new PointHistory(chunk.baseId + chunk.idDeltas[offset], userId, chunk.amounts[offset],
+                TYPES[chunk.types[offset]], chunk.baseMillis + chunk.millisDeltas[offset]);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserShardState;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 열(column) 단위로 압축해 보관하는 포인트 내역 저장소
+ * - {@link IndexedPointHistoryRepository} 와 같이 유저별 구간에 쌓고 조회는 감싼 저장소를 호출하지 않지만,
+ *   내역을 PointHistory 객체가 아닌 {@link ColumnarHistorySegment} 의 기본형 배열에 담는다.
+ * - 조회 결과는 배열을 감싼 목록이며, PointHistory 는 응답을 직렬화하며 원소를 꺼낼 때 만들어진다.
+ * - Table 없이 쓸 때는 {@link SequencePointHistoryRepository} 를 감싸 id 만 발급받는다.
+ */
+@RequiredArgsConstructor
+public class ColumnarPointHistoryRepository implements PointHistoryRepository {
+    private final PointHistoryRepository delegate;
+    private final ConcurrentHashMap<Long, ColumnarHistorySegment> segments = new ConcurrentHashMap<>();
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory = delegate.insert(userId, amount, type, updateMillis);
+        restore(pointHistory);
+        return pointHistory;
+    }
+
+    /**
+     * 감싼 저장소에 저장하지 않고 구간에만 넣는다. (기동 시 저널의 내역을 다시 채우거나 샤드 이관으로 넘겨받을 때)
+     */
+    @Override
+    public void restore(PointHistory pointHistory) {
+        segments.computeIfAbsent(pointHistory.userId(), ColumnarHistorySegment::new)
+            .append(pointHistory.id(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+    }
+
+    @Override
+    public void remove(long userId) {
+        segments.remove(userId);
+    }
+
+    @Override
+    public void handOff(long userId) {
+        delegate.handOff(userId);
+        remove(userId);
+    }
+
+    @Override
+    public void importUser(UserShardState state) {
+        delegate.importUser(state);
+        remove(state.userId());
+        state.histories().forEach(this::restore);
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        ColumnarHistorySegment segment = segments.get(userId);
+        return segment == null ? List.of() : segment.view();
+    }
+
+    @Override
+    public List<PointHistory> selectPageByUserId(long userId, long afterId, int limit, long fromMillis, long toMillis) {
+        ColumnarHistorySegment segment = segments.get(userId);
+        return segment == null ? List.of() : segment.page(afterId, limit, fromMillis, toMillis);
+    }
+
+    /**
+     * 보관 중인 내역 건수
+     */
+    public long entryCount() {
+        return segments.values().stream().mapToLong(ColumnarHistorySegment::size).sum();
+    }
+
+    /**
+     * 내역 배열에 잡아둔 바이트 수
+     */
+    public long allocatedBytes() {
+        return segments.values().stream().mapToLong(ColumnarHistorySegment::allocatedBytes).sum();
+    }
+
+    @Override
+    public Collection<Long> userIds() {
+        return List.copyOf(segments.keySet());
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -0,0 +1,71 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.expiry.PointExpiryTracker;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserShardState;
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 저장된 내역을 만료 묶음에 반영하는 포인트 내역 저장소 (point.expiry.enabled=true)
+ * - 충전/사용/이체/일괄 처리/만료가 모두 내역을 남기므로, 내역 저장을 한 곳에서 받아 묶음을 맞춘다.
+ */
+@RequiredArgsConstructor
+public class ExpiringPointHistoryRepository implements PointHistoryRepository {
+    private final PointHistoryRepository delegate;
+    private final PointExpiryTracker pointExpiryTracker;
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory = delegate.insert(userId, amount, type, updateMillis);
+        pointExpiryTracker.record(userId, amount, type, updateMillis);
+        return pointHistory;
+    }
+
+    @Override
+    public void restore(PointHistory pointHistory) {
+        delegate.restore(pointHistory);
+        pointExpiryTracker.restore(pointHistory);
+    }
+
+    @Override
+    public void remove(long userId) {
+        delegate.remove(userId);
+        pointExpiryTracker.remove(userId);
+    }
+
+    @Override
+    public void handOff(long userId) {
+        delegate.handOff(userId);
+        pointExpiryTracker.remove(userId);
+    }
+
+    @Override
+    public void importUser(UserShardState state) {
+        delegate.importUser(state);
+        pointExpiryTracker.remove(state.userId());
+        state.histories().forEach(pointExpiryTracker::restore);
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return delegate.selectAllByUserId(userId);
+    }
+
+    @Override
+    public List<PointHistory> selectPageByUserId(long userId, long afterId, int limit, long fromMillis, long toMillis) {
+        return delegate.selectPageByUserId(userId, afterId, limit, fromMillis, toMillis);
+    }
+
+    @Override
+    public Collection<Long> userIds() {
+        return delegate.userIds();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -0,0 +1,52 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 한 유저의 포인트 내역을 저장 순서대로 쌓아두는 추가 전용(append-only) 구간
+ */
+class HistorySegment {
+    private final List<PointHistory> entries = new ArrayList<>();
+
+    synchronized void append(PointHistory pointHistory) {
+        entries.add(pointHistory);
+    }
+
+    synchronized List<PointHistory> snapshot() {
+        return List.copyOf(entries);
+    }
+
+    /**
+     * 내역은 id 오름차순으로 쌓이므로 afterId 다음 위치를 이진 탐색으로 찾고, limit 건을 채우면 멈춘다.
+     */
+    synchronized List<PointHistory> page(long afterId, int limit, long fromMillis, long toMillis) {
+        List<PointHistory> page = new ArrayList<>(Math.min(limit, entries.size()));
+        for (int i = firstIndexAfter(afterId); i < entries.size() && page.size() < limit; i++) {
+            PointHistory pointHistory = entries.get(i);
+            if (pointHistory.updateMillis() >= fromMillis && pointHistory.updateMillis() < toMillis) {
+                page.add(pointHistory);
+            }
+        }
+        return page;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private int firstIndexAfter(long afterId) {
+        int low = 0;
+        int high = entries.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries.get(mid).id() <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,75 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserShardState;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 유저별 색인을 가진 포인트 내역 저장소
+ * - 저장할 때마다 유저별 구간에 내역을 덧붙여, 조회 시 전체 내역을 훑지 않고 해당 유저의 내역만 읽는다.
+ * - 모든 저장이 이 저장소를 거친다는 전제로, 조회는 감싼 저장소를 호출하지 않는다.
+ */
+@RequiredArgsConstructor
+public class IndexedPointHistoryRepository implements PointHistoryRepository {
+    private final PointHistoryRepository delegate;
+    private final ConcurrentHashMap<Long, HistorySegment> segments = new ConcurrentHashMap<>();
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory = delegate.insert(userId, amount, type, updateMillis);
+        segments.computeIfAbsent(userId, id -> new HistorySegment()).append(pointHistory);
+        return pointHistory;
+    }
+
+    /**
+     * 감싼 저장소에 저장하지 않고 색인에만 넣는다. (기동 시 저널의 내역을 다시 채우거나 샤드 이관으로 넘겨받을 때)
+     */
+    @Override
+    public void restore(PointHistory pointHistory) {
+        segments.computeIfAbsent(pointHistory.userId(), id -> new HistorySegment()).append(pointHistory);
+    }
+
+    @Override
+    public void remove(long userId) {
+        segments.remove(userId);
+    }
+
+    @Override
+    public void handOff(long userId) {
+        delegate.handOff(userId);
+        remove(userId);
+    }
+
+    @Override
+    public void importUser(UserShardState state) {
+        delegate.importUser(state);
+        remove(state.userId());
+        state.histories().forEach(this::restore);
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        HistorySegment segment = segments.get(userId);
+        return segment == null ? List.of() : segment.snapshot();
+    }
+
+    @Override
+    public List<PointHistory> selectPageByUserId(long userId, long afterId, int limit, long fromMillis, long toMillis) {
+        HistorySegment segment = segments.get(userId);
+        return segment == null ? List.of() : segment.page(afterId, limit, fromMillis, toMillis);
+    }
+
+    @Override
+    public Collection<Long> userIds() {
+        return List.copyOf(segments.keySet());
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -0,0 +1,49 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.journal.PointJournal;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserShardState;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 저널에 먼저 기록하는 포인트 내역 저장소
+ * - id 는 저널이 발급한다. 감싼 저장소(Table)는 재시작하면 id 를 1부터 다시 발급하므로, 감싼 저장소에는 사본만 저장하고 그 id 는 쓰지 않는다.
+ * - 샤드 이관으로 넘긴/넘겨받은 유저도 저널에 남긴다. 감싼 저장소에는 넘기지 않는다. (사본이므로)
+ * - 저널 레코드가 디스크에 내려간 뒤에 돌아간다. (그룹 커밋이라 여러 요청이 한 번의 force 를 함께 기다린다)
+ * - 저널은 스프링 빈으로 따로 닫으므로 close 에서 닫지 않는다.
+ */
+@RequiredArgsConstructor
+public class JournaledPointHistoryRepository implements PointHistoryRepository {
+    private final PointHistoryRepository delegate;
+    private final PointJournal pointJournal;
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory = pointJournal.append(userId, amount, type, updateMillis);
+        delegate.insert(userId, amount, type, updateMillis);
+        pointJournal.awaitDurable(pointHistory.id());
+        return pointHistory;
+    }
+
+    @Override
+    public void handOff(long userId) {
+        pointJournal.awaitDurable(pointJournal.appendTombstone(userId));
+    }
+
+    @Override
+    public void importUser(UserShardState state) {
+        pointJournal.awaitDurable(pointJournal.appendImport(state.userId(), state.userPoint(), state.histories()));
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return delegate.selectAllByUserId(userId);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -0,0 +1,162 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.model.UserPoint;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 힙 밖(off-heap) 유저 포인트 저장소
+ * - 유저 id → (point, updateMillis) 를 direct ByteBuffer 위의 열린 주소(open addressing, 선형 탐사) 해시 테이블에 둔다.
+ *   유저마다 객체를 만들지 않으므로 유저 수가 늘어도 GC 대상이 늘지 않는다.
+ * - 슬롯(32 바이트) : userId(8) point(8) updateMillis(8) version(8)
+ * - 조회는 락 없이 version 을 앞뒤로 읽어(seqlock) 쓰는 중인 값을 읽었으면 다시 읽는다.
+ * - 슬롯은 지우지 않으며, 크기를 늘리지 않으므로 expectedUsers 를 넉넉히 잡아야 한다. (채움 비율 3/4 을 넘으면 예외)
+ */
+public class OffHeapUserPointRepository implements UserPointRepository {
+    static final int MAX_CAPACITY = 1 << 25;
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final int SLOT_SIZE = 32;
+    private static final int KEY = 0;
+    private static final int POINT = 8;
+    private static final int UPDATE_MILLIS = 16;
+    private static final int VERSION = 24;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final ByteBuffer slots;
+    private final int mask;
+    private final int maxSize;
+    private final AtomicInteger size = new AtomicInteger();
+
+    public OffHeapUserPointRepository(int expectedUsers) {
+        int capacity = tableSizeFor((int) Math.min((long) expectedUsers * 4 / 3 + 1, MAX_CAPACITY));
+        this.slots = ByteBuffer.allocateDirect(capacity * SLOT_SIZE).order(ByteOrder.nativeOrder());
+        this.mask = capacity - 1;
+        this.maxSize = capacity / 4 * 3;
+        for (int slot = 0; slot < capacity; slot++) {
+            LONGS.set(slots, slot * SLOT_SIZE + KEY, EMPTY);
+        }
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        int slot = find(id);
+        if (slot < 0) {
+            return UserPoint.empty(id);
+        }
+        int base = slot * SLOT_SIZE;
+        while (true) {
+            long versionBefore = (long) LONGS.getAcquire(slots, base + VERSION);
+            if (versionBefore == 0) {
+                // 자리만 잡고 아직 값을 쓰지 않은 슬롯
+                return UserPoint.empty(id);
+            }
+            long point = (long) LONGS.getOpaque(slots, base + POINT);
+            long updateMillis = (long) LONGS.getOpaque(slots, base + UPDATE_MILLIS);
+            VarHandle.acquireFence();
+            long versionAfter = (long) LONGS.getOpaque(slots, base + VERSION);
+            if ((versionBefore & 1) == 0 && versionBefore == versionAfter) {
+                return new UserPoint(id, point, updateMillis);
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        write(userPoint);
+        return userPoint;
+    }
+
+    /**
+     * 복구한 잔액을 updateMillis 그대로 넣는다.
+     */
+    public void restore(Collection<UserPoint> userPoints) {
+        for (UserPoint userPoint : userPoints) {
+            write(userPoint);
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * 힙 밖에 잡은 메모리 크기 (바이트)
+     */
+    public long offHeapBytes() {
+        return slots.capacity();
+    }
+
+    private void write(UserPoint userPoint) {
+        int base = findOrInsert(userPoint.id()) * SLOT_SIZE;
+        long version;
+        while (true) {
+            version = (long) LONGS.getVolatile(slots, base + VERSION);
+            if ((version & 1) == 0 && LONGS.compareAndSet(slots, base + VERSION, version, version + 1)) {
+                break;
+            }
+            Thread.onSpinWait();
+        }
+        LONGS.setOpaque(slots, base + POINT, userPoint.point());
+        LONGS.setOpaque(slots, base + UPDATE_MILLIS, userPoint.updateMillis());
+        LONGS.setRelease(slots, base + VERSION, version + 2);
+    }
+
+    private int find(long id) {
+        for (int slot = hash(id) & mask; ; slot = (slot + 1) & mask) {
+            long key = (long) LONGS.getAcquire(slots, slot * SLOT_SIZE + KEY);
+            if (key == id) {
+                return slot;
+            }
+            if (key == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    private int findOrInsert(long id) {
+        if (id == EMPTY) {
+            throw new IllegalArgumentException("user id " + id + " 는 저장할 수 없습니다.");
+        }
+        int slot = hash(id) & mask;
+        while (true) {
+            int offset = slot * SLOT_SIZE + KEY;
+            long key = (long) LONGS.getAcquire(slots, offset);
+            if (key == id) {
+                return slot;
+            }
+            if (key != EMPTY) {
+                slot = (slot + 1) & mask;
+                continue;
+            }
+            if (size.get() >= maxSize) {
+                throw new IllegalStateException("off-heap 잔액 저장소가 가득 찼습니다. point.balance.off-heap.expected-users 를 늘려주세요.");
+            }
+            if (LONGS.compareAndSet(slots, offset, EMPTY, id)) {
+                size.incrementAndGet();
+                return slot;
+            }
+            // 다른 스레드가 먼저 자리를 잡았으면 같은 슬롯을 다시 확인한다
+        }
+    }
+
+    private static int hash(long id) {
+        long h = id;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private static int tableSizeFor(int size) {
+        int capacity = Integer.highestOneBit(Math.max(size - 1, 1)) << 1;
+        return Math.min(capacity, MAX_CAPACITY);
+    }
+}
@@ -0,0 +1,81 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.model.UserPoint;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * compare-and-swap 으로 잔액을 바꿀 수 있는 유저 포인트 저장소 (optimistic 모드)
+ * - 유저마다 현재 잔액을 AtomicReference 에 두고, 잔액이 바뀔 때마다 새 UserPoint 를 넣는다.
+ *   selectById 가 돌려준 객체 자체가 버전이 되어, 그 객체가 아직 현재 잔액일 때만 {@link #compareAndSet} 이 성공한다.
+ * - 처음 조회할 때 감싼 저장소에서 읽어오고, 이후 조회는 메모리에서 돌려준다. {@link #evict} 하면 다음 조회에서 다시 읽어온다.
+ * - 잔액 변경 방식(optimistic)이 안에 두고 쓴다. 다른 곳에서는 감싼 저장소를 그대로 조회하며, 바뀐 잔액은 반환 전에 감싼 저장소에 저장된다.
+ * - 바뀐 잔액은 감싼 저장소에도 저장한다. 저장은 유저별로 순서를 맞추기 위해 그 시점의 최신 잔액을 짧은 모니터 안에서 쓴다.
+ *   (감싼 저장소는 쓰기 지연 저장소처럼 빠르게 반환되어야 한다)
+ */
+public class OptimisticUserPointRepository implements UserPointRepository {
+    private final UserPointRepository delegate;
+    private final ConcurrentHashMap<Long, AtomicReference<UserPoint>> balances = new ConcurrentHashMap<>();
+
+    public OptimisticUserPointRepository(UserPointRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        return reference(id).get();
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        AtomicReference<UserPoint> reference = reference(id);
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        reference.set(userPoint);
+        persist(id, reference);
+        return userPoint;
+    }
+
+    /**
+     * 현재 잔액이 expected 일 때만 amount 로 바꾸고 바뀐 잔액을 돌려준다. 그 사이 다른 변경이 있었으면 null 을 돌려준다.
+     */
+    public UserPoint compareAndSet(long id, UserPoint expected, long amount) {
+        AtomicReference<UserPoint> reference = reference(id);
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        if (!reference.compareAndSet(expected, userPoint)) {
+            return null;
+        }
+        persist(id, reference);
+        return userPoint;
+    }
+
+    /**
+     * 메모리의 잔액을 지운다. 감싼 저장소에 직접 쓴 잔액을 다음 조회부터 보이게 할 때 부른다. (다른 변경이 없을 때만 호출)
+     */
+    public void evict(long id) {
+        balances.remove(id);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private AtomicReference<UserPoint> reference(long id) {
+        AtomicReference<UserPoint> reference = balances.get(id);
+        if (reference != null) {
+            return reference;
+        }
+        AtomicReference<UserPoint> loaded = new AtomicReference<>(delegate.selectById(id));
+        AtomicReference<UserPoint> existing = balances.putIfAbsent(id, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    /**
+     * 저장이 끝나는 순서가 바뀌어도 마지막 저장이 최신 잔액이 되도록, 모니터 안에서 그 시점의 잔액을 읽어 저장한다.
+     */
+    private void persist(long id, AtomicReference<UserPoint> reference) {
+        synchronized (reference) {
+            delegate.insertOrUpdate(id, reference.get().point());
+        }
+    }
+}
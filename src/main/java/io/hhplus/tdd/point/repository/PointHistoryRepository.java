@@ -0,0 +1,73 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserShardState;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 포인트 내역 저장소
+ * - {@link io.hhplus.tdd.database.PointHistoryTable} 과 같은 저장/조회 계약을 가진다.
+ */
+public interface PointHistoryRepository extends AutoCloseable {
+
+    PointHistory insert(long userId, long amount, TransactionType type, long updateMillis);
+
+    List<PointHistory> selectAllByUserId(long userId);
+
+    /**
+     * id 가 afterId 보다 크고 fromMillis <= updateMillis < toMillis 인 내역을 id 순으로 최대 limit 건 조회한다.
+     */
+    default List<PointHistory> selectPageByUserId(long userId, long afterId, int limit, long fromMillis, long toMillis) {
+        return selectAllByUserId(userId).stream()
+            .filter(pointHistory -> pointHistory.id() > afterId)
+            .filter(pointHistory -> pointHistory.updateMillis() >= fromMillis && pointHistory.updateMillis() < toMillis)
+            .limit(limit)
+            .toList();
+    }
+
+    /**
+     * 내역이 있는 유저 id. 유저 목록을 따로 갖지 않는 저장소는 빈 목록을 돌려준다.
+     */
+    default Collection<Long> userIds() {
+        return List.of();
+    }
+
+    /**
+     * 내역을 id 그대로 넣는다. (기동 시 저널 재생, 샤드 이관)
+     * - 유저별 구간을 두지 않는 저장소는 id 를 유지할 수 없으므로 새로 저장한다.
+     */
+    default void restore(PointHistory pointHistory) {
+        insert(pointHistory.userId(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+    }
+
+    /**
+     * 유저의 내역을 지운다. (다른 샤드 노드로 넘긴 뒤) 유저별 구간을 두지 않는 저장소는 아무것도 하지 않는다.
+     */
+    default void remove(long userId) {
+    }
+
+    /**
+     * 다른 샤드 노드로 넘긴 유저의 내역을 지운다.
+     * - 저널에 기록하는 저장소는 지웠다는 레코드를 남겨, 재시작해도 넘긴 유저의 잔액과 내역이 되살아나지 않게 한다.
+     */
+    default void handOff(long userId) {
+        remove(userId);
+    }
+
+    /**
+     * 이전 담당 노드에서 넘겨받은 유저의 내역을 원래 id 그대로 넣는다. 이미 있던 내역은 지운다. (이관 재시도)
+     * - 저널에 기록하는 저장소는 넘겨받은 잔액과 내역을 저널에 남겨 재시작해도 복구되게 한다.
+     * - 유저별 구간을 두지 않는 저장소(감싼 저장소의 사본)는 아무것도 하지 않는다.
+     */
+    default void importUser(UserShardState state) {
+    }
+
+    /**
+     * 애플리케이션 종료 시 호출된다. 감싼 저장소가 있다면 함께 닫는다.
+     */
+    @Override
+    default void close() {
+    }
+}
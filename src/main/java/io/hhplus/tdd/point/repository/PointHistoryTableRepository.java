@@ -0,0 +1,85 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * {@link PointHistoryTable} 의 공개 API 를 그대로 호출하는 기본 저장소
+ * - Table 은 ArrayList 와 id 커서를 잠금 없이 바꾸므로, 유저마다 Table 을 하나씩 두고 유저별 락 안에서만 호출한다.
+ *   Table 의 지연(throttle)은 그 유저의 락 안에서만 기다리므로 다른 유저의 저장을 막지 않는다.
+ * - 유저별 Table 의 id 는 유저마다 1부터 시작하므로, 저장소 전체에서 1부터 발급한 id 를 대신 돌려준다.
+ *   (유저별 락 안에서 발급하므로 유저의 내역은 id 오름차순이고, 한 스레드가 차례로 저장하면 1, 2, 3 ... 순서 그대로다)
+ * - 락은 synchronized 대신 ReentrantLock 이라 가상 스레드가 Table 을 기다리는 동안 캐리어 스레드를 붙잡지 않는다.
+ */
+public class PointHistoryTableRepository implements PointHistoryRepository {
+    private final Supplier<PointHistoryTable> tableFactory;
+    private final ConcurrentHashMap<Long, UserTable> tables = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1L);
+
+    public PointHistoryTableRepository(Supplier<PointHistoryTable> tableFactory) {
+        this.tableFactory = tableFactory;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        UserTable userTable = tables.computeIfAbsent(userId, key -> new UserTable(tableFactory.get()));
+        userTable.lock.lock();
+        try {
+            long id = nextId.getAndIncrement();
+            PointHistory stored = userTable.table.insert(userId, amount, type, updateMillis);
+            userTable.ids.add(id);
+            return withId(stored, id);
+        } finally {
+            userTable.lock.unlock();
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        UserTable userTable = tables.get(userId);
+        if (userTable == null) {
+            return List.of();
+        }
+        userTable.lock.lock();
+        try {
+            List<PointHistory> stored = userTable.table.selectAllByUserId(userId);
+            List<PointHistory> histories = new ArrayList<>(stored.size());
+            for (PointHistory pointHistory : stored) {
+                histories.add(withId(pointHistory, userTable.ids.get((int) pointHistory.id() - 1)));
+            }
+            return histories;
+        } finally {
+            userTable.lock.unlock();
+        }
+    }
+
+    @Override
+    public Collection<Long> userIds() {
+        return List.copyOf(tables.keySet());
+    }
+
+    private static PointHistory withId(PointHistory pointHistory, long id) {
+        return new PointHistory(id, pointHistory.userId(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+    }
+
+    /**
+     * ids 는 유저별 Table 이 발급한 id(1부터) 순서대로 저장소 id 를 담는다.
+     */
+    private static final class UserTable {
+        private final PointHistoryTable table;
+        private final List<Long> ids = new ArrayList<>();
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private UserTable(PointHistoryTable table) {
+            this.table = table;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * id 만 발급하고 내역은 보관하지 않는 저장소
+ * - {@link ColumnarPointHistoryRepository} 처럼 감싸는 쪽이 내역을 보관할 때 Table 대신 둔다.
+ */
+public class SequencePointHistoryRepository implements PointHistoryRepository {
+    private final AtomicLong nextId;
+
+    public SequencePointHistoryRepository(long firstId) {
+        this.nextId = new AtomicLong(firstId);
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        return new PointHistory(nextId.getAndIncrement(), userId, amount, type, updateMillis);
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return List.of();
+    }
+}
@@ -0,0 +1,74 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.model.UserPoint;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 조회 합치기(single-flight) 유저 포인트 저장소
+ * - 같은 유저의 조회가 동시에 들어오면 먼저 온 조회만 감싼 저장소를 호출하고, 나머지는 그 결과를 함께 받는다.
+ * - 쓰기가 끝나면 진행 중인 조회를 목록에서 빼므로, 쓰기가 끝난 뒤에 시작한 조회는 쓰기 전에 시작된 조회에 합류하지 않는다.
+ *   (쓰기와 겹친 조회만 이전 값을 받을 수 있다)
+ */
+public class SingleFlightUserPointRepository implements UserPointRepository {
+    private final UserPointRepository delegate;
+    private final ConcurrentHashMap<Long, CompletableFuture<UserPoint>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    public SingleFlightUserPointRepository(UserPointRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        CompletableFuture<UserPoint> flight = new CompletableFuture<>();
+        CompletableFuture<UserPoint> existing = inFlight.putIfAbsent(id, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        try {
+            UserPoint userPoint = delegate.selectById(id);
+            flight.complete(userPoint);
+            return userPoint;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, flight);
+        }
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = delegate.insertOrUpdate(id, amount);
+        inFlight.remove(id);
+        return userPoint;
+    }
+
+    /**
+     * 다른 조회의 결과를 함께 받은 조회 수
+     */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private static UserPoint await(CompletableFuture<UserPoint> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 감싼 저장소의 호출 시간을 Timer 에 기록한다.
+ */
+@RequiredArgsConstructor
+public class TimedPointHistoryRepository implements PointHistoryRepository {
+    private final PointHistoryRepository delegate;
+    private final Timer insertTimer;
+    private final Timer selectTimer;
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        long startNanos = System.nanoTime();
+        try {
+            return delegate.insert(userId, amount, type, updateMillis);
+        } finally {
+            insertTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        long startNanos = System.nanoTime();
+        try {
+            return delegate.selectAllByUserId(userId);
+        } finally {
+            selectTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -0,0 +1,41 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.model.UserPoint;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 감싼 저장소의 호출 시간을 Timer 에 기록한다.
+ */
+@RequiredArgsConstructor
+public class TimedUserPointRepository implements UserPointRepository {
+    private final UserPointRepository delegate;
+    private final Timer selectTimer;
+    private final Timer insertOrUpdateTimer;
+
+    @Override
+    public UserPoint selectById(long id) {
+        long startNanos = System.nanoTime();
+        try {
+            return delegate.selectById(id);
+        } finally {
+            selectTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        long startNanos = System.nanoTime();
+        try {
+            return delegate.insertOrUpdate(id, amount);
+        } finally {
+            insertOrUpdateTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.model.UserPoint;
+
+/**
+ * 유저 포인트 저장소
+ * - {@link io.hhplus.tdd.database.UserPointTable} 과 같은 조회/저장 계약을 가진다.
+ * - 구현체를 감싸는 방식으로 쓰기 지연 등의 기능을 덧붙인다.
+ */
+public interface UserPointRepository extends AutoCloseable {
+
+    UserPoint selectById(long id);
+
+    UserPoint insertOrUpdate(long id, long amount);
+
+    /**
+     * 애플리케이션 종료 시 호출된다. 감싼 저장소가 있다면 함께 닫는다.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,57 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.model.UserPoint;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * {@link UserPointTable} 의 공개 API 를 그대로 호출하는 기본 저장소
+ * - Table 은 HashMap 위에 있어 스레드 안전하지 않으므로, 유저마다 Table 을 하나씩 두고 유저별 락 안에서만 호출한다.
+ *   Table 의 지연(throttle)은 그 유저의 락 안에서만 기다리므로 다른 유저의 호출을 막지 않는다.
+ * - 락은 synchronized 대신 ReentrantLock 이라 가상 스레드가 Table 을 기다리는 동안 캐리어 스레드를 붙잡지 않는다.
+ */
+public class UserPointTableRepository implements UserPointRepository {
+    private final Supplier<UserPointTable> tableFactory;
+    private final ConcurrentHashMap<Long, UserTable> tables = new ConcurrentHashMap<>();
+
+    public UserPointTableRepository(Supplier<UserPointTable> tableFactory) {
+        this.tableFactory = tableFactory;
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        UserTable userTable = table(id);
+        userTable.lock.lock();
+        try {
+            return userTable.table.selectById(id);
+        } finally {
+            userTable.lock.unlock();
+        }
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserTable userTable = table(id);
+        userTable.lock.lock();
+        try {
+            return userTable.table.insertOrUpdate(id, amount);
+        } finally {
+            userTable.lock.unlock();
+        }
+    }
+
+    private UserTable table(long id) {
+        return tables.computeIfAbsent(id, key -> new UserTable(tableFactory.get()));
+    }
+
+    private static final class UserTable {
+        private final UserPointTable table;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private UserTable(UserPointTable table) {
+            this.table = table;
+        }
+    }
+}
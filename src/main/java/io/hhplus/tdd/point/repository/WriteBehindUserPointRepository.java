@@ -0,0 +1,130 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.model.UserPoint;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 쓰기 지연(write-behind) 유저 포인트 저장소
+ * - 잔액의 원본은 메모리의 {@code balances} 이며, 변경된 잔액은 {@code dirty} 에 유저별로 하나만 남는다.
+ * - 백그라운드 스레드가 주기적으로 {@code dirty} 를 batchSize 만큼 꺼내 감싼 저장소에 저장한다.
+ * - 같은 유저의 쓰기는 호출하는 쪽에서 직렬화되어야 한다. (PointService 는 유저 락 안에서 호출)
+ */
+public class WriteBehindUserPointRepository implements UserPointRepository {
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindUserPointRepository.class);
+
+    private final UserPointRepository delegate;
+    private final int batchSize;
+    private final ConcurrentHashMap<Long, UserPoint> balances = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, UserPoint> dirty = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ScheduledExecutorService flusher;
+
+    public WriteBehindUserPointRepository(UserPointRepository delegate, long flushIntervalMillis, int batchSize) {
+        this.delegate = delegate;
+        this.batchSize = batchSize;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushBatch, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 메모리에 있는 잔액을 먼저 돌려주므로, 아직 저장되지 않은 변경도 바로 조회된다.
+     */
+    @Override
+    public UserPoint selectById(long id) {
+        UserPoint userPoint = balances.get(id);
+        if (userPoint != null) {
+            return userPoint;
+        }
+        UserPoint loaded = delegate.selectById(id);
+        UserPoint existing = balances.putIfAbsent(id, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        balances.put(id, userPoint);
+        dirty.put(id, userPoint);
+        return userPoint;
+    }
+
+    /**
+     * 복구한 잔액을 메모리에 올리고, 감싼 저장소에도 백그라운드로 다시 저장되도록 dirty 에 넣는다.
+     */
+    public void restore(Collection<UserPoint> userPoints) {
+        for (UserPoint userPoint : userPoints) {
+            balances.put(userPoint.id(), userPoint);
+            dirty.put(userPoint.id(), userPoint);
+        }
+    }
+
+    /**
+     * 저장되지 않은 잔액을 모두 저장할 때까지 기다린다. (종료 시 drain 용도)
+     */
+    public void flush() {
+        while (!dirty.isEmpty()) {
+            if (flushBatch() == 0) {
+                log.warn("write-behind flush stopped with {} pending balances", dirty.size());
+                return;
+            }
+        }
+    }
+
+    public int pendingCount() {
+        return dirty.size();
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        delegate.close();
+    }
+
+    /**
+     * dirty 에서 최대 batchSize 건을 꺼내 저장하고, 저장한 건수를 돌려준다.
+     * 저장에 실패한 잔액은 더 새로운 값이 없을 때만 다시 dirty 에 넣는다.
+     */
+    private int flushBatch() {
+        flushLock.lock();
+        try {
+            int flushed = 0;
+            Iterator<Long> ids = dirty.keySet().iterator();
+            while (ids.hasNext() && flushed < batchSize) {
+                Long id = ids.next();
+                UserPoint userPoint = dirty.remove(id);
+                if (userPoint == null) {
+                    continue;
+                }
+                try {
+                    delegate.insertOrUpdate(id, userPoint.point());
+                    flushed++;
+                } catch (RuntimeException e) {
+                    dirty.putIfAbsent(id, userPoint);
+                    log.warn("write-behind flush failed for user {}", id, e);
+                    break;
+                }
+            }
+            return flushed;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.exception.PointException;
+import io.hhplus.tdd.point.concurrency.BalanceUpdater;
+import io.hhplus.tdd.point.executor.PointTaskExecutor;
+import io.hhplus.tdd.point.model.PointOperation;
+import io.hhplus.tdd.point.model.PointOperationResult;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.summary.PointSummaryAggregator;
+import io.hhplus.tdd.point.validator.UserPointValidator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * 포인트 일괄 충전/사용
+ * - 요청을 유저별로 묶어, 유저마다 요청 순서대로 잔액을 계산한 뒤 잔액은 한 번만 저장하고 내역은 건별로 남긴다.
+ * - 서로 다른 유저의 묶음은 병렬로 처리한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PointBatchService {
+    public static final int MAX_BATCH_SIZE = 10_000;
+    private static final Logger log = LoggerFactory.getLogger(PointBatchService.class);
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final BalanceUpdater balanceUpdater;
+    private final PointTaskExecutor pointTaskExecutor;
+    private final PointSummaryAggregator pointSummaryAggregator;
+
+    public List<PointOperationResult> execute(List<PointOperation> operations) {
+        if (operations.isEmpty() || operations.size() > MAX_BATCH_SIZE) {
+            throw new PointException(ExceptionCode.INVALID_BATCH_SIZE);
+        }
+
+        PointOperationResult[] results = new PointOperationResult[operations.size()];
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            PointOperation operation = operations.get(i);
+            ExceptionCode invalid = validateRequest(operation);
+            if (invalid != null) {
+                results[i] = PointOperationResult.fail(operation, invalid);
+            } else {
+                indexesByUser.computeIfAbsent(operation.userId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+
+        CompletableFuture<?>[] futures = indexesByUser.entrySet().stream()
+            .map(entry -> pointTaskExecutor.run(() -> applyGroup(entry.getKey(), entry.getValue(), operations, results)))
+            .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
+
+        return Arrays.asList(results);
+    }
+
+    private void applyGroup(long userId, List<Integer> indexes, List<PointOperation> operations, PointOperationResult[] results) {
+        List<Integer> appliedIndexes = new ArrayList<>(indexes.size());
+        long[] appliedBalances = new long[indexes.size()];
+        try {
+            balanceUpdater.update(userId,
+                beforeUserPoint -> applyInOrder(beforeUserPoint.point(), indexes, operations, results, appliedIndexes, appliedBalances),
+                updatedUserPoint -> recordApplied(userId, updatedUserPoint, operations, results, appliedIndexes, appliedBalances));
+        } catch (PointException e) {
+            indexes.forEach(i -> results[i] = PointOperationResult.fail(operations.get(i), e.exceptionCode()));
+        } catch (RuntimeException e) {
+            // 저장소 장애 등 예상하지 못한 예외는 아직 결과가 없는 건만 실패로 채운다 (저장 후 내역까지 남긴 건은 성공 그대로 둔다)
+            log.error("일괄 요청 처리 중 예외가 발생했습니다. userId={}", userId, e);
+            indexes.stream()
+                .filter(i -> results[i] == null)
+                .forEach(i -> results[i] = PointOperationResult.fail(operations.get(i), ExceptionCode.OPERATION_FAILED));
+        }
+    }
+
+    /**
+     * 각 요청을 직전까지의 잔액으로 검증하고, 통과한 요청만 잔액에 반영한 최종 잔액을 돌려준다. (통과한 요청이 없으면 저장하지 않음)
+     * - 잔액 변경 방식에 따라 다시 호출될 수 있으므로 appliedIndexes 는 매번 새로 채운다.
+     */
+    private long applyInOrder(long balance, List<Integer> indexes, List<PointOperation> operations, PointOperationResult[] results,
+                              List<Integer> appliedIndexes, long[] appliedBalances) {
+        appliedIndexes.clear();
+        for (int i : indexes) {
+            PointOperation operation = operations.get(i);
+            ExceptionCode rejected = validateBalance(operation, balance);
+            if (rejected != null) {
+                results[i] = PointOperationResult.fail(operation, rejected);
+                continue;
+            }
+            balance = operation.type() == TransactionType.CHARGE ? balance + operation.amount() : balance - operation.amount();
+            appliedBalances[appliedIndexes.size()] = balance;
+            appliedIndexes.add(i);
+        }
+        return appliedIndexes.isEmpty() ? BalanceUpdater.UNCHANGED : balance;
+    }
+
+    private void recordApplied(long userId, UserPoint updatedUserPoint, List<PointOperation> operations, PointOperationResult[] results,
+                               List<Integer> appliedIndexes, long[] appliedBalances) {
+        for (int n = 0; n < appliedIndexes.size(); n++) {
+            int i = appliedIndexes.get(n);
+            PointOperation operation = operations.get(i);
+            pointHistoryRepository.insert(userId, operation.amount(), operation.type(), updatedUserPoint.updateMillis());
+            pointSummaryAggregator.record(userId, operation.type(), operation.amount(), updatedUserPoint.updateMillis());
+            results[i] = PointOperationResult.success(operation,
+                new UserPoint(userId, appliedBalances[n], updatedUserPoint.updateMillis()));
+        }
+    }
+
+    private ExceptionCode validateRequest(PointOperation operation) {
+        if (operation.type() == null || operation.type() == TransactionType.EXPIRE) {
+            return ExceptionCode.INVALID_TRANSACTION_TYPE;
+        }
+        boolean validAmount = operation.type() == TransactionType.CHARGE
+            ? UserPointValidator.isValidRequestAmount(operation.amount())
+            : UserPointValidator.canUse(operation.amount());
+        return validAmount ? null : ExceptionCode.INVALID_AMOUNT;
+    }
+
+    private ExceptionCode validateBalance(PointOperation operation, long balance) {
+        if (operation.type() == TransactionType.CHARGE) {
+            return UserPointValidator.canAdd(balance, operation.amount()) ? null : ExceptionCode.EXCEED_MAX_BALANCE;
+        }
+        return balance >= operation.amount() ? null : ExceptionCode.INSUFFICIENT_BALANCE;
+    }
+}
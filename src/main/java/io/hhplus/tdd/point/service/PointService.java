@@ -1,11 +1,18 @@
 package io.hhplus.tdd.point.service;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.exception.PointException;
+import io.hhplus.tdd.point.concurrency.BalanceUpdater;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.metrics.PointMetrics.Operation;
 import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.summary.PointSummaryAggregator;
 import io.hhplus.tdd.point.validator.UserPointValidator;
 import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryPage;
+import io.hhplus.tdd.point.model.PointTransferResult;
 import io.hhplus.tdd.point.model.UserPoint;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -14,49 +21,167 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 public class PointService {
-    private final UserPointTable userPointRepository;
-    private final PointHistoryTable pointHistoryRepository;
+    public static final int MAX_PAGE_SIZE = 1_000;
+
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final BalanceUpdater balanceUpdater;
+    private final PointMetrics pointMetrics;
+    private final PointSummaryAggregator pointSummaryAggregator;
 
     public UserPoint point(long id){
-        return userPointRepository.selectById(id);
+        long startNanos = System.nanoTime();
+        try {
+            UserPoint userPoint = userPointRepository.selectById(id);
+            pointMetrics.recordSuccess(Operation.POINT, startNanos);
+            return userPoint;
+        } catch (RuntimeException e) {
+            pointMetrics.recordFailure(Operation.POINT, e, startNanos);
+            throw e;
+        }
+    }
+
+    public List<PointHistory> pointHistory(long userId) {
+        long startNanos = System.nanoTime();
+        try {
+            List<PointHistory> histories = pointHistoryRepository.selectAllByUserId(userId);
+            pointMetrics.recordSuccess(Operation.HISTORY, startNanos);
+            return histories;
+        } catch (RuntimeException e) {
+            pointMetrics.recordFailure(Operation.HISTORY, e, startNanos);
+            throw e;
+        }
     }
 
-    public List<PointHistory> pointHistory(long userId) { return pointHistoryRepository.selectAllByUserId(userId); }
+    /**
+     * after 이후의 내역을 id 순으로 limit 건 조회한다. 다음 페이지 여부를 알기 위해 한 건 더 조회한다.
+     */
+    public PointHistoryPage pointHistoryPage(long userId, long after, int limit, long fromMillis, long toMillis) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new PointException(ExceptionCode.INVALID_PAGE_SIZE);
+        }
+
+        List<PointHistory> fetched = pointHistoryRepository.selectPageByUserId(userId, after, limit + 1, fromMillis, toMillis);
+        return PointHistoryPage.of(fetched, limit);
+    }
 
     public UserPoint charge(long id, long amount){
-        if (!UserPointValidator.isValidRequestAmount(amount)){
-            throw new IllegalArgumentException(ExceptionCode.INVALID_AMOUNT.message());
+        long startNanos = System.nanoTime();
+        try {
+            UserPoint userPoint = chargePoint(id, amount);
+            pointMetrics.recordSuccess(Operation.CHARGE, startNanos);
+            return userPoint;
+        } catch (RuntimeException e) {
+            pointMetrics.recordFailure(Operation.CHARGE, e, startNanos);
+            throw e;
         }
+    }
 
-        UserPoint beforeUserPoint = userPointRepository.selectById(id);
+    public UserPoint use(long id, long amount){
+        long startNanos = System.nanoTime();
+        try {
+            UserPoint userPoint = usePoint(id, amount);
+            pointMetrics.recordSuccess(Operation.USE, startNanos);
+            return userPoint;
+        } catch (RuntimeException e) {
+            pointMetrics.recordFailure(Operation.USE, e, startNanos);
+            throw e;
+        }
+    }
 
-        if (!UserPointValidator.canAdd(beforeUserPoint.point(), amount)){
-            throw new IllegalArgumentException(ExceptionCode.EXCEED_MAX_BALANCE.message());
+    public PointTransferResult transfer(long fromUserId, long toUserId, long amount){
+        long startNanos = System.nanoTime();
+        try {
+            PointTransferResult result = transferPoint(fromUserId, toUserId, amount);
+            pointMetrics.recordSuccess(Operation.TRANSFER, startNanos);
+            return result;
+        } catch (RuntimeException e) {
+            pointMetrics.recordFailure(Operation.TRANSFER, e, startNanos);
+            throw e;
         }
+    }
 
-        long requestAmount = beforeUserPoint.point() + amount;
-        UserPoint updatedUserPoint = userPointRepository.insertOrUpdate(id, requestAmount);
-        pointHistoryRepository.insert(updatedUserPoint.id(), amount, TransactionType.CHARGE, System.currentTimeMillis());
+    private UserPoint chargePoint(long id, long amount){
+        if (!UserPointValidator.isValidRequestAmount(amount)){
+            throw new PointException(ExceptionCode.INVALID_AMOUNT);
+        }
 
-        return updatedUserPoint;
+        return balanceUpdater.update(id, beforeUserPoint -> {
+            if (!UserPointValidator.canAdd(beforeUserPoint.point(), amount)){
+                throw new PointException(ExceptionCode.EXCEED_MAX_BALANCE);
+            }
+            return beforeUserPoint.point() + amount;
+        }, updatedUserPoint -> {
+            long updateMillis = System.currentTimeMillis();
+            pointHistoryRepository.insert(updatedUserPoint.id(), amount, TransactionType.CHARGE, updateMillis);
+            pointSummaryAggregator.record(id, TransactionType.CHARGE, amount, updateMillis);
+        });
     }
 
-    public UserPoint use(long id, long amount){
+    private UserPoint usePoint(long id, long amount){
         if (!UserPointValidator.canUse(amount)){
-            throw new IllegalArgumentException(ExceptionCode.INVALID_AMOUNT.message());
+            throw new PointException(ExceptionCode.INVALID_AMOUNT);
         }
 
-        UserPoint beforeUserPoint = userPointRepository.selectById(id);
+        return balanceUpdater.update(id, beforeUserPoint -> {
+            if (beforeUserPoint.point() < amount){
+                throw new PointException(ExceptionCode.INSUFFICIENT_BALANCE);
+            }
+            return beforeUserPoint.point() - amount;
+        }, updatedUserPoint -> {
+            long updateMillis = System.currentTimeMillis();
+            pointHistoryRepository.insert(updatedUserPoint.id(), amount, TransactionType.USE, updateMillis);
+            pointSummaryAggregator.record(id, TransactionType.USE, amount, updateMillis);
+        });
+    }
 
-        if (beforeUserPoint.point() < amount){
-            throw new IllegalArgumentException(ExceptionCode.INSUFFICIENT_BALANCE.message());
+    /**
+     * 보내는 유저는 사용, 받는 유저는 충전 규칙으로 검증하고 두 잔액과 두 내역을 함께 반영한다.
+     * - 받는 유저의 내역을 남기지 못하면 보내는 유저에게 되돌려준 충전 내역을 남기고 실패한다. 두 잔액은 BalanceUpdater 가 되돌린다.
+     *   (내역으로 다시 계산한 잔액이 저장된 잔액과 어긋나지 않음)
+     */
+    private PointTransferResult transferPoint(long fromUserId, long toUserId, long amount){
+        if (!UserPointValidator.isValidRequestAmount(amount)){
+            throw new PointException(ExceptionCode.INVALID_AMOUNT);
+        }
+        if (fromUserId == toUserId){
+            throw new PointException(ExceptionCode.SAME_USER_TRANSFER);
         }
 
-        long requestAmount = beforeUserPoint.point() - amount;
-        UserPoint updatedUserPoint = userPointRepository.insertOrUpdate(id, requestAmount);
-        pointHistoryRepository.insert(updatedUserPoint.id(), amount, TransactionType.USE, System.currentTimeMillis());
+        UserPoint[] updated = balanceUpdater.updatePair(fromUserId, toUserId, (beforeFrom, beforeTo) -> {
+            if (beforeFrom.point() < amount){
+                throw new PointException(ExceptionCode.INSUFFICIENT_BALANCE);
+            }
+            if (!UserPointValidator.canAdd(beforeTo.point(), amount)){
+                throw new PointException(ExceptionCode.EXCEED_MAX_BALANCE);
+            }
+            return new long[] {beforeFrom.point() - amount, beforeTo.point() + amount};
+        }, (updatedFrom, updatedTo) -> {
+            long updateMillis = System.currentTimeMillis();
+            pointHistoryRepository.insert(fromUserId, amount, TransactionType.USE, updateMillis);
+            try {
+                pointHistoryRepository.insert(toUserId, amount, TransactionType.CHARGE, updateMillis);
+            } catch (RuntimeException e) {
+                compensateTransfer(fromUserId, amount, updateMillis, e);
+                throw e;
+            }
+            pointSummaryAggregator.record(fromUserId, TransactionType.USE, amount, updateMillis);
+            pointSummaryAggregator.record(toUserId, TransactionType.CHARGE, amount, updateMillis);
+        });
+        return new PointTransferResult(updated[0], updated[1]);
+    }
 
-        return updatedUserPoint;
+    /**
+     * 이미 남긴 보내는 유저의 사용 내역을 같은 금액의 충전 내역으로 상쇄한다. 요약도 내역과 같게 함께 기록한다.
+     */
+    private void compensateTransfer(long fromUserId, long amount, long updateMillis, RuntimeException cause) {
+        try {
+            pointHistoryRepository.insert(fromUserId, amount, TransactionType.CHARGE, updateMillis);
+            pointSummaryAggregator.record(fromUserId, TransactionType.USE, amount, updateMillis);
+            pointSummaryAggregator.record(fromUserId, TransactionType.CHARGE, amount, updateMillis);
+        } catch (RuntimeException e) {
+            cause.addSuppressed(e);
+        }
     }
 
 }
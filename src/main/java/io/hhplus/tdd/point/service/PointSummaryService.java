@@ -0,0 +1,87 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.concurrency.BalanceUpdater;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointSummary;
+import io.hhplus.tdd.point.model.PointSummaryRebuildResult;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.summary.PointSummaryAggregator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class PointSummaryService {
+    private static final int REBUILD_THRESHOLD = 64;
+
+    private final PointSummaryAggregator pointSummaryAggregator;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final BalanceUpdater balanceUpdater;
+
+    public PointSummary summary(long userId) {
+        return pointSummaryAggregator.summary(userId);
+    }
+
+    /**
+     * 내역이 있는 모든 유저의 요약을 내역으로 다시 계산한다.
+     * - 유저 목록을 fork-join 으로 나누어 병렬로 계산하고, 유저마다 잔액 변경을 막은 채({@link BalanceUpdater#executeExclusive}) 내역을 읽고 바꿔 넣는다.
+     */
+    public PointSummaryRebuildResult rebuild() {
+        long start = System.currentTimeMillis();
+        Set<Long> userIdSet = new HashSet<>(pointHistoryRepository.userIds());
+        userIdSet.addAll(pointSummaryAggregator.userIds());
+        long[] userIds = userIdSet.stream().mapToLong(Long::longValue).toArray();
+
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            long historyCount = pool.invoke(new RebuildTask(userIds, 0, userIds.length));
+            return new PointSummaryRebuildResult(userIds.length, historyCount, System.currentTimeMillis() - start);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private long rebuild(long userId) {
+        return balanceUpdater.executeExclusive(userId, () -> {
+            List<PointHistory> histories = pointHistoryRepository.selectAllByUserId(userId);
+            pointSummaryAggregator.replace(userId, histories);
+            return (long) histories.size();
+        });
+    }
+
+    /**
+     * userIds[from, to) 의 유저를 다시 계산하고 읽은 내역 건수를 돌려준다.
+     */
+    private final class RebuildTask extends RecursiveTask<Long> {
+        private final long[] userIds;
+        private final int from;
+        private final int to;
+
+        private RebuildTask(long[] userIds, int from, int to) {
+            this.userIds = userIds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= REBUILD_THRESHOLD) {
+                long historyCount = 0;
+                for (int i = from; i < to; i++) {
+                    historyCount += rebuild(userIds[i]);
+                }
+                return historyCount;
+            }
+            int middle = (from + to) >>> 1;
+            RebuildTask left = new RebuildTask(userIds, from, middle);
+            left.fork();
+            long right = new RebuildTask(userIds, middle, to).compute();
+            return left.join() + right;
+        }
+    }
+}
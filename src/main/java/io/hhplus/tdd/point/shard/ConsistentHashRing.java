@@ -0,0 +1,87 @@
+package io.hhplus.tdd.point.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 유저 id 일관 해시 링 (불변)
+ * - 노드마다 virtualNodes 개의 점을 링에 두고, 유저 id 의 해시에서 시계 방향으로 처음 만나는 점의 노드가 그 유저를 맡는다.
+ * - 노드가 하나 늘면 새 노드가 맡게 되는 유저만 옮겨지고, 나머지 유저의 담당 노드는 바뀌지 않는다.
+ */
+public final class ConsistentHashRing {
+    private final List<ShardNode> nodes;
+    private final int virtualNodes;
+    private final long[] points;
+    private final ShardNode[] owners;
+
+    public ConsistentHashRing(Collection<ShardNode> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("샤드 노드가 하나 이상 있어야 합니다.");
+        }
+        this.nodes = List.copyOf(nodes);
+        this.virtualNodes = virtualNodes;
+
+        List<Object[]> entries = new ArrayList<>(nodes.size() * virtualNodes);
+        for (ShardNode node : nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                entries.add(new Object[] {mix(fnv1a(node.id() + "#" + i)), node});
+            }
+        }
+        entries.sort(Comparator.comparingLong(entry -> (long) entry[0]));
+        this.points = new long[entries.size()];
+        this.owners = new ShardNode[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            points[i] = (long) entries.get(i)[0];
+            owners[i] = (ShardNode) entries.get(i)[1];
+        }
+    }
+
+    public ShardNode owner(long userId) {
+        int index = Arrays.binarySearch(points, mix(userId));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    public ConsistentHashRing with(ShardNode node) {
+        List<ShardNode> next = new ArrayList<>(nodes);
+        next.add(node);
+        return new ConsistentHashRing(next, virtualNodes);
+    }
+
+    public ConsistentHashRing without(String nodeId) {
+        return new ConsistentHashRing(nodes.stream().filter(node -> !node.id().equals(nodeId)).toList(), virtualNodes);
+    }
+
+    public boolean contains(String nodeId) {
+        return nodes.stream().anyMatch(node -> node.id().equals(nodeId));
+    }
+
+    public List<ShardNode> nodes() {
+        return nodes;
+    }
+
+    private static long fnv1a(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,196 @@
+package io.hhplus.tdd.point.shard;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.exception.PointException;
+import io.hhplus.tdd.point.model.PointOperation;
+import io.hhplus.tdd.point.model.PointOperationResult;
+import io.hhplus.tdd.point.model.UserShardState;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 다른 샤드 노드 호출
+ * - 넘기는 요청에는 {@link #FROM_HEADER} 로 보낸 노드 id 를, {@link #SECRET_HEADER} 로 노드끼리 나눠 가진 비밀값(point.shard.secret)을 붙인다.
+ *   받는 쪽은 비밀값이 맞을 때만 노드 id 를 믿는다. 비밀값이 비어 있으면 어떤 노드 호출도 믿지 않는다.
+ * - 요청마다 응답 대기 시간(requestTimeout)을 두고, 넘기면 {@link ExceptionCode#SHARD_TIMEOUT}(504) 로 실패한다.
+ *   합류 요청은 상대 노드가 유저를 모두 넘길 때까지 기다리므로 handoffTimeout 을 따로 둔다.
+ */
+@Component
+public class ShardClient {
+    private static final Logger log = LoggerFactory.getLogger(ShardClient.class);
+    public static final String FROM_HEADER = "X-Point-Shard-From";
+    public static final String SECRET_HEADER = "X-Point-Shard-Secret";
+    private static final List<String> FORWARDED_HEADERS = List.of("Content-Type", "Accept", "Idempotency-Key");
+    private static final TypeReference<List<PointOperationResult>> BATCH_RESULTS = new TypeReference<>() {
+    };
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    private final ObjectMapper objectMapper;
+    private final Duration requestTimeout;
+    private final Duration handoffTimeout;
+    private final String secret;
+
+    public ShardClient(
+            ObjectMapper objectMapper,
+            @Value("${point.shard.secret:}") String secret,
+            @Value("${point.shard.request-timeout-millis:5000}") long requestTimeoutMillis,
+            @Value("${point.shard.handoff-timeout-millis:600000}") long handoffTimeoutMillis
+    ) {
+        this.objectMapper = objectMapper;
+        this.secret = secret;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+        this.handoffTimeout = Duration.ofMillis(handoffTimeoutMillis);
+    }
+
+    /**
+     * 요청을 넘겨준 노드 id. 비밀값이 맞지 않으면 FROM_HEADER 가 있어도 클라이언트가 직접 보낸 요청으로 보고 null 을 돌려준다.
+     */
+    public String authenticatedFrom(HttpServletRequest request) {
+        String fromNodeId = request.getHeader(FROM_HEADER);
+        return fromNodeId != null && isAuthenticated(request) ? fromNodeId : null;
+    }
+
+    /**
+     * 노드끼리만 부르는 요청(/shard/**)이면 보낸 노드 id 를 돌려주고, 인증되지 않았으면 {@link ExceptionCode#SHARD_UNAUTHORIZED}(401) 로 실패한다.
+     */
+    public String requireNode(HttpServletRequest request) {
+        String fromNodeId = authenticatedFrom(request);
+        if (fromNodeId == null) {
+            throw new PointException(ExceptionCode.SHARD_UNAUTHORIZED);
+        }
+        return fromNodeId;
+    }
+
+    /**
+     * 받은 요청을 그대로 target 에 보내고, 응답 상태/Content-Type/본문을 이어서 쓴다. (본문은 받는 대로 흘려보낸다)
+     */
+    public void forward(ShardNode target, String fromNodeId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String query = request.getQueryString();
+        byte[] body = request.getInputStream().readAllBytes();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(target.url() + request.getRequestURI() + (query == null ? "" : "?" + query)))
+            .method(request.getMethod(), body.length == 0 ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body))
+            .header(FROM_HEADER, fromNodeId)
+            .header(SECRET_HEADER, secret)
+            .timeout(requestTimeout);
+        for (String name : FORWARDED_HEADERS) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                builder.header(name, value);
+            }
+        }
+
+        HttpResponse<InputStream> forwarded = send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        response.setStatus(forwarded.statusCode());
+        forwarded.headers().firstValue("Content-Type").ifPresent(response::setContentType);
+        try (InputStream in = forwarded.body(); OutputStream out = response.getOutputStream()) {
+            in.transferTo(out);
+        }
+    }
+
+    public void importState(ShardNode target, String fromNodeId, UserShardState state) {
+        post(target, "/shard/import", fromNodeId, state, requestTimeout);
+    }
+
+    /**
+     * peer 에게 joiner 가 합류했음을 알리고, peer 가 joiner 에게 유저를 모두 넘길 때까지 기다린다. 넘긴 유저 수를 돌려준다.
+     */
+    public int handOff(ShardNode peer, ShardNode joiner) {
+        return Integer.parseInt(post(peer, "/shard/handoff", joiner.id(), joiner, handoffTimeout).trim());
+    }
+
+    public CompletableFuture<List<PointOperationResult>> batch(ShardNode target, String fromNodeId, List<PointOperation> operations) {
+        HttpRequest request = jsonPost(target, "/point/batch", fromNodeId, operations, requestTimeout);
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+            .exceptionally(e -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                throw cause instanceof HttpTimeoutException ? timeout(request, cause) : new CompletionException(cause);
+            })
+            .thenApply(response -> {
+                checkStatus(target, response);
+                try {
+                    return objectMapper.readValue(response.body(), BATCH_RESULTS);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+    }
+
+    private String post(ShardNode target, String path, String fromNodeId, Object body, Duration timeout) {
+        HttpResponse<String> response = send(jsonPost(target, path, fromNodeId, body, timeout), HttpResponse.BodyHandlers.ofString());
+        checkStatus(target, response);
+        return response.body();
+    }
+
+    private HttpRequest jsonPost(ShardNode target, String path, String fromNodeId, Object body, Duration timeout) {
+        try {
+            return HttpRequest.newBuilder(URI.create(target.url() + path))
+                .header("Content-Type", "application/json")
+                .header(FROM_HEADER, fromNodeId)
+                .header(SECRET_HEADER, secret)
+                .timeout(timeout)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) {
+        try {
+            return httpClient.send(request, bodyHandler);
+        } catch (HttpTimeoutException e) {
+            throw timeout(request, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("샤드 노드 호출 중 인터럽트되었습니다: " + request.uri(), e);
+        }
+    }
+
+    /**
+     * 비밀값 비교는 걸린 시간으로 값을 짐작할 수 없게 길이와 상관없이 끝까지 비교한다.
+     */
+    private boolean isAuthenticated(HttpServletRequest request) {
+        String presented = request.getHeader(SECRET_HEADER);
+        if (secret.isEmpty() || presented == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(secret.getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static PointException timeout(HttpRequest request, Throwable cause) {
+        log.warn("샤드 노드 호출 시간 초과: {}", request.uri());
+        return new PointException(ExceptionCode.SHARD_TIMEOUT, cause);
+    }
+
+    private static void checkStatus(ShardNode target, HttpResponse<?> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("샤드 노드 " + target.id() + " 호출 실패: " + response.statusCode() + " " + response.uri());
+        }
+    }
+}
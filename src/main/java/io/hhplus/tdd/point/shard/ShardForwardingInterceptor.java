@@ -0,0 +1,73 @@
+package io.hhplus.tdd.point.shard;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Map;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * 경로에 유저 id({id}) 가 있는 요청을 담당 노드로 넘긴다.
+ * - 이 노드가 맡은 유저면 응답이 끝날 때까지 유저의 stripe 읽기 락을 잡아, 처리 중에 유저가 다른 노드로 옮겨가지 않게 한다.
+ * - 비동기 응답은 ASYNC 디스패치의 afterCompletion 에서 락을 푼다.
+ * - 보낸 노드 id 는 비밀값이 맞을 때만 믿는다. 클라이언트가 노드 id 를 꾸며 보내도 담당 노드로 넘기는 것을 건너뛸 수 없다.
+ */
+public class ShardForwardingInterceptor implements AsyncHandlerInterceptor {
+    private static final String LOCAL_STAMP_ATTRIBUTE = ShardForwardingInterceptor.class.getName() + ".stamp";
+
+    private final ShardRouter shardRouter;
+    private final ShardClient shardClient;
+
+    public ShardForwardingInterceptor(ShardRouter shardRouter, ShardClient shardClient) {
+        this.shardRouter = shardRouter;
+        this.shardClient = shardClient;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String id = variables == null ? null : variables.get("id");
+        if (id == null) {
+            return true;
+        }
+        long userId;
+        try {
+            userId = Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            // 잘못된 id 는 컨트롤러의 바인딩 오류로 응답한다
+            return true;
+        }
+
+        String fromNodeId = shardClient.authenticatedFrom(request);
+        while (true) {
+            ShardNode target = shardRouter.target(userId, fromNodeId);
+            if (target != null) {
+                shardClient.forward(target, shardRouter.self().id(), request, response);
+                return false;
+            }
+            long stamp = shardRouter.lockLocal(userId);
+            if (shardRouter.isLocal(userId, fromNodeId)) {
+                request.setAttribute(LOCAL_STAMP_ATTRIBUTE, new LocalStamp(userId, stamp));
+                return true;
+            }
+            // 락을 잡는 사이 유저를 넘기기 시작했으면 다시 고른다
+            shardRouter.unlockLocal(userId, stamp);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(LOCAL_STAMP_ATTRIBUTE) instanceof LocalStamp localStamp) {
+            request.removeAttribute(LOCAL_STAMP_ATTRIBUTE);
+            shardRouter.unlockLocal(localStamp.userId(), localStamp.stamp());
+        }
+    }
+
+    private record LocalStamp(long userId, long stamp) {
+    }
+}
@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point.shard;
+
+/**
+ * 샤드 노드 (id 와 다른 노드가 요청을 넘길 때 쓰는 기본 URL)
+ */
+public record ShardNode(
+        String id,
+        String url
+) {
+}
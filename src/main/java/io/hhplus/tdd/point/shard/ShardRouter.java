@@ -0,0 +1,456 @@
+package io.hhplus.tdd.point.shard;
+
+import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.exception.PointException;
+import io.hhplus.tdd.point.concurrency.BalanceUpdater;
+import io.hhplus.tdd.point.model.PointOperation;
+import io.hhplus.tdd.point.model.PointOperationResult;
+import io.hhplus.tdd.point.model.ShardStatus;
+import io.hhplus.tdd.point.model.UserShardState;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.service.PointBatchService;
+import io.hhplus.tdd.point.summary.PointSummaryAggregator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 유저 id 샤드 라우터
+ * - 일관 해시 링에서 유저를 맡은 노드가 그 유저의 요청을 모두 처리한다. 다른 노드로 온 요청은 담당 노드로 넘긴다.
+ *   한 유저는 한 노드에서만 처리되므로, 그 노드의 유저 락만으로 클러스터 전체에서 같은 유저의 요청이 직렬화된다. (전역 락 없음)
+ * - 로컬에서 처리하는 요청은 유저 id 로 고른 stripe 의 읽기 락을 잡고 처리한다. 유저를 넘길 때는 stripe 의 쓰기 락을 잡아
+ *   처리 중인 요청이 끝나기를 기다린 뒤 잔액과 내역을 옮긴다.
+ * - 합류(join) : 새 노드가 기존 노드마다 /shard/handoff 를 호출하면, 기존 노드는 새 노드로 옮겨갈 유저를 모두 넘긴 뒤 링을 바꾼다.
+ *   넘기는 도중 들어온 요청은 그 유저를 먼저 넘기고 새 노드로 보낸다. 새 노드는 아직 넘겨받지 못한 유저의 요청을 이전 담당 노드로 보낸다.
+ * - 노드 이탈(leave)은 지원하지 않는다.
+ */
+@Component
+public class ShardRouter {
+    private static final Logger log = LoggerFactory.getLogger(ShardRouter.class);
+    private static final int STRIPES = 1024;
+    private static final int JOIN_MAX_ATTEMPTS = 30;
+    private static final long JOIN_RETRY_MILLIS = 1000L;
+
+    private final boolean enabled;
+    private final ShardNode self;
+    private final boolean join;
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final PointSummaryAggregator pointSummaryAggregator;
+    private final BalanceUpdater balanceUpdater;
+    private final ShardClient shardClient;
+    private final StampedLock[] stripes = new StampedLock[STRIPES];
+    private volatile Membership membership;
+
+    /**
+     * @param nodes "node-1=http://localhost:8081,node-2=http://localhost:8082" 형식의 노드 목록 (이 노드 포함)
+     */
+    public ShardRouter(
+            @Value("${point.shard.enabled:false}") boolean enabled,
+            @Value("${point.shard.node-id:node-1}") String nodeId,
+            @Value("${point.shard.nodes:}") String nodes,
+            @Value("${point.shard.virtual-nodes:128}") int virtualNodes,
+            @Value("${point.shard.join:false}") boolean join,
+            UserPointRepository userPointRepository,
+            PointHistoryRepository pointHistoryRepository,
+            PointSummaryAggregator pointSummaryAggregator,
+            BalanceUpdater balanceUpdater,
+            ShardClient shardClient
+    ) {
+        List<ShardNode> shardNodes = parseNodes(nodes);
+        this.enabled = enabled;
+        this.self = shardNodes.stream().filter(node -> node.id().equals(nodeId)).findFirst()
+            .orElse(new ShardNode(nodeId, ""));
+        this.join = join;
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.pointSummaryAggregator = pointSummaryAggregator;
+        this.balanceUpdater = balanceUpdater;
+        this.shardClient = shardClient;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new StampedLock();
+        }
+
+        if (!enabled) {
+            return;
+        }
+        if (!shardNodes.contains(self)) {
+            throw new IllegalArgumentException("point.shard.nodes 에 이 노드(" + nodeId + ")가 없습니다.");
+        }
+        ConcurrentHashMap<Long, Boolean> imported = new ConcurrentHashMap<>();
+        ConsistentHashRing ring = new ConsistentHashRing(shardNodes, virtualNodes);
+        ConsistentHashRing previous = join && shardNodes.size() > 1 ? ring.without(nodeId) : null;
+        this.membership = new Membership(ring, null, null, previous, imported.keySet(Boolean.TRUE));
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public ShardNode self() {
+        return self;
+    }
+
+    public ShardStatus status() {
+        Membership current = membership;
+        return new ShardStatus(self.id(), current.ring.nodes(), current.previous != null,
+            current.pending == null ? null : pendingJoiner(current).id());
+    }
+
+    /**
+     * 요청을 보낼 노드. 이 노드에서 처리해야 하면 null
+     * - 넘기는 중인 유저라면 여기서 먼저 넘긴다.
+     * @param fromNodeId 요청을 넘겨준 노드 id (직접 받은 요청이면 null)
+     */
+    public ShardNode target(long userId, String fromNodeId) {
+        Membership current = membership;
+        ShardNode owner = current.ring.owner(userId);
+        if (!owner.equals(self)) {
+            return owner;
+        }
+        if (current.pending != null) {
+            ShardNode nextOwner = current.pending.owner(userId);
+            if (!nextOwner.equals(self)) {
+                handOff(userId, nextOwner, current);
+                return nextOwner;
+            }
+        }
+        return previousOwner(current, userId, fromNodeId);
+    }
+
+    /**
+     * 지금 이 노드에서 처리해도 되는지. (stripe 락을 잡은 뒤 다시 확인할 때 쓴다)
+     */
+    public boolean isLocal(long userId, String fromNodeId) {
+        Membership current = membership;
+        if (!current.ring.owner(userId).equals(self)) {
+            return false;
+        }
+        if (current.pending != null && !current.pending.owner(userId).equals(self)) {
+            return false;
+        }
+        return previousOwner(current, userId, fromNodeId) == null;
+    }
+
+    public long lockLocal(long userId) {
+        return stripe(userId).readLock();
+    }
+
+    public void unlockLocal(long userId, long stamp) {
+        stripe(userId).unlockRead(stamp);
+    }
+
+    /**
+     * 두 유저를 모두 이 노드가 맡고 있을 때 두 유저의 stripe 읽기 락을 잡고 task 를 실행한다. (이체)
+     * - 한 유저라도 다른 노드 몫이거나 넘기는 중이면 {@link ExceptionCode#TRANSFER_NOT_LOCAL} 로 실패한다.
+     */
+    public <T> T executeLocal(long firstUserId, long secondUserId, String fromNodeId, Supplier<T> task) {
+        int firstStripe = stripeIndex(firstUserId);
+        int secondStripe = stripeIndex(secondUserId);
+        int lowerStripe = Math.min(firstStripe, secondStripe);
+        int higherStripe = Math.max(firstStripe, secondStripe);
+        long lowerStamp = stripes[lowerStripe].readLock();
+        long higherStamp = lowerStripe == higherStripe ? 0L : stripes[higherStripe].readLock();
+        try {
+            if (!isLocal(firstUserId, fromNodeId) || !isLocal(secondUserId, fromNodeId)) {
+                throw new PointException(ExceptionCode.TRANSFER_NOT_LOCAL);
+            }
+            return task.get();
+        } finally {
+            if (lowerStripe != higherStripe) {
+                stripes[higherStripe].unlockRead(higherStamp);
+            }
+            stripes[lowerStripe].unlockRead(lowerStamp);
+        }
+    }
+
+    /**
+     * 일괄 요청을 담당 노드별로 나눠 처리하고, 요청 순서대로 결과를 합친다.
+     * - 다른 노드 몫은 /point/batch 로 동시에 보내고, 이 노드 몫은 해당 stripe 들의 읽기 락을 잡고 localExecutor 로 처리한다.
+     */
+    public List<PointOperationResult> executeBatch(List<PointOperation> operations, String fromNodeId,
+                                                   Function<List<PointOperation>, List<PointOperationResult>> localExecutor) {
+        if (operations.isEmpty() || operations.size() > PointBatchService.MAX_BATCH_SIZE) {
+            throw new PointException(ExceptionCode.INVALID_BATCH_SIZE);
+        }
+        PointOperationResult[] results = new PointOperationResult[operations.size()];
+        List<Integer> pending = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            pending.add(i);
+        }
+
+        List<CompletableFuture<Void>> remoteFutures = new ArrayList<>();
+        while (!pending.isEmpty()) {
+            Map<ShardNode, List<Integer>> remoteIndexes = new LinkedHashMap<>();
+            List<Integer> localIndexes = new ArrayList<>();
+            for (int i : pending) {
+                ShardNode target = target(operations.get(i).userId(), fromNodeId);
+                if (target == null) {
+                    localIndexes.add(i);
+                } else {
+                    remoteIndexes.computeIfAbsent(target, node -> new ArrayList<>()).add(i);
+                }
+            }
+            remoteIndexes.forEach((target, indexes) -> remoteFutures.add(
+                shardClient.batch(target, self.id(), indexes.stream().map(operations::get).toList())
+                    .thenAccept(remoteResults -> merge(results, indexes, remoteResults))));
+            pending = executeLocal(operations, localIndexes, fromNodeId, localExecutor, results);
+        }
+        try {
+            CompletableFuture.allOf(remoteFutures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            // 다른 노드 호출 시간 초과(504) 등은 감싼 예외 그대로 응답한다
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * joiner 가 합류하므로 joiner 로 옮겨갈 유저를 모두 넘기고 링에 joiner 를 더한다. 넘긴 유저 수를 돌려준다.
+     * - 이미 링에 있는 노드면 아무것도 하지 않고, 넘기다 실패했던 노드가 다시 요청하면 이어서 넘긴다. (합류 재시도)
+     * - 한 번에 한 노드만 합류할 수 있다.
+     */
+    public synchronized int handOffTo(ShardNode joiner) {
+        Membership current = membership;
+        if (current.ring.contains(joiner.id())) {
+            return 0;
+        }
+        if (current.pending == null) {
+            ConcurrentHashMap<Long, Boolean> handedOff = new ConcurrentHashMap<>();
+            current = new Membership(current.ring, current.ring.with(joiner), handedOff.keySet(Boolean.TRUE),
+                current.previous, current.imported);
+            membership = current;
+        } else if (!pendingJoiner(current).equals(joiner)) {
+            throw new IllegalStateException("샤드 노드 " + pendingJoiner(current).id() + " 가 합류 중입니다.");
+        }
+        // 바뀐 링을 보기 전에 로컬에서 처리하기 시작한 요청이 끝나기를 기다린다
+        for (StampedLock stripe : stripes) {
+            stripe.unlockWrite(stripe.writeLock());
+        }
+
+        Set<Long> userIds = new HashSet<>(pointHistoryRepository.userIds());
+        userIds.addAll(pointSummaryAggregator.userIds());
+        int moved = 0;
+        for (long userId : userIds) {
+            if (current.pending.owner(userId).equals(joiner) && handOff(userId, joiner, current)) {
+                moved++;
+            }
+        }
+
+        long[] stamps = new long[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stamps[i] = stripes[i].writeLock();
+        }
+        try {
+            membership = new Membership(current.pending, null, null, current.previous, current.imported);
+        } finally {
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i].unlockWrite(stamps[i]);
+            }
+        }
+        log.info("샤드 노드 {} 합류 : 유저 {} 명을 넘겼습니다.", joiner.id(), moved);
+        return moved;
+    }
+
+    /**
+     * 이전 담당 노드가 넘긴 유저의 잔액과 내역을 받는다. (비어 있는 상태는 넘겨받았다는 표시만 남긴다)
+     * - 이 노드가 합류 중이고, 보낸 노드가 합류 전 링에서 그 유저를 맡던 노드일 때만 받는다.
+     *   아니면 {@link ExceptionCode#SHARD_IMPORT_REJECTED}(403) 로 실패한다. (다른 노드가 남의 유저 상태를 덮어쓸 수 없음)
+     * - 내역은 이전 노드의 id 그대로 넣어, 넘기기 전에 받은 커서로 이어서 조회할 수 있다. 요약은 넘겨받은 내역으로 다시 계산한다.
+     * - 저널을 켰으면 내역 저장소가 넘겨받은 잔액과 내역을 저널에 남긴 뒤 반영하므로, 재시작해도 넘겨받은 상태가 복구된다.
+     */
+    public void importState(String fromNodeId, UserShardState state) {
+        Membership current = membership;
+        if (current.previous == null || !current.previous.owner(state.userId()).id().equals(fromNodeId)) {
+            throw new PointException(ExceptionCode.SHARD_IMPORT_REJECTED);
+        }
+        if (!state.isEmpty()) {
+            balanceUpdater.executeExclusive(state.userId(), () -> {
+                pointHistoryRepository.importUser(state);
+                userPointRepository.insertOrUpdate(state.userId(), state.userPoint().point());
+                pointSummaryAggregator.replace(state.userId(), state.histories());
+                return null;
+            });
+        }
+        current.imported.add(state.userId());
+    }
+
+    /**
+     * 합류 노드로 기동했다면 링의 기존 노드마다 유저를 넘겨받는다. (기존 노드가 아직 떠 있지 않으면 다시 시도)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void joinOnReady() {
+        Membership current = membership;
+        if (!enabled || current.previous == null) {
+            return;
+        }
+        Thread joiner = new Thread(() -> {
+            for (ShardNode peer : current.previous.nodes()) {
+                int moved = handOffWithRetry(peer);
+                log.info("샤드 노드 {} 에서 유저 {} 명을 넘겨받았습니다.", peer.id(), moved);
+            }
+            synchronized (this) {
+                Membership joined = membership;
+                membership = new Membership(joined.ring, joined.pending, joined.handedOff, null, joined.imported);
+            }
+        }, "point-shard-join");
+        joiner.setDaemon(true);
+        joiner.start();
+    }
+
+    private int handOffWithRetry(ShardNode peer) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return shardClient.handOff(peer, self);
+            } catch (RuntimeException e) {
+                if (attempt >= JOIN_MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("샤드 노드 {} 합류 요청 실패, 다시 시도합니다. ({}/{})", peer.id(), attempt, JOIN_MAX_ATTEMPTS, e);
+                try {
+                    Thread.sleep(JOIN_RETRY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * stripe 쓰기 락 안에서 유저의 잔액과 내역을 joiner 로 넘긴다. 이미 넘겼거나 합류가 끝났으면 false
+     * - joiner 가 받았다고 응답하면 이 노드의 잔액/내역/요약을 지운다. (잔액은 Table 에서 지울 수 없으므로 0 으로 둔다)
+     *   저널을 켰으면 내역 저장소가 지웠다는 레코드를 저널에 남기므로, 재시작해도 넘긴 유저가 되살아나지 않는다.
+     * - 넘기기 실패하면 이 노드의 상태를 그대로 두고 예외를 던진다. (합류 재시도 때 다시 넘긴다)
+     */
+    private boolean handOff(long userId, ShardNode joiner, Membership current) {
+        StampedLock stripe = stripe(userId);
+        long stamp = stripe.writeLock();
+        try {
+            if (membership.handedOff != current.handedOff || current.handedOff.contains(userId)) {
+                return false;
+            }
+            balanceUpdater.executeExclusive(userId, () -> {
+                UserShardState state = new UserShardState(
+                    userId, userPointRepository.selectById(userId), pointHistoryRepository.selectAllByUserId(userId));
+                shardClient.importState(joiner, self.id(), state);
+                if (state.userPoint().point() != 0) {
+                    userPointRepository.insertOrUpdate(userId, 0L);
+                }
+                pointHistoryRepository.handOff(userId);
+                pointSummaryAggregator.remove(userId);
+                return null;
+            });
+            current.handedOff.add(userId);
+            return true;
+        } finally {
+            stripe.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 로컬 몫을 처리한다. stripe 락을 잡은 뒤 다시 확인해 담당이 바뀐 요청은 돌려준다.
+     */
+    private List<Integer> executeLocal(List<PointOperation> operations, List<Integer> localIndexes, String fromNodeId,
+                                       Function<List<PointOperation>, List<PointOperationResult>> localExecutor,
+                                       PointOperationResult[] results) {
+        if (localIndexes.isEmpty()) {
+            return List.of();
+        }
+        TreeSet<Integer> stripeIndexes = new TreeSet<>();
+        localIndexes.forEach(i -> stripeIndexes.add(stripeIndex(operations.get(i).userId())));
+        Map<Integer, Long> stamps = new LinkedHashMap<>();
+        try {
+            for (int stripeIndex : stripeIndexes) {
+                stamps.put(stripeIndex, stripes[stripeIndex].readLock());
+            }
+            List<Integer> movedIndexes = new ArrayList<>();
+            List<Integer> stillLocal = new ArrayList<>(localIndexes.size());
+            for (int i : localIndexes) {
+                (isLocal(operations.get(i).userId(), fromNodeId) ? stillLocal : movedIndexes).add(i);
+            }
+            if (!stillLocal.isEmpty()) {
+                merge(results, stillLocal, localExecutor.apply(stillLocal.stream().map(operations::get).toList()));
+            }
+            return movedIndexes;
+        } finally {
+            stamps.forEach((stripeIndex, stamp) -> stripes[stripeIndex].unlockRead(stamp));
+        }
+    }
+
+    private static void merge(PointOperationResult[] results, List<Integer> indexes, List<PointOperationResult> partial) {
+        for (int i = 0; i < indexes.size(); i++) {
+            results[indexes.get(i)] = partial.get(i);
+        }
+    }
+
+    /**
+     * 합류 중인 이 노드가 아직 넘겨받지 못한 유저라면 이전 담당 노드. 이전 담당 노드가 넘겨준 요청은 여기서 처리한다.
+     */
+    private ShardNode previousOwner(Membership current, long userId, String fromNodeId) {
+        if (current.previous == null || current.imported.contains(userId)) {
+            return null;
+        }
+        ShardNode previousOwner = current.previous.owner(userId);
+        return previousOwner.id().equals(fromNodeId) ? null : previousOwner;
+    }
+
+    private ShardNode pendingJoiner(Membership current) {
+        return current.pending.nodes().stream().filter(node -> !current.ring.contains(node.id())).findFirst().orElseThrow();
+    }
+
+    private StampedLock stripe(long userId) {
+        return stripes[stripeIndex(userId)];
+    }
+
+    private static int stripeIndex(long userId) {
+        return (int) ((userId ^ (userId >>> 32)) & (STRIPES - 1));
+    }
+
+    private static List<ShardNode> parseNodes(String nodes) {
+        List<ShardNode> shardNodes = new ArrayList<>();
+        for (String entry : nodes.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] idAndUrl = entry.trim().split("=", 2);
+            if (idAndUrl.length != 2) {
+                throw new IllegalArgumentException("point.shard.nodes 형식이 잘못되었습니다: " + entry);
+            }
+            shardNodes.add(new ShardNode(idAndUrl[0].trim(), idAndUrl[1].trim()));
+        }
+        return shardNodes;
+    }
+
+    /**
+     * 링 상태 (불변, 통째로 바꾼다)
+     * - pending : 합류 중인 노드를 더한 링, handedOff : 그 노드로 이미 넘긴 유저
+     * - previous : 이 노드가 합류 중일 때 합류 전 링, imported : 이전 담당 노드에서 넘겨받은 유저
+     */
+    private record Membership(
+            ConsistentHashRing ring,
+            ConsistentHashRing pending,
+            Set<Long> handedOff,
+            ConsistentHashRing previous,
+            Set<Long> imported
+    ) {
+    }
+}
@@ -0,0 +1,85 @@
+package io.hhplus.tdd.point.summary;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointSummary;
+import io.hhplus.tdd.point.model.TransactionType;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * 유저별 거래 요약 집계
+ * - 충전/사용이 반영될 때마다 유저별 누계에 O(1) 로 더한다. (내역을 다시 읽지 않음)
+ * - 같은 유저의 기록은 유저 락 안에서 일어나므로 누계 객체의 락은 거의 경합하지 않는다.
+ * - 만료(EXPIRE)는 유저가 쓴 포인트가 아니므로 사용 누계와 따로 만료 누계와 건수에 더한다.
+ * - 재시작하면 비어 있으므로 {@link io.hhplus.tdd.point.service.PointSummaryService#rebuild()} 로 다시 계산한다.
+ */
+@Component
+public class PointSummaryAggregator {
+    private final ConcurrentHashMap<Long, Totals> totals = new ConcurrentHashMap<>();
+
+    public void record(long userId, TransactionType type, long amount, long updateMillis) {
+        totals.computeIfAbsent(userId, id -> new Totals()).add(type, amount, updateMillis);
+    }
+
+    public PointSummary summary(long userId) {
+        Totals userTotals = totals.get(userId);
+        return userTotals == null ? PointSummary.empty(userId) : userTotals.snapshot(userId);
+    }
+
+    /**
+     * 내역으로 누계를 새로 계산해 바꿔 넣는다. 유저 락 안에서 호출해야 그 사이의 기록이 빠지지 않는다.
+     */
+    public void replace(long userId, List<PointHistory> histories) {
+        Totals rebuilt = new Totals();
+        for (PointHistory pointHistory : histories) {
+            rebuilt.add(pointHistory.type(), pointHistory.amount(), pointHistory.updateMillis());
+        }
+        totals.put(userId, rebuilt);
+    }
+
+    /**
+     * 유저의 누계를 지운다. (다른 샤드 노드로 넘긴 뒤)
+     */
+    public void remove(long userId) {
+        totals.remove(userId);
+    }
+
+    public Set<Long> userIds() {
+        return Set.copyOf(totals.keySet());
+    }
+
+    private static final class Totals {
+        private long totalCharged;
+        private long totalUsed;
+        private long chargeCount;
+        private long useCount;
+        private long totalExpired;
+        private long expireCount;
+        private long lastActivityMillis;
+
+        synchronized void add(TransactionType type, long amount, long updateMillis) {
+            switch (type) {
+                case CHARGE -> {
+                    totalCharged += amount;
+                    chargeCount++;
+                }
+                case USE -> {
+                    totalUsed += amount;
+                    useCount++;
+                }
+                case EXPIRE -> {
+                    totalExpired += amount;
+                    expireCount++;
+                }
+            }
+            lastActivityMillis = Math.max(lastActivityMillis, updateMillis);
+        }
+
+        synchronized PointSummary snapshot(long userId) {
+            return new PointSummary(userId, totalCharged, totalUsed, chargeCount, useCount, totalExpired, expireCount,
+                lastActivityMillis);
+        }
+    }
+}
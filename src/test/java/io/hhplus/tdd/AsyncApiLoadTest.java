@@ -0,0 +1,83 @@
+package io.hhplus.tdd;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 서블릿(동기) API 와 비동기 API 부하 비교 (./gradlew benchmarkTest 로 실행)
+ * - 캐시를 끈 GET /point/{id} 와 GET /async/point/{id} 에 유저를 달리해 동시 요청 5,000건씩 보낸다.
+ * - 동기 API 는 Tomcat 스레드(기본 200) 수만큼, 비동기 API 는 point.async.max-threads(512) 만큼 Table 호출을 동시에 기다린다.
+ * - Table 호출 지연은 같으므로 동시에 기다리는 수에 비례해 끝나는 시간이 줄어야 한다. 여유를 두고 1.5배 이상 빠른지 확인한다.
+ *   (클라이언트에서 잰 평균 in-flight 는 5,000건을 한 번에 보내므로 두 API 모두 비슷해 출력만 한다)
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {"point.balance.cache.enabled=false", "server.tomcat.accept-count=5000"})
+public class AsyncApiLoadTest {
+    private static final int CONCURRENT_REQUESTS = 5_000;
+    private static final double MIN_SPEEDUP = 1.5;
+
+    @LocalServerPort
+    int port;
+
+    @Test
+    @DisplayName("비동기 API 는 Tomcat 스레드 수를 넘어 Table 호출을 동시에 기다린다")
+    void servlet_vs_async() throws Exception {
+        // given, when
+        long servletNanos = runLoad("servlet", "/point/", 0);
+        long asyncNanos = runLoad("async", "/async/point/", CONCURRENT_REQUESTS);
+
+        // then
+        double speedup = (double) servletNanos / asyncNanos;
+        assertTrue(speedup >= MIN_SPEEDUP,
+            String.format("비동기 API 가 %.1f배 빨라야 하지만 %.2f배였다", MIN_SPEEDUP, speedup));
+    }
+
+    /**
+     * @return 모든 응답을 받기까지 걸린 시간(ns)
+     */
+    private long runLoad(String api, String path, long firstUserId) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(60))
+            .build();
+        AtomicLong latencySumNanos = new AtomicLong();
+        List<CompletableFuture<Integer>> responses = new ArrayList<>(CONCURRENT_REQUESTS);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + path + (firstUserId + i))).build();
+            long sentAt = System.nanoTime();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> {
+                    latencySumNanos.addAndGet(System.nanoTime() - sentAt);
+                    return response.statusCode();
+                }));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+        long elapsedNanos = System.nanoTime() - start;
+
+        for (CompletableFuture<Integer> response : responses) {
+            assertEquals(200, response.join());
+        }
+        System.out.printf("api=%s connections=%,d elapsed=%d ms avg in-flight=%.0f%n",
+            api, CONCURRENT_REQUESTS, elapsedNanos / 1_000_000, (double) latencySumNanos.get() / elapsedNanos);
+        return elapsedNanos;
+    }
+}
@@ -0,0 +1,85 @@
+package io.hhplus.tdd;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 실행 모드별 부하 테스트 (./gradlew benchmarkTest 로 실행)
+ * - 캐시를 끈 GET /point/{id} 는 UserPointTable 스로틀(최대 200ms)에서 대부분의 시간을 보낸다.
+ * - 동시 요청 2,000건을 보내고, 총 소요 시간과 평균 동시 처리 수(응답 시간 합 / 총 소요 시간)를 출력한다.
+ */
+@Tag("benchmark")
+public class ExecutionModeLoadTest {
+    private static final int CONCURRENT_REQUESTS = 2_000;
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"point.execution.mode=platform", "point.balance.cache.enabled=false"})
+    class PlatformThreads {
+        @LocalServerPort
+        int port;
+
+        @Test
+        @DisplayName("플랫폼 스레드 모드는 Tomcat 스레드 수만큼만 동시에 처리한다")
+        void load() throws Exception {
+            runLoad("platform", port);
+        }
+    }
+
+    @Nested
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"point.execution.mode=virtual", "point.balance.cache.enabled=false"})
+    class VirtualThreads {
+        @LocalServerPort
+        int port;
+
+        @Test
+        @DisplayName("가상 스레드 모드는 Tomcat 스레드 수를 넘어 동시에 처리한다")
+        void load() throws Exception {
+            runLoad("virtual", port);
+        }
+    }
+
+    private static void runLoad(String mode, int port) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+        AtomicLong latencySumNanos = new AtomicLong();
+        List<CompletableFuture<Integer>> responses = new ArrayList<>(CONCURRENT_REQUESTS);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/" + i)).build();
+            long sentAt = System.nanoTime();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> {
+                    latencySumNanos.addAndGet(System.nanoTime() - sentAt);
+                    return response.statusCode();
+                }));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+        long elapsedNanos = System.nanoTime() - start;
+
+        for (CompletableFuture<Integer> response : responses) {
+            assertEquals(200, response.join());
+        }
+        System.out.printf("mode=%s requests=%,d elapsed=%d ms avg in-flight=%.0f%n",
+            mode, CONCURRENT_REQUESTS, elapsedNanos / 1_000_000, (double) latencySumNanos.get() / elapsedNanos);
+    }
+}
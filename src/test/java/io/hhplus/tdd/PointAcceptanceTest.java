@@ -1,12 +1,19 @@
 package io.hhplus.tdd;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.point.codec.PointBinaryCodec;
 import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryPage;
 import io.hhplus.tdd.point.model.UserPoint;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import org.assertj.core.util.Arrays;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -73,6 +80,78 @@ public class PointAcceptanceTest {
         assertEquals(2, historyList.size());
     }
 
+    @Test
+    @DisplayName("포인트 내역을 커서로 나누어 조회하면 마지막 페이지의 커서는 비어있다")
+    void get_pointHistoryPage_pass(){
+        // given
+        long userId = 8L;
+        long requestAmount = 1000L;
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        HttpEntity<Long> chargeRequest = new HttpEntity<>(requestAmount, headers);
+        for (int i = 0; i < 3; i++) {
+            restTemplate.exchange("/point/" + userId + "/charge", HttpMethod.PATCH, chargeRequest, UserPoint.class);
+        }
+
+        // when - 2건씩 조회
+        PointHistoryPage firstPage = restTemplate
+            .getForEntity("/point/" + userId + "/histories?limit=2", PointHistoryPage.class).getBody();
+        PointHistoryPage lastPage = restTemplate
+            .getForEntity("/point/" + userId + "/histories?limit=2&after=" + firstPage.nextCursor(), PointHistoryPage.class).getBody();
+
+        // then
+        assertEquals(2, firstPage.histories().size());
+        assertEquals(1, lastPage.histories().size());
+        assertNull(lastPage.nextCursor());
+    }
+
+    @Test
+    @DisplayName("포인트 내역을 스트리밍으로 받으면 한 줄에 한 건씩 내역을 받는다")
+    void stream_pointHistory_pass(){
+        // given
+        long userId = 9L;
+        long requestAmount = 1000L;
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        HttpEntity<Long> chargeRequest = new HttpEntity<>(requestAmount, headers);
+        restTemplate.exchange("/point/" + userId + "/charge", HttpMethod.PATCH, chargeRequest, UserPoint.class);
+        restTemplate.exchange("/point/" + userId + "/charge", HttpMethod.PATCH, chargeRequest, UserPoint.class);
+
+        // when
+        ResponseEntity<String> singleResponse = restTemplate
+            .getForEntity("/point/" + userId + "/histories/stream", String.class);
+        ResponseEntity<String> bulkResponse = restTemplate
+            .getForEntity("/point/histories/stream?userIds=" + userId + "," + userId, String.class);
+
+        // then
+        assertEquals(HttpStatus.OK, singleResponse.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, singleResponse.getHeaders().getContentType());
+        assertEquals(2, singleResponse.getBody().lines().count());
+        assertTrue(singleResponse.getBody().lines().allMatch(line -> line.contains("\"userId\":" + userId)));
+        assertEquals(4, bulkResponse.getBody().lines().count());
+    }
+
+    @Test
+    @DisplayName("여러 유저 내역 스트림에 유저를 100명 넘게 요청하면 에러 코드를 받는다")
+    void stream_pointHistories_fail_too_many_users(){
+        // given
+        String userIds = LongStream.rangeClosed(1, 101)
+            .mapToObj(String::valueOf)
+            .collect(Collectors.joining(","));
+
+        // when
+        ResponseEntity<String> response = restTemplate
+            .getForEntity("/point/histories/stream?userIds=" + userIds, String.class);
+
+        // then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(response.getBody().contains(ExceptionCode.INVALID_STREAM_USER_COUNT.message()));
+    }
+
     @Test
     @DisplayName("포인트 충전 후 조회하면 금액이 증가된다")
     void charge_point_pass(){
@@ -211,4 +290,81 @@ public class PointAcceptanceTest {
 
         assertEquals(initialAmount, getResponse.getBody().point());
     }
+
+    @Test
+    @DisplayName("비동기 API 로 충전 후 조회하면 금액이 증가된다")
+    void async_charge_point_pass(){
+        // given
+        long userId = 10L;
+        long requestAmount = 1000L;
+
+        // when - 비동기 포인트 충전 api 호출
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        HttpEntity<Long> request = new HttpEntity<>(requestAmount, headers);
+        ResponseEntity<UserPoint> chargeResponse = restTemplate
+            .exchange("/async/point/" + userId + "/charge", HttpMethod.PATCH, request, UserPoint.class);
+
+        // then
+        assertEquals(HttpStatus.OK, chargeResponse.getStatusCode());
+        assertEquals(requestAmount, chargeResponse.getBody().point());
+        ResponseEntity<UserPoint> getResponse = restTemplate
+            .getForEntity("/async/point/" + userId, UserPoint.class);
+        ResponseEntity<PointHistory[]> historyResponse = restTemplate
+            .getForEntity("/async/point/" + userId + "/histories", PointHistory[].class);
+
+        assertEquals(requestAmount, getResponse.getBody().point());
+        assertEquals(1, historyResponse.getBody().length);
+    }
+
+    @Test
+    @DisplayName("비동기 API 로 잔고보다 많이 사용하면 동기 API 와 같은 에러 코드를 받는다")
+    void async_use_point_fail_insufficient_balance(){
+        // given
+        long userId = 11L;
+        long useAmount = 1000L;
+
+        // when - 비동기 포인트 사용 api 호출
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        HttpEntity<Long> useRequest = new HttpEntity<>(useAmount, headers);
+        ResponseEntity<String> useResponse = restTemplate
+            .exchange("/async/point/" + userId + "/use", HttpMethod.PATCH, useRequest, String.class);
+
+        // then
+        assertEquals(HttpStatus.BAD_REQUEST, useResponse.getStatusCode());
+        assertTrue(useResponse.getBody().contains(ExceptionCode.INSUFFICIENT_BALANCE.message()));
+    }
+
+    @Test
+    @DisplayName("바이너리 형식으로 충전하고 내역을 받을 수 있으며, Accept 가 없으면 JSON 으로 응답한다")
+    void binary_wire_format_pass(){
+        // given
+        long userId = 12L;
+        MediaType binary = MediaType.parseMediaType(PointBinaryCodec.MEDIA_TYPE_VALUE);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(binary);
+        headers.setAccept(List.of(binary));
+        byte[] amount = ByteBuffer.allocate(PointBinaryCodec.AMOUNT_SIZE).order(ByteOrder.LITTLE_ENDIAN).putLong(1000L).array();
+
+        // when
+        ResponseEntity<byte[]> chargeResponse = restTemplate
+            .exchange("/point/" + userId + "/charge", HttpMethod.PATCH, new HttpEntity<>(amount, headers), byte[].class);
+        ResponseEntity<byte[]> historyResponse = restTemplate
+            .exchange("/point/" + userId + "/histories", HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        ResponseEntity<UserPoint> jsonResponse = restTemplate
+            .getForEntity("/point/" + userId, UserPoint.class);
+
+        // then
+        assertEquals(binary, chargeResponse.getHeaders().getContentType());
+        UserPoint charged = PointBinaryCodec.readUserPoint(PointBinaryCodec.wrap(chargeResponse.getBody()));
+        assertEquals(1000L, charged.point());
+        List<PointHistory> histories = PointBinaryCodec.readHistories(PointBinaryCodec.wrap(historyResponse.getBody()));
+        assertEquals(1, histories.size());
+        assertEquals(1000L, histories.get(0).amount());
+        assertEquals(MediaType.APPLICATION_JSON, jsonResponse.getHeaders().getContentType());
+        assertEquals(1000L, jsonResponse.getBody().point());
+    }
 }
@@ -0,0 +1,79 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.exception.PointException;
+import io.hhplus.tdd.point.executor.BoundedElasticExecutor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 비동기 API 실행기 테스트
+ */
+public class PointAsyncExecutorTest {
+    private BoundedElasticExecutor boundedElasticExecutor;
+
+    @BeforeEach
+    void setUp(){
+        boundedElasticExecutor = new BoundedElasticExecutor(2, 2, 60_000L);
+    }
+
+    @AfterEach
+    void tearDown(){
+        boundedElasticExecutor.close();
+    }
+
+    @Test
+    @DisplayName("작업 결과를 CompletableFuture 로 돌려준다")
+    void supply_pass(){
+        // when
+        CompletableFuture<Long> future = boundedElasticExecutor.supply(() -> 1000L);
+
+        // then
+        assertEquals(1000L, future.join());
+    }
+
+    @Test
+    @DisplayName("스레드와 대기열이 모두 차면 더 늘리지 않고 E009 로 실패한다")
+    void saturated_fail() throws Exception {
+        // given - 스레드 2개가 붙잡혀 있고 대기열 2칸도 찼다
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(boundedElasticExecutor.supply(() -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return 1000L;
+            }));
+        }
+
+        // when
+        CompletableFuture<Long> rejected = boundedElasticExecutor.supply(() -> 1000L);
+
+        // then
+        CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+        assertTrue(exception.getCause() instanceof PointException);
+        assertEquals(ExceptionCode.ASYNC_EXECUTOR_SATURATED, ((PointException) exception.getCause()).exceptionCode());
+        assertEquals(2, boundedElasticExecutor.poolSize());
+        assertEquals(2, boundedElasticExecutor.queuedCount());
+
+        release.countDown();
+        for (CompletableFuture<Long> future : futures) {
+            assertEquals(1000L, future.get(5, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.repository.AsyncPointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.SequencePointHistoryRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 비동기 내역 저장소 테스트
+ */
+public class PointAsyncHistoryTest {
+
+    @Test
+    @DisplayName("저장에 실패한 내역은 버리지 않고 다시 저장해 미리 발급한 id 와 저장된 id 가 어긋나지 않는다")
+    void failed_insert_is_retried_in_order(){
+        // given - 2번째 내역 저장이 두 번 실패하는 저장소
+        FlakyHistoryRepository flaky = new FlakyHistoryRepository(2, 2);
+        AsyncPointHistoryRepository repository = new AsyncPointHistoryRepository(flaky, 100, 1L);
+
+        // when
+        List<PointHistory> issued = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            issued.add(repository.insert(1L, i * 100L, TransactionType.CHARGE, i));
+        }
+        repository.flush();
+        repository.close();
+
+        // then
+        assertEquals(5, flaky.stored.size());
+        for (int i = 0; i < issued.size(); i++) {
+            assertEquals(issued.get(i), flaky.stored.get(i));
+        }
+        assertEquals(0L, repository.pendingCount());
+    }
+
+    /**
+     * failAt 번째 저장을 failures 번 실패시킨다. 실패한 호출은 id 를 발급하지 않는다.
+     */
+    private static final class FlakyHistoryRepository implements PointHistoryRepository {
+        private final SequencePointHistoryRepository sequence = new SequencePointHistoryRepository(1L);
+        private final List<PointHistory> stored = new ArrayList<>();
+        private final AtomicInteger remainingFailures;
+        private final int failAt;
+
+        private FlakyHistoryRepository(int failAt, int failures) {
+            this.failAt = failAt;
+            this.remainingFailures = new AtomicInteger(failures);
+        }
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            if (stored.size() + 1 == failAt && remainingFailures.getAndDecrement() > 0) {
+                throw new IllegalStateException("storage down");
+            }
+            PointHistory pointHistory = sequence.insert(userId, amount, type, updateMillis);
+            stored.add(pointHistory);
+            return pointHistory;
+        }
+
+        @Override
+        public List<PointHistory> selectAllByUserId(long userId) {
+            return List.copyOf(stored);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.OffHeapUserPointRepository;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 잔액 저장 방식별 메모리 사용량 비교 (./gradlew benchmarkTest 로 실행)
+ */
+@Tag("benchmark")
+public class PointBalanceFootprintBenchmarkTest {
+    private static final int USER_COUNT = 10_000_000;
+
+    @Test
+    @DisplayName("1,000만 유저 잔액을 off-heap 에 두면 힙을 거의 쓰지 않는다")
+    void footprint_10m_users(){
+        // given - UserPointTable 과 같은 HashMap<Long, UserPoint>
+        long before = usedHeap();
+        Map<Long, UserPoint> table = new HashMap<>();
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            table.put(userId, new UserPoint(userId, userId, userId));
+        }
+        long mapHeap = usedHeap() - before;
+        assertEquals(USER_COUNT, table.size());
+        table = null;
+
+        // when
+        before = usedHeap();
+        OffHeapUserPointRepository offHeap = new OffHeapUserPointRepository(USER_COUNT);
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            offHeap.insertOrUpdate(userId, userId);
+        }
+        long offHeapHeap = usedHeap() - before;
+
+        // then
+        System.out.printf("HashMap<Long, UserPoint> heap=%d MB (%d B/user)%n",
+            mapHeap >> 20, mapHeap / USER_COUNT);
+        System.out.printf("off-heap heap=%d MB, direct=%d MB (%d B/user)%n",
+            offHeapHeap >> 20, offHeap.offHeapBytes() >> 20, offHeap.offHeapBytes() / USER_COUNT);
+        assertEquals(USER_COUNT, offHeap.size());
+        assertTrue(offHeapHeap < mapHeap / 10);
+        assertTrue(offHeap.offHeapBytes() < mapHeap);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
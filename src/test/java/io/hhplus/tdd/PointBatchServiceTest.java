@@ -0,0 +1,141 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.exception.PointException;
+import io.hhplus.tdd.point.concurrency.LockingBalanceUpdater;
+import io.hhplus.tdd.point.executor.ExecutionMode;
+import io.hhplus.tdd.point.executor.PointTaskExecutor;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.model.PointOperation;
+import io.hhplus.tdd.point.model.PointOperationResult;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.service.PointBatchService;
+import io.hhplus.tdd.point.summary.PointSummaryAggregator;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 포인트 일괄 처리 단위 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+public class PointBatchServiceTest {
+    @Mock
+    private UserPointRepository userPointRepository;
+    @Mock
+    private PointHistoryRepository pointHistoryRepository;
+    private PointTaskExecutor pointTaskExecutor;
+    private PointBatchService pointBatchService;
+
+    @BeforeEach
+    void setUp(){
+        pointTaskExecutor = new PointTaskExecutor(ExecutionMode.PLATFORM, 4);
+        pointBatchService = new PointBatchService(
+            pointHistoryRepository, new LockingBalanceUpdater(userPointRepository, new UserLockManager(1000L)),
+            pointTaskExecutor, new PointSummaryAggregator());
+    }
+
+    @AfterEach
+    void tearDown(){
+        pointTaskExecutor.close();
+    }
+
+    @Test
+    @DisplayName("유저별 요청을 순서대로 반영하고 잔액은 한 번만 저장한다")
+    void batch_applies_group_with_single_balance_write(){
+        // given
+        long userId = 1L;
+        when(userPointRepository.selectById(userId)).thenReturn(new UserPoint(userId, 0L, 0L));
+        when(userPointRepository.insertOrUpdate(userId, 700L)).thenReturn(new UserPoint(userId, 700L, 1L));
+        List<PointOperation> operations = List.of(
+            new PointOperation(userId, TransactionType.CHARGE, 1000L),
+            new PointOperation(userId, TransactionType.USE, 300L)
+        );
+
+        // when
+        List<PointOperationResult> results = pointBatchService.execute(operations);
+
+        // then - 건별 결과는 해당 건까지 반영된 잔액이다
+        assertEquals(1000L, results.get(0).userPoint().point());
+        assertEquals(700L, results.get(1).userPoint().point());
+        verify(userPointRepository, times(1)).insertOrUpdate(userId, 700L);
+        verify(pointHistoryRepository).insert(eq(userId), eq(1000L), eq(TransactionType.CHARGE), anyLong());
+        verify(pointHistoryRepository).insert(eq(userId), eq(300L), eq(TransactionType.USE), anyLong());
+    }
+
+    @Test
+    @DisplayName("실패한 요청은 에러 코드를 돌려주고 나머지 요청은 처리된다")
+    void batch_reports_failures_per_item(){
+        // given - 2번 유저는 잔고가 부족하다
+        when(userPointRepository.selectById(1L)).thenReturn(new UserPoint(1L, 0L, 0L));
+        when(userPointRepository.selectById(2L)).thenReturn(new UserPoint(2L, 100L, 0L));
+        when(userPointRepository.insertOrUpdate(1L, 500L)).thenReturn(new UserPoint(1L, 500L, 1L));
+        List<PointOperation> operations = List.of(
+            new PointOperation(1L, TransactionType.CHARGE, 500L),
+            new PointOperation(2L, TransactionType.USE, 1000L),
+            new PointOperation(1L, TransactionType.CHARGE, -1L)
+        );
+
+        // when
+        List<PointOperationResult> results = pointBatchService.execute(operations);
+
+        // then
+        assertTrue(results.get(0).success());
+        assertFalse(results.get(1).success());
+        assertEquals(ExceptionCode.INSUFFICIENT_BALANCE.code(), results.get(1).code());
+        assertFalse(results.get(2).success());
+        assertEquals(ExceptionCode.INVALID_AMOUNT.code(), results.get(2).code());
+        verify(userPointRepository, never()).insertOrUpdate(eq(2L), anyLong());
+    }
+
+    @Test
+    @DisplayName("예상하지 못한 예외가 난 유저의 요청은 실패 결과로 돌려주고 다른 유저의 요청은 처리된다")
+    void batch_maps_unexpected_exception_to_failure(){
+        // given - 2번 유저의 잔액 조회가 저장소 장애로 실패한다
+        when(userPointRepository.selectById(1L)).thenReturn(new UserPoint(1L, 0L, 0L));
+        when(userPointRepository.selectById(2L)).thenThrow(new IllegalStateException("storage down"));
+        when(userPointRepository.insertOrUpdate(1L, 500L)).thenReturn(new UserPoint(1L, 500L, 1L));
+        List<PointOperation> operations = List.of(
+            new PointOperation(1L, TransactionType.CHARGE, 500L),
+            new PointOperation(2L, TransactionType.CHARGE, 100L),
+            new PointOperation(2L, TransactionType.CHARGE, 200L)
+        );
+
+        // when
+        List<PointOperationResult> results = pointBatchService.execute(operations);
+
+        // then - 결과에 빈 칸이 없다
+        assertTrue(results.get(0).success());
+        for (int i = 1; i < results.size(); i++) {
+            assertFalse(results.get(i).success());
+            assertEquals(ExceptionCode.OPERATION_FAILED.code(), results.get(i).code());
+        }
+        verify(pointHistoryRepository, never()).insert(eq(2L), anyLong(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("빈 일괄 요청은 예외가 발생한다")
+    void batch_fail_empty(){
+        assertThrows(PointException.class, () -> pointBatchService.execute(List.of()));
+    }
+}
@@ -0,0 +1,82 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.codec.PointBinaryCodec;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointTransferResult;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 포인트 바이너리 형식 테스트
+ */
+public class PointBinaryCodecTest {
+
+    @Test
+    @DisplayName("잔액과 이체 결과는 고정 길이로 쓰고 그대로 읽힌다")
+    void user_point_round_trip(){
+        // given
+        UserPoint from = new UserPoint(1L, 500L, 1_720_000_000_000L);
+        UserPoint to = new UserPoint(Long.MAX_VALUE, 1_500L, 1_720_000_000_001L);
+        ByteBuffer buffer = ByteBuffer.allocate(PointBinaryCodec.TRANSFER_RESULT_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        // when
+        PointBinaryCodec.writeTransferResult(buffer, new PointTransferResult(from, to));
+        PointTransferResult read = PointBinaryCodec.readTransferResult(PointBinaryCodec.wrap(buffer.array()));
+
+        // then - little-endian 이므로 첫 바이트가 from id 의 최하위 바이트다
+        assertEquals(1, buffer.array()[0]);
+        assertEquals(from, read.from());
+        assertEquals(to, read.to());
+    }
+
+    @Test
+    @DisplayName("버퍼 여러 개 분량의 내역 목록을 스트림에 나눠 써도 그대로 읽힌다")
+    void histories_round_trip_across_chunks() throws Exception {
+        // given - 33 바이트 * 10,000 건은 64KB 버퍼 여러 개 분량이다
+        List<PointHistory> histories = new ArrayList<>();
+        TransactionType[] types = TransactionType.values();
+        for (int i = 0; i < 10_000; i++) {
+            histories.add(new PointHistory(i + 1, 7L, i * 100L, types[i % types.length], 1_720_000_000_000L + i));
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        PointBinaryCodec.writeHistories(outputStream, histories);
+        byte[] body = outputStream.toByteArray();
+
+        // then
+        assertEquals(PointBinaryCodec.historiesSize(histories.size()), body.length);
+        ByteBuffer buffer = PointBinaryCodec.wrap(body);
+        assertEquals(histories, PointBinaryCodec.readHistories(buffer));
+        PointBinaryCodec.requireFullyRead(buffer);
+    }
+
+    @Test
+    @DisplayName("본문 길이가 형식과 맞지 않거나 거래 종류가 없는 값이면 읽지 못한다")
+    void malformed_body_fail(){
+        // given
+        ByteBuffer history = ByteBuffer.allocate((int) PointBinaryCodec.historiesSize(1)).order(ByteOrder.LITTLE_ENDIAN);
+        history.putInt(1).putLong(1L).putLong(1L).putLong(100L).put((byte) 99).putLong(0L);
+
+        // when & then
+        assertThrows(BufferUnderflowException.class,
+            () -> PointBinaryCodec.readUserPoint(PointBinaryCodec.wrap(new byte[PointBinaryCodec.USER_POINT_SIZE - 1])));
+        assertThrows(IllegalArgumentException.class,
+            () -> PointBinaryCodec.readHistories(PointBinaryCodec.wrap(new byte[] {10, 0, 0, 0})));
+        assertThrows(IllegalArgumentException.class,
+            () -> PointBinaryCodec.readHistories(PointBinaryCodec.wrap(history.array())));
+        assertThrows(IllegalArgumentException.class,
+            () -> PointBinaryCodec.requireFullyRead(PointBinaryCodec.wrap(new byte[1])));
+    }
+}
@@ -0,0 +1,90 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.CachingUserPointRepository;
+import io.hhplus.tdd.point.repository.CachingUserPointRepository.CacheStats;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 잔액 캐시 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+public class PointCacheTest {
+    @Mock
+    private UserPointRepository userPointRepository;
+    private CachingUserPointRepository cachingRepository;
+
+    @BeforeEach
+    void setUp(){
+        cachingRepository = new CachingUserPointRepository(userPointRepository, 2, 60_000L);
+    }
+
+    @Test
+    @DisplayName("한 번 조회한 잔액은 저장소를 다시 조회하지 않는다")
+    void read_through_hit(){
+        // given
+        long userId = 1L;
+        when(userPointRepository.selectById(userId)).thenReturn(new UserPoint(userId, 1000L, 0L));
+
+        // when
+        cachingRepository.selectById(userId);
+        UserPoint userPoint = cachingRepository.selectById(userId);
+
+        // then
+        assertEquals(1000L, userPoint.point());
+        verify(userPointRepository, times(1)).selectById(userId);
+        CacheStats stats = cachingRepository.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+    }
+
+    @Test
+    @DisplayName("충전/사용으로 잔액이 바뀌면 캐시도 새 잔액으로 바뀐다")
+    void write_updates_cache_in_place(){
+        // given
+        long userId = 1L;
+        when(userPointRepository.selectById(userId)).thenReturn(new UserPoint(userId, 1000L, 0L));
+        when(userPointRepository.insertOrUpdate(userId, 1500L)).thenReturn(new UserPoint(userId, 1500L, 1L));
+        cachingRepository.selectById(userId);
+
+        // when
+        cachingRepository.insertOrUpdate(userId, 1500L);
+
+        // then
+        assertEquals(1500L, cachingRepository.selectById(userId).point());
+        verify(userPointRepository, times(1)).selectById(userId);
+    }
+
+    @Test
+    @DisplayName("최대 개수를 넘으면 가장 오래 조회되지 않은 잔액부터 버린다")
+    void evict_least_recently_used(){
+        // given
+        for (long userId = 1; userId <= 3; userId++) {
+            when(userPointRepository.selectById(userId)).thenReturn(UserPoint.empty(userId));
+        }
+
+        // when
+        cachingRepository.selectById(1L);
+        cachingRepository.selectById(2L);
+        cachingRepository.selectById(1L);
+        cachingRepository.selectById(3L);
+        cachingRepository.selectById(1L);
+
+        // then - 2번 유저가 밀려나고 1번 유저는 남아있다
+        CacheStats stats = cachingRepository.stats();
+        assertEquals(1, stats.evictions());
+        assertEquals(2, stats.size());
+        verify(userPointRepository, times(1)).selectById(1L);
+    }
+}
@@ -0,0 +1,82 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.repository.ColumnarPointHistoryRepository;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.SequencePointHistoryRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 내역 보관 방식별 건당 메모리와 전체 조회 속도 비교 (./gradlew benchmarkTest 로 실행)
+ */
+@Tag("benchmark")
+public class PointColumnarHistoryBenchmarkTest {
+    private static final int USER_COUNT = 100_000;
+    private static final int HISTORY_PER_USER = 100;
+    private static final long ENTRY_COUNT = (long) USER_COUNT * HISTORY_PER_USER;
+    private static final long BASE_MILLIS = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("열 단위로 보관하면 객체로 보관할 때보다 건당 메모리가 작다")
+    void bytes_per_entry_and_scan_throughput(){
+        // given
+        long before = usedHeap();
+        IndexedPointHistoryRepository indexed = new IndexedPointHistoryRepository(new SequencePointHistoryRepository(1L));
+        fill(indexed);
+        long indexedBytes = usedHeap() - before;
+        double indexedScan = scanPerSecond(indexed);
+        indexed = null;
+
+        // when
+        before = usedHeap();
+        ColumnarPointHistoryRepository columnar = new ColumnarPointHistoryRepository(new SequencePointHistoryRepository(1L));
+        fill(columnar);
+        long columnarBytes = usedHeap() - before;
+        double columnarScan = scanPerSecond(columnar);
+
+        // then
+        System.out.printf("indexed  : %d B/entry, scan %.1f M entries/s%n", indexedBytes / ENTRY_COUNT, indexedScan / 1e6);
+        System.out.printf("columnar : %d B/entry (arrays %d B/entry), scan %.1f M entries/s%n",
+            columnarBytes / ENTRY_COUNT, columnar.allocatedBytes() / ENTRY_COUNT, columnarScan / 1e6);
+        assertTrue(columnarBytes < indexedBytes);
+    }
+
+    private static void fill(PointHistoryRepository repository) {
+        for (int i = 0; i < HISTORY_PER_USER; i++) {
+            for (long userId = 1; userId <= USER_COUNT; userId++) {
+                repository.insert(userId, 100L, TransactionType.CHARGE, BASE_MILLIS + i);
+            }
+        }
+    }
+
+    /**
+     * 모든 유저의 전체 내역을 (응답 직렬화처럼) 처음부터 끝까지 읽는다.
+     */
+    private static double scanPerSecond(PointHistoryRepository repository) {
+        long sum = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < 3; round++) {
+            for (long userId = 1; userId <= USER_COUNT; userId++) {
+                for (PointHistory pointHistory : repository.selectAllByUserId(userId)) {
+                    sum += pointHistory.amount();
+                }
+            }
+        }
+        assertTrue(sum > 0);
+        return 3.0 * ENTRY_COUNT / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,91 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.repository.ColumnarPointHistoryRepository;
+import io.hhplus.tdd.point.repository.SequencePointHistoryRepository;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 열 단위 내역 저장소 테스트
+ */
+public class PointColumnarHistoryTest {
+    private ColumnarPointHistoryRepository repository;
+
+    @BeforeEach
+    void setUp(){
+        repository = new ColumnarPointHistoryRepository(new SequencePointHistoryRepository(1L));
+    }
+
+    @Test
+    @DisplayName("저장한 내역이 유저별로 저장 순서대로 그대로 조회된다")
+    void insert_then_select(){
+        // given - 여러 청크에 걸치도록 유저마다 3,000건
+        List<PointHistory> expected = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            TransactionType type = i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE;
+            expected.add(repository.insert(1L, i, type, 1_000L + i));
+            repository.insert(2L, i, type, 1_000L + i);
+        }
+
+        // when
+        List<PointHistory> histories = repository.selectAllByUserId(1L);
+
+        // then
+        assertEquals(expected, new ArrayList<>(histories));
+        assertEquals(expected.get(2_500), histories.get(2_500));
+        assertEquals(6_000, repository.entryCount());
+    }
+
+    @Test
+    @DisplayName("차이값이 int 범위를 넘는 내역도 그대로 조회된다")
+    void large_delta_opens_new_chunk(){
+        // given
+        repository.insert(1L, 100L, TransactionType.CHARGE, 0L);
+        repository.insert(1L, 200L, TransactionType.CHARGE, Long.MAX_VALUE / 2);
+        repository.insert(1L, 300L, TransactionType.USE, 1L);
+
+        // when
+        List<PointHistory> histories = repository.selectAllByUserId(1L);
+
+        // then
+        assertEquals(List.of(0L, Long.MAX_VALUE / 2, 1L), histories.stream().map(PointHistory::updateMillis).toList());
+        assertEquals(List.of(100L, 200L, 300L), histories.stream().map(PointHistory::amount).toList());
+    }
+
+    @Test
+    @DisplayName("커서 이후의 내역을 기간 안에서 limit 건 조회한다")
+    void select_page(){
+        // given
+        for (int i = 0; i < 100; i++) {
+            repository.insert(1L, 100L, TransactionType.CHARGE, i);
+        }
+
+        // when - id 10 이후, updateMillis 50 이상
+        List<PointHistory> page = repository.selectPageByUserId(1L, 10L, 5, 50L, Long.MAX_VALUE);
+
+        // then
+        assertEquals(List.of(51L, 52L, 53L, 54L, 55L), page.stream().map(PointHistory::id).toList());
+    }
+
+    @Test
+    @DisplayName("조회한 목록은 이후에 저장된 내역을 포함하지 않는다")
+    void view_is_snapshot(){
+        // given
+        repository.insert(1L, 100L, TransactionType.CHARGE, 1L);
+        List<PointHistory> histories = repository.selectAllByUserId(1L);
+
+        // when
+        repository.insert(1L, 200L, TransactionType.CHARGE, 2L);
+
+        // then
+        assertEquals(1, histories.size());
+        assertEquals(2, repository.selectAllByUserId(1L).size());
+    }
+}
@@ -0,0 +1,205 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.exception.PointException;
+import io.hhplus.tdd.point.concurrency.CombiningBalanceUpdater;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import io.hhplus.tdd.point.repository.SequencePointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.summary.PointSummaryAggregator;
+import io.hhplus.tdd.point.validator.UserPointValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 같은 유저의 동시 변경을 모아 저장하는(combining) 잔액 변경 테스트
+ */
+public class PointCombiningConcurrencyTest {
+    private static final int THREAD_COUNT = 32;
+
+    private SlowUserPointRepository userPointRepository;
+    private IndexedPointHistoryRepository pointHistoryRepository;
+    private CombiningBalanceUpdater balanceUpdater;
+    private PointService pointService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp(){
+        userPointRepository = new SlowUserPointRepository();
+        pointHistoryRepository = new IndexedPointHistoryRepository(new SequencePointHistoryRepository(1L));
+        balanceUpdater = new CombiningBalanceUpdater(userPointRepository, new UserLockManager(30_000L), 1_000);
+        pointService = new PointService(userPointRepository, pointHistoryRepository, balanceUpdater,
+            new PointMetrics(new SimpleMeterRegistry()), new PointSummaryAggregator());
+        executor = Executors.newFixedThreadPool(THREAD_COUNT);
+    }
+
+    @AfterEach
+    void tearDown(){
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("한 유저에게 동시에 1,000번 충전하면 잔액 저장은 몇 번으로 줄고, 요청마다 자기 순서의 잔액을 받는다")
+    void concurrent_charge_combined_into_few_writes() throws Exception {
+        // given
+        long userId = 1L;
+        int requestCount = 1_000;
+        Set<Long> balances = ConcurrentHashMap.newKeySet();
+
+        // when
+        int succeeded = runConcurrently(requestCount, () -> {
+            UserPoint userPoint = pointService.charge(userId, 1000L);
+            balances.add(userPoint.point());
+            return userPoint;
+        });
+
+        // then - 받은 잔액은 1,000 ~ 1,000,000 이 한 번씩
+        assertEquals(requestCount, succeeded);
+        assertEquals(requestCount * 1000L, pointService.point(userId).point());
+        assertEquals(requestCount, pointHistoryRepository.selectAllByUserId(userId).size());
+        Set<Long> expected = new HashSet<>();
+        for (long i = 1; i <= requestCount; i++) {
+            expected.add(i * 1000L);
+        }
+        assertEquals(expected, balances);
+        assertTrue(userPointRepository.writeCount.get() < requestCount / 2, "writes=" + userPointRepository.writeCount.get());
+        assertEquals(0, balanceUpdater.activeCombinerCount());
+    }
+
+    @Test
+    @DisplayName("모아서 계산해도 요청마다 직전 잔액으로 검증하여 최대 잔고를 넘지 않는다")
+    void combined_charge_never_exceed_max_balance() throws Exception {
+        // given - 100,000 씩 100번 충전하면 최대 잔고 2,000,000 까지 20번만 성공해야 한다
+        long userId = 1L;
+        long amount = 100_000L;
+
+        // when
+        int succeeded = runConcurrently(100, () -> pointService.charge(userId, amount));
+
+        // then
+        assertEquals(UserPointValidator.MAX_BALANCE / amount, succeeded);
+        assertEquals(UserPointValidator.MAX_BALANCE, pointService.point(userId).point());
+    }
+
+    @Test
+    @DisplayName("충전과 사용이 섞여도 실패한 요청만 빠지고 잔액과 내역이 맞는다")
+    void mixed_charge_and_use() throws Exception {
+        // given - 잔액 0 에서 충전 100번, 사용 200번을 섞어 보낸다
+        long userId = 1L;
+        AtomicInteger index = new AtomicInteger();
+
+        // when
+        int succeeded = runConcurrently(300, () -> index.getAndIncrement() % 3 == 0
+            ? pointService.charge(userId, 1000L)
+            : pointService.use(userId, 1000L));
+
+        // then - 사용은 최대 충전 횟수만큼만 성공하고, 잔액은 성공한 충전/사용의 차이다
+        long charged = pointHistoryRepository.selectAllByUserId(userId).stream()
+            .filter(history -> history.type() == TransactionType.CHARGE)
+            .count();
+        long used = pointHistoryRepository.selectAllByUserId(userId).stream()
+            .filter(history -> history.type() == TransactionType.USE)
+            .count();
+        assertEquals(100, charged);
+        assertEquals(succeeded, charged + used);
+        assertTrue(used <= charged);
+        assertEquals((charged - used) * 1000L, pointService.point(userId).point());
+    }
+
+    @Test
+    @DisplayName("잔액 저장에 실패하면 그 묶음의 요청은 모두 실패하고 잔액과 내역이 바뀌지 않는다")
+    void failed_write_fails_batch(){
+        // given
+        long userId = 1L;
+        pointService.charge(userId, 1000L);
+        userPointRepository.failWrites = true;
+
+        // when
+        assertThrows(IllegalStateException.class, () -> pointService.charge(userId, 500L));
+        PointException exception = assertThrows(PointException.class, () -> pointService.use(userId, 5000L));
+        userPointRepository.failWrites = false;
+
+        // then
+        assertEquals(ExceptionCode.INSUFFICIENT_BALANCE, exception.exceptionCode());
+        assertEquals(1000L, pointService.point(userId).point());
+        assertEquals(1, pointHistoryRepository.selectAllByUserId(userId).size());
+        assertEquals(1500L, pointService.charge(userId, 500L).point());
+    }
+
+    /**
+     * task 를 동시에 count 번 실행하고, 정책 예외 없이 성공한 횟수를 돌려준다.
+     */
+    private int runConcurrently(int count, Supplier<UserPoint> task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    task.get();
+                    succeeded.incrementAndGet();
+                } catch (PointException e) {
+                    assertTrue(e.exceptionCode() != ExceptionCode.LOCK_TIMEOUT);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        return succeeded.get();
+    }
+
+    /**
+     * 잔액 저장에 1ms 가 걸리는 저장소. 저장 횟수를 센다.
+     */
+    private static class SlowUserPointRepository implements UserPointRepository {
+        private final ConcurrentHashMap<Long, UserPoint> table = new ConcurrentHashMap<>();
+        private final AtomicInteger writeCount = new AtomicInteger();
+        private volatile boolean failWrites;
+
+        @Override
+        public UserPoint selectById(long id) {
+            return table.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            if (failWrites) {
+                throw new IllegalStateException("저장 실패");
+            }
+            writeCount.incrementAndGet();
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        }
+    }
+}
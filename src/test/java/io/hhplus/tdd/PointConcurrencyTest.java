@@ -0,0 +1,195 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.concurrency.LockingBalanceUpdater;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryTableRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.repository.UserPointTableRepository;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.summary.PointSummaryAggregator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 동시성 테스트
+ */
+public class PointConcurrencyTest {
+    private UserLockManager userLockManager;
+    private PointService pointService;
+
+    @BeforeEach
+    void setUp(){
+        userLockManager = new UserLockManager(30_000L);
+        UserPointRepository userPointRepository = new UserPointTableRepository(UserPointTable::new);
+        pointService = new PointService(
+            userPointRepository,
+            new IndexedPointHistoryRepository(new PointHistoryTableRepository(PointHistoryTable::new)),
+            new LockingBalanceUpdater(userPointRepository, userLockManager),
+            new PointMetrics(new SimpleMeterRegistry()),
+            new PointSummaryAggregator());
+    }
+
+    @Test
+    @DisplayName("100명의 유저에게 동시에 1,000번 충전해도 충전 금액이 유실되지 않는다")
+    void concurrent_charge_no_lost_update() throws InterruptedException {
+        // given
+        int userCount = 100;
+        int requestCount = 1000;
+        long chargeAmount = 100L;
+        ExecutorService executor = Executors.newFixedThreadPool(userCount);
+        CountDownLatch latch = new CountDownLatch(requestCount);
+        AtomicInteger failCount = new AtomicInteger();
+
+        // when - 유저를 번갈아가며 동시에 충전 요청
+        for (int i = 0; i < requestCount; i++) {
+            long userId = i % userCount + 1;
+            executor.submit(() -> {
+                try {
+                    pointService.charge(userId, chargeAmount);
+                } catch (Exception e) {
+                    failCount.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        assertTrue(latch.await(60, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        // then - 유저마다 요청 횟수만큼 충전되고, 내역도 모두 남아야 한다
+        long expectedPoint = chargeAmount * (requestCount / userCount);
+        assertEquals(0, failCount.get());
+        for (long userId = 1; userId <= userCount; userId++) {
+            assertEquals(expectedPoint, pointService.point(userId).point());
+            assertEquals(requestCount / userCount, pointService.pointHistory(userId).size());
+        }
+        assertEquals(0, userLockManager.activeLockCount());
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 Table 에 동시에 내역을 저장해도 내역이 유실되지 않고 id 가 겹치지 않는다")
+    void concurrent_table_inserts_keep_every_row() throws InterruptedException {
+        // given
+        int userCount = 100;
+        int requestCount = 1000;
+        PointHistoryTableRepository repository = new PointHistoryTableRepository(PointHistoryTable::new);
+        ExecutorService executor = Executors.newFixedThreadPool(userCount);
+        CountDownLatch latch = new CountDownLatch(requestCount);
+
+        // when
+        for (int i = 0; i < requestCount; i++) {
+            long userId = i % userCount + 1;
+            executor.submit(() -> {
+                try {
+                    repository.insert(userId, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        assertTrue(latch.await(60, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        // then - 유저마다 id 오름차순으로 모두 남고, 전체 id 는 1부터 빠짐없이 발급된다
+        Set<Long> ids = new HashSet<>();
+        for (long userId = 1; userId <= userCount; userId++) {
+            List<PointHistory> histories = repository.selectAllByUserId(userId);
+            assertEquals(requestCount / userCount, histories.size());
+            for (int i = 1; i < histories.size(); i++) {
+                assertTrue(histories.get(i - 1).id() < histories.get(i).id());
+            }
+            histories.forEach(history -> ids.add(history.id()));
+        }
+        assertEquals(requestCount, ids.size());
+        assertEquals(requestCount, Collections.max(ids));
+    }
+
+    @Test
+    @DisplayName("같은 유저에게 충전과 사용이 동시에 요청되어도 잔액이 정확하다")
+    void concurrent_charge_and_use_same_user() throws InterruptedException {
+        // given
+        long userId = 1L;
+        long initialAmount = 10_000L;
+        int requestCount = 20;
+        pointService.charge(userId, initialAmount);
+
+        ExecutorService executor = Executors.newFixedThreadPool(requestCount);
+        CountDownLatch latch = new CountDownLatch(requestCount);
+
+        // when - 절반은 1,000 충전, 절반은 500 사용
+        for (int i = 0; i < requestCount; i++) {
+            boolean isCharge = i % 2 == 0;
+            executor.submit(() -> {
+                try {
+                    if (isCharge) {
+                        pointService.charge(userId, 1000L);
+                    } else {
+                        pointService.use(userId, 500L);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        assertTrue(latch.await(60, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        // then
+        long expectedPoint = initialAmount + (requestCount / 2) * 1000L - (requestCount / 2) * 500L;
+        assertEquals(expectedPoint, pointService.point(userId).point());
+    }
+
+    @Test
+    @DisplayName("서로 다른 유저의 요청은 락을 공유하지 않고 병렬로 처리된다")
+    void different_users_run_in_parallel() throws InterruptedException {
+        // given
+        int userCount = 10;
+        CountDownLatch allInside = new CountDownLatch(userCount);
+        CountDownLatch done = new CountDownLatch(userCount);
+        ExecutorService executor = Executors.newFixedThreadPool(userCount);
+
+        // when - 모든 유저가 락 안에서 서로를 기다린다 (직렬이라면 도달할 수 없음)
+        for (int i = 0; i < userCount; i++) {
+            long userId = i + 1;
+            executor.submit(() -> {
+                try {
+                    userLockManager.executeWithLock(userId, () -> {
+                        allInside.countDown();
+                        try {
+                            return allInside.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    });
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        // then
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(0, allInside.getCount());
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,270 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.concurrency.LockingBalanceUpdater;
+import io.hhplus.tdd.point.executor.ExecutionMode;
+import io.hhplus.tdd.point.executor.PointTaskExecutor;
+import io.hhplus.tdd.point.expiry.HierarchicalTimingWheel;
+import io.hhplus.tdd.point.expiry.PointExpiryScheduler;
+import io.hhplus.tdd.point.expiry.PointExpiryTracker;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointSummary;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.ExpiringPointHistoryRepository;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.SequencePointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.shard.ShardRouter;
+import io.hhplus.tdd.point.summary.PointSummaryAggregator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 충전 포인트 만료 테스트
+ */
+public class PointExpiryTest {
+    private static final long TTL_MILLIS = TimeUnit.DAYS.toMillis(30);
+    private static final long TICK_MILLIS = 1000L;
+
+    private PointExpiryTracker pointExpiryTracker;
+    private PointHistoryRepository pointHistoryRepository;
+    private PointTaskExecutor pointTaskExecutor;
+    private PointExpiryScheduler pointExpiryScheduler;
+    private PointService pointService;
+    private MemoryUserPointRepository userPointRepository;
+    private PointSummaryAggregator pointSummaryAggregator;
+
+    @BeforeEach
+    void setUp(){
+        pointExpiryTracker = new PointExpiryTracker(TTL_MILLIS, TICK_MILLIS);
+        pointHistoryRepository = new ExpiringPointHistoryRepository(
+            new IndexedPointHistoryRepository(new SequencePointHistoryRepository(1L)), pointExpiryTracker);
+        userPointRepository = new MemoryUserPointRepository();
+        LockingBalanceUpdater balanceUpdater = new LockingBalanceUpdater(userPointRepository, new UserLockManager(30_000L));
+        pointSummaryAggregator = new PointSummaryAggregator();
+        pointService = new PointService(userPointRepository, pointHistoryRepository, balanceUpdater,
+            new PointMetrics(new SimpleMeterRegistry()), pointSummaryAggregator);
+        pointTaskExecutor = new PointTaskExecutor(ExecutionMode.PLATFORM, 8);
+        ShardRouter noShard = new ShardRouter(false, "node-1", "", 128, false, null, null, null, null, null);
+        pointExpiryScheduler = new PointExpiryScheduler(pointExpiryTracker, balanceUpdater, pointHistoryRepository,
+            pointSummaryAggregator, pointTaskExecutor, noShard, TICK_MILLIS, 500);
+    }
+
+    @AfterEach
+    void tearDown(){
+        pointExpiryScheduler.close();
+        pointTaskExecutor.close();
+    }
+
+    @Test
+    @DisplayName("타이밍 휠은 항목을 만료 시각이 지난 뒤 처음 진행할 때 한 번만 내보낸다")
+    void timing_wheel_fires_each_entry_once_at_deadline(){
+        // given - level 0 ~ 3 에 걸치도록 1 tick 부터 약 3년 뒤까지
+        long start = 1_000_000_000L;
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK_MILLIS, start);
+        long[] delays = {1, 511, 512, 513, 100_000, 262_144, 262_145, 100_000_000L};
+        for (int i = 0; i < delays.length; i++) {
+            wheel.add(i, start + delays[i] * TICK_MILLIS);
+        }
+
+        // when & then - 만료 1 tick 전에는 나오지 않고, 만료 tick 에 나온다
+        List<Long> fired = new ArrayList<>();
+        for (int i = 0; i < delays.length; i++) {
+            wheel.advanceTo(start + (delays[i] - 1) * TICK_MILLIS, fired::add);
+            assertEquals(i, fired.size());
+            wheel.advanceTo(start + delays[i] * TICK_MILLIS, fired::add);
+            assertEquals(i + 1, fired.size());
+            assertEquals(i, fired.get(i));
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("항목 1,000,000 건을 넣어도 모두 만료 시각 순서를 지켜 한 번씩 나온다")
+    void timing_wheel_million_entries(){
+        // given
+        long start = 0L;
+        int count = 1_000_000;
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK_MILLIS, start);
+        SplittableRandom random = new SplittableRandom(42);
+        long[] deadlines = new long[count];
+        for (int i = 0; i < count; i++) {
+            deadlines[i] = random.nextLong(1, TimeUnit.DAYS.toSeconds(60)) * TICK_MILLIS;
+            wheel.add(i, deadlines[i]);
+        }
+
+        // when - 하루씩 진행한다
+        long[] firedAt = new long[count];
+        int[] fired = new int[1];
+        for (long now = 0; now <= TimeUnit.DAYS.toMillis(60); now += TimeUnit.DAYS.toMillis(1)) {
+            long current = now;
+            wheel.advanceTo(now, id -> {
+                firedAt[(int) id] = current;
+                fired[0]++;
+            });
+        }
+
+        // then - 만료 시각이 지난 첫 진행에서 나온다
+        assertEquals(count, fired[0]);
+        for (int i = 0; i < count; i++) {
+            assertTrue(firedAt[i] >= deadlines[i] && firedAt[i] - deadlines[i] < TimeUnit.DAYS.toMillis(1));
+        }
+    }
+
+    @Test
+    @DisplayName("충전 후 기간이 지나면 사용하고 남은 충전 포인트가 만료되고 EXPIRE 내역이 남는다")
+    void expire_remaining_charge(){
+        // given
+        long now = System.currentTimeMillis();
+        pointService.charge(1L, 1_000L);
+        pointService.use(1L, 300L);
+
+        // when
+        int beforeTtl = pointExpiryScheduler.expireDue(now + TTL_MILLIS - TimeUnit.HOURS.toMillis(1));
+        int afterTtl = pointExpiryScheduler.expireDue(now + TTL_MILLIS + TimeUnit.MINUTES.toMillis(1));
+
+        // then
+        assertEquals(0, beforeTtl);
+        assertEquals(1, afterTtl);
+        assertEquals(0L, pointService.point(1L).point());
+        List<PointHistory> histories = pointService.pointHistory(1L);
+        PointHistory expired = histories.get(histories.size() - 1);
+        assertEquals(TransactionType.EXPIRE, expired.type());
+        assertEquals(700L, expired.amount());
+        assertEquals(0, pointExpiryTracker.lotCount());
+        PointSummary summary = pointSummaryAggregator.summary(1L);
+        assertEquals(300L, summary.totalUsed());
+        assertEquals(1L, summary.useCount());
+        assertEquals(700L, summary.totalExpired());
+        assertEquals(1L, summary.expireCount());
+    }
+
+    @Test
+    @DisplayName("만기 전에 모두 사용한 유저는 실행기에 넣지 않고 남은 만료 묶음만 버린다")
+    void fully_used_users_are_skipped(){
+        // given
+        int userCount = 1_000;
+        long now = System.currentTimeMillis();
+        for (long userId = 1; userId <= userCount; userId++) {
+            pointService.charge(userId, 100L);
+            pointService.use(userId, 100L);
+        }
+
+        // when
+        int expiredUsers = pointExpiryScheduler.expireDue(now + TTL_MILLIS + TimeUnit.MINUTES.toMillis(1));
+
+        // then
+        assertEquals(0, expiredUsers);
+        assertEquals(userCount, pointExpiryScheduler.skippedUsers());
+        assertEquals(0L, pointExpiryScheduler.expiredAmount());
+        assertEquals(0, pointExpiryTracker.lotCount());
+        assertEquals(2, pointService.pointHistory(1L).size());
+    }
+
+    @Test
+    @DisplayName("사용은 먼저 충전한 포인트부터 차감하므로, 나중 충전분만 만기에 남은 만큼 만료된다")
+    void use_consumes_oldest_charge_first(){
+        // given - 하루 간격으로 1,000 / 500 충전 후 1,200 사용 → 첫 충전분은 모두, 둘째 충전분은 300 남는다
+        long day = TimeUnit.DAYS.toMillis(1);
+        long start = System.currentTimeMillis();
+        pointHistoryRepository.insert(2L, 1_000L, TransactionType.CHARGE, start);
+        pointHistoryRepository.insert(2L, 500L, TransactionType.CHARGE, start + day);
+        pointHistoryRepository.insert(2L, 1_200L, TransactionType.USE, start + day);
+
+        // when & then
+        assertEquals(0L, pointExpiryTracker.dueAmount(2L, start + TTL_MILLIS));
+        assertEquals(300L, pointExpiryTracker.dueAmount(2L, start + day + TTL_MILLIS));
+        assertEquals(1, pointExpiryTracker.lotCount());
+    }
+
+    @Test
+    @DisplayName("만료할 유저가 많아도 유저마다 EXPIRE 내역 한 건으로 처리한다")
+    void expire_many_users_in_batches(){
+        // given
+        int userCount = 10_000;
+        long now = System.currentTimeMillis();
+        for (long userId = 1; userId <= userCount; userId++) {
+            pointService.charge(userId, 100L);
+            pointService.charge(userId, 200L);
+        }
+
+        // when
+        int expiredUsers = pointExpiryScheduler.expireDue(now + TTL_MILLIS + TimeUnit.MINUTES.toMillis(1));
+
+        // then
+        assertEquals(userCount, expiredUsers);
+        assertEquals(300L * userCount, pointExpiryScheduler.expiredAmount());
+        for (long userId = 1; userId <= userCount; userId++) {
+            UserPoint userPoint = pointService.point(userId);
+            assertEquals(0L, userPoint.point());
+            assertEquals(3, pointService.pointHistory(userId).size());
+        }
+        assertEquals(0, pointExpiryTracker.scheduledCount());
+    }
+
+    @Test
+    @DisplayName("한 유저의 만료가 예외로 실패해도 남은 유저와 다음 묶음은 처리되고, 실패한 유저는 다음 tick 에 만료된다")
+    void failed_user_is_retried_without_stopping_batches(){
+        // given - 만료 묶음 500명씩 두 번, 3번 유저의 잔액 저장이 한 번 실패한다
+        int userCount = 1_000;
+        long now = System.currentTimeMillis();
+        for (long userId = 1; userId <= userCount; userId++) {
+            pointService.charge(userId, 100L);
+        }
+        userPointRepository.failNextSave(3L);
+        long expireAt = now + TTL_MILLIS + TimeUnit.MINUTES.toMillis(1);
+
+        // when
+        int expiredUsers = pointExpiryScheduler.expireDue(expireAt);
+        int retriedUsers = pointExpiryScheduler.expireDue(expireAt + TICK_MILLIS * 2);
+
+        // then
+        assertEquals(userCount - 1, expiredUsers);
+        assertEquals(1, retriedUsers);
+        for (long userId = 1; userId <= userCount; userId++) {
+            assertEquals(0L, pointService.point(userId).point());
+            assertEquals(2, pointService.pointHistory(userId).size());
+        }
+        assertEquals(100L * userCount, pointExpiryScheduler.expiredAmount());
+    }
+
+    private static class MemoryUserPointRepository implements UserPointRepository {
+        private final ConcurrentHashMap<Long, UserPoint> table = new ConcurrentHashMap<>();
+        private volatile long failingUserId = -1L;
+
+        private void failNextSave(long userId) {
+            failingUserId = userId;
+        }
+
+        @Override
+        public UserPoint selectById(long id) {
+            return table.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            if (id == failingUserId) {
+                failingUserId = -1L;
+                throw new IllegalStateException("storage down");
+            }
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        }
+    }
+}
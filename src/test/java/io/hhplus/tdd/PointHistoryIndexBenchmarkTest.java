@@ -0,0 +1,85 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 유저별 내역 색인 벤치마크 (./gradlew benchmarkTest 로 실행)
+ * - 전체 내역이 10만 → 100만 → 1,000만 건으로 늘어나도 한 유저의 내역 조회 시간은 일정해야 한다.
+ */
+@Tag("benchmark")
+public class PointHistoryIndexBenchmarkTest {
+    private static final long TARGET_USER_ID = 0L;
+    private static final int TARGET_HISTORY_SIZE = 100;
+    private static final int BACKGROUND_USER_COUNT = 100_000;
+    private static final int LOOKUP_COUNT = 100_000;
+
+    @Test
+    @DisplayName("전체 내역이 1,000만 건이어도 유저별 내역 조회 시간은 일정하다")
+    void per_user_lookup_latency_stays_flat() {
+        // given - 스로틀 없는 저장소 위에 색인을 둔다
+        IndexedPointHistoryRepository repository = new IndexedPointHistoryRepository(new InMemoryPointHistoryRepository());
+        for (int i = 0; i < TARGET_HISTORY_SIZE; i++) {
+            repository.insert(TARGET_USER_ID, 100L, TransactionType.CHARGE, i);
+        }
+
+        // when - 전체 건수를 늘려가며 같은 유저의 조회 시간을 잰다
+        long inserted = TARGET_HISTORY_SIZE;
+        double baselineNanos = 0;
+        double lastNanos = 0;
+        for (long total : new long[]{100_000L, 1_000_000L, 10_000_000L}) {
+            for (; inserted < total; inserted++) {
+                repository.insert(inserted % BACKGROUND_USER_COUNT + 1, 100L, TransactionType.CHARGE, inserted);
+            }
+            lastNanos = measureLookupNanos(repository);
+            if (baselineNanos == 0) {
+                baselineNanos = lastNanos;
+            }
+            System.out.printf("total=%,d records, per-user lookup=%.1f ns%n", total, lastNanos);
+        }
+
+        // then - 조회 결과는 대상 유저의 내역뿐이고, 시간은 전체 건수에 비례해 늘지 않는다
+        assertEquals(TARGET_HISTORY_SIZE, repository.selectAllByUserId(TARGET_USER_ID).size());
+        assertTrue(lastNanos < baselineNanos * 5, "lookup latency grew with total history size");
+    }
+
+    private double measureLookupNanos(PointHistoryRepository repository) {
+        long checksum = 0;
+        for (int i = 0; i < LOOKUP_COUNT; i++) {
+            checksum += repository.selectAllByUserId(TARGET_USER_ID).size();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUP_COUNT; i++) {
+            checksum += repository.selectAllByUserId(TARGET_USER_ID).size();
+        }
+        double nanos = (double) (System.nanoTime() - start) / LOOKUP_COUNT;
+        assertEquals((long) TARGET_HISTORY_SIZE * LOOKUP_COUNT * 2, checksum);
+        return nanos;
+    }
+
+    /**
+     * 스로틀 없이 id 만 발급하는 저장소 (내역은 색인에만 남는다)
+     */
+    private static class InMemoryPointHistoryRepository implements PointHistoryRepository {
+        private long cursor = 1;
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            return new PointHistory(cursor++, userId, amount, type, updateMillis);
+        }
+
+        @Override
+        public List<PointHistory> selectAllByUserId(long userId) {
+            return List.of();
+        }
+    }
+}
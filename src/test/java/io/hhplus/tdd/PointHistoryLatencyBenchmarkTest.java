@@ -0,0 +1,96 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.concurrency.LockingBalanceUpdater;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.AsyncPointHistoryRepository;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryTableRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.repository.UserPointTableRepository;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.summary.PointSummaryAggregator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 내역 저장 방식별 충전 응답 시간 벤치마크 (./gradlew benchmarkTest 로 실행)
+ */
+@Tag("benchmark")
+public class PointHistoryLatencyBenchmarkTest {
+    private static final int USER_COUNT = 200;
+    private static final int THREAD_COUNT = 50;
+
+    @Test
+    @DisplayName("내역을 비동기로 저장하면 충전 응답 시간에서 내역 저장 스로틀이 빠진다")
+    void charge_latency_sync_vs_async() throws Exception {
+        // given
+        PointHistoryTableRepository asyncTable = new PointHistoryTableRepository(PointHistoryTable::new);
+        AsyncPointHistoryRepository asyncRepository = new AsyncPointHistoryRepository(asyncTable, 10_000, 1L);
+
+        // when
+        List<Long> syncLatencies = measureChargeLatencies(new PointHistoryTableRepository(PointHistoryTable::new));
+        List<Long> asyncLatencies = measureChargeLatencies(asyncRepository);
+        asyncRepository.flush();
+
+        // then - 비동기 저장도 결국 모든 내역이 Table 에 남는다
+        print("sync", syncLatencies);
+        print("async", asyncLatencies);
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            assertEquals(1, asyncTable.selectAllByUserId(userId).size());
+        }
+        assertTrue(percentile(asyncLatencies, 50) < percentile(syncLatencies, 50));
+        asyncRepository.close();
+    }
+
+    private List<Long> measureChargeLatencies(PointHistoryRepository historyRepository) throws Exception {
+        UserPointRepository userPointRepository = new UserPointTableRepository(UserPointTable::new);
+        PointService pointService = new PointService(
+            userPointRepository,
+            new IndexedPointHistoryRepository(historyRepository),
+            new LockingBalanceUpdater(userPointRepository, new UserLockManager(30_000L)),
+            new PointMetrics(new SimpleMeterRegistry()),
+            new PointSummaryAggregator());
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        List<Future<Long>> futures = new ArrayList<>();
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            long id = userId;
+            futures.add(executor.submit(() -> {
+                long start = System.nanoTime();
+                pointService.charge(id, 1000L);
+                return (System.nanoTime() - start) / 1_000_000;
+            }));
+        }
+        List<Long> latencies = new ArrayList<>();
+        for (Future<Long> future : futures) {
+            latencies.add(future.get());
+        }
+        executor.shutdown();
+        Collections.sort(latencies);
+        return latencies;
+    }
+
+    private static long percentile(List<Long> sortedLatencies, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.size()) - 1;
+        return sortedLatencies.get(Math.max(index, 0));
+    }
+
+    private static void print(String mode, List<Long> sortedLatencies) {
+        System.out.printf("history=%s charge p50=%d ms p99=%d ms%n",
+            mode, percentile(sortedLatencies, 50), percentile(sortedLatencies, 99));
+    }
+}
@@ -0,0 +1,115 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.concurrency.BalanceUpdater;
+import io.hhplus.tdd.point.concurrency.CombiningBalanceUpdater;
+import io.hhplus.tdd.point.concurrency.LockingBalanceUpdater;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import io.hhplus.tdd.point.repository.SequencePointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.summary.PointSummaryAggregator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 한 유저에게 몰린 충전 처리량 벤치마크 (./gradlew benchmarkTest 로 실행)
+ * - 잔액 조회/저장에 각각 STORE_LATENCY_MICROS 만큼 걸리는 저장소로, 64 스레드가 같은 유저에게 충전한다.
+ * - lock 모드는 충전마다 조회와 저장을 하고, combining 모드는 락을 기다리는 동안 쌓인 충전을 저장 한 번으로 모은다.
+ */
+@Tag("benchmark")
+public class PointHotUserBenchmarkTest {
+    private static final long HOT_USER_ID = 1L;
+    private static final int THREAD_COUNT = 64;
+    private static final int CHARGE_COUNT = 5_000;
+    private static final long STORE_LATENCY_MICROS = 200L;
+
+    @Test
+    @DisplayName("같은 유저에게 몰린 충전은 combining 모드가 lock 모드보다 처리량이 높다")
+    void hot_user_charge_lock_vs_combining() throws Exception {
+        // when
+        double lock = measureThroughput("lock", repository -> new LockingBalanceUpdater(repository, new UserLockManager(60_000L)));
+        double combining = measureThroughput("combining",
+            repository -> new CombiningBalanceUpdater(repository, new UserLockManager(60_000L), 1_000));
+
+        // then - 저장 횟수가 줄어든 만큼 적어도 5배는 빨라야 한다
+        assertTrue(combining > lock * 5, "lock=" + lock + " combining=" + combining);
+    }
+
+    private double measureThroughput(String mode, Function<UserPointRepository, BalanceUpdater> updaterFactory) throws Exception {
+        // given
+        LatencyUserPointRepository userPointRepository = new LatencyUserPointRepository();
+        PointService pointService = new PointService(
+            userPointRepository,
+            new IndexedPointHistoryRepository(new SequencePointHistoryRepository(1L)),
+            updaterFactory.apply(userPointRepository),
+            new PointMetrics(new SimpleMeterRegistry()),
+            new PointSummaryAggregator());
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<UserPoint>> futures = new ArrayList<>(CHARGE_COUNT);
+        for (int i = 0; i < CHARGE_COUNT; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return pointService.charge(HOT_USER_ID, 100L);
+            }));
+        }
+
+        // when
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<UserPoint> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        executor.shutdown();
+
+        // then
+        assertEquals(CHARGE_COUNT * 100L, pointService.point(HOT_USER_ID).point());
+        double throughput = CHARGE_COUNT / (elapsedNanos / 1_000_000_000.0);
+        System.out.printf("mode=%s charges/s=%.0f writes=%d%n", mode, throughput, userPointRepository.writeCount());
+        return throughput;
+    }
+
+    private static class LatencyUserPointRepository implements UserPointRepository {
+        private final ConcurrentHashMap<Long, UserPoint> table = new ConcurrentHashMap<>();
+        private final AtomicLong writes = new AtomicLong();
+
+        @Override
+        public UserPoint selectById(long id) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(STORE_LATENCY_MICROS));
+            return table.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(STORE_LATENCY_MICROS));
+            writes.incrementAndGet();
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        }
+
+        long writeCount() {
+            return writes.get();
+        }
+    }
+}
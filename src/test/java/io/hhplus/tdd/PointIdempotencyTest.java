@@ -0,0 +1,247 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.exception.PointException;
+import io.hhplus.tdd.point.idempotency.IdempotencyStore;
+import io.hhplus.tdd.point.model.PointOperation;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Idempotency-Key 저장소 테스트
+ */
+public class PointIdempotencyTest {
+    private static final PointOperation CHARGE_1000 = new PointOperation(1L, TransactionType.CHARGE, 1000L);
+
+    private IdempotencyStore idempotencyStore;
+
+    @BeforeEach
+    void setUp(){
+        idempotencyStore = new IdempotencyStore(2, 60_000L);
+    }
+
+    @Test
+    @DisplayName("같은 키로 다시 요청하면 실행하지 않고 처음 결과를 돌려준다")
+    void replay_returns_recorded_result(){
+        // given
+        AtomicInteger executions = new AtomicInteger();
+        UserPoint first = idempotencyStore.execute("key-1", CHARGE_1000, () -> {
+            executions.incrementAndGet();
+            return new UserPoint(1L, 1000L, 0L);
+        });
+
+        // when
+        UserPoint replayed = idempotencyStore.execute("key-1", CHARGE_1000, () -> {
+            executions.incrementAndGet();
+            return new UserPoint(1L, 2000L, 1L);
+        });
+
+        // then
+        assertSame(first, replayed);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("끝난 키의 결과만 먼저 꺼낼 수 있고, 처음 보는 키나 실행 중인 키는 null 이다")
+    void completed_returns_only_finished_result() throws Exception {
+        // given
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<UserPoint> inFlight = executor.submit(() -> idempotencyStore.execute("key-1", CHARGE_1000, () -> {
+            running.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new UserPoint(1L, 1000L, 0L);
+        }));
+        running.await(5, TimeUnit.SECONDS);
+
+        // when & then
+        assertNull(idempotencyStore.completed("unknown", CHARGE_1000));
+        assertNull(idempotencyStore.completed("key-1", CHARGE_1000));
+        release.countDown();
+        UserPoint first = inFlight.get(5, TimeUnit.SECONDS);
+        assertSame(first, idempotencyStore.completed("key-1", CHARGE_1000));
+        PointException exception = assertThrows(PointException.class,
+            () -> idempotencyStore.completed("key-1", new PointOperation(1L, TransactionType.USE, 1000L)));
+        assertEquals(ExceptionCode.IDEMPOTENCY_KEY_REUSED, exception.exceptionCode());
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("실행 중인 키로 동시에 들어온 요청은 한 번만 실행되고 같은 결과를 받는다")
+    void concurrent_duplicates_wait_for_in_flight_result() throws Exception {
+        // given
+        int threadCount = 10;
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+        // when
+        List<Future<UserPoint>> futures = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            futures.add(executor.submit(() -> idempotencyStore.execute("key-1", CHARGE_1000, () -> {
+                executions.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new UserPoint(1L, 1000L, 0L);
+            })));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        // then
+        UserPoint first = futures.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<UserPoint> future : futures) {
+            assertSame(first, future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 키로 다른 요청을 보내면 예외가 발생한다")
+    void reused_key_with_different_request_fail(){
+        // given
+        idempotencyStore.execute("key-1", CHARGE_1000, () -> new UserPoint(1L, 1000L, 0L));
+        PointOperation otherOperation = new PointOperation(1L, TransactionType.CHARGE, 2000L);
+
+        // when
+        PointException exception = assertThrows(PointException.class,
+            () -> idempotencyStore.execute("key-1", otherOperation, () -> new UserPoint(1L, 3000L, 0L)));
+
+        // then
+        assertEquals(ExceptionCode.IDEMPOTENCY_KEY_REUSED, exception.exceptionCode());
+    }
+
+    @Test
+    @DisplayName("실패한 요청은 기록되지 않아 같은 키로 다시 실행할 수 있다")
+    void failed_request_is_not_recorded(){
+        // given
+        assertThrows(PointException.class, () -> idempotencyStore.execute("key-1", CHARGE_1000, () -> {
+            throw new PointException(ExceptionCode.LOCK_TIMEOUT);
+        }));
+
+        // when
+        UserPoint userPoint = idempotencyStore.execute("key-1", CHARGE_1000, () -> new UserPoint(1L, 1000L, 0L));
+
+        // then
+        assertEquals(1000L, userPoint.point());
+    }
+
+    @Test
+    @DisplayName("보관 건수를 넘으면 가장 오래된 키부터 버린다")
+    void evict_oldest_key_when_full(){
+        // given
+        AtomicInteger executions = new AtomicInteger();
+        for (String key : List.of("key-1", "key-2", "key-3")) {
+            idempotencyStore.execute(key, CHARGE_1000, () -> {
+                executions.incrementAndGet();
+                return new UserPoint(1L, 1000L, 0L);
+            });
+        }
+
+        // when - 버려진 key-1 은 다시 실행된다
+        idempotencyStore.execute("key-1", CHARGE_1000, () -> {
+            executions.incrementAndGet();
+            return new UserPoint(1L, 1000L, 0L);
+        });
+
+        // then
+        assertEquals(2, idempotencyStore.size());
+        assertEquals(4, executions.get());
+    }
+
+    @Test
+    @DisplayName("보관 건수를 넘어도 실행 중인 키는 버리지 않는다")
+    void in_flight_key_is_not_evicted() throws Exception {
+        // given - key-1 이 실행 중인 동안 key-2, key-3 이 들어온다
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<UserPoint> inFlight = executor.submit(() -> idempotencyStore.execute("key-1", CHARGE_1000, () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new UserPoint(1L, 1000L, 0L);
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        for (String key : List.of("key-2", "key-3")) {
+            idempotencyStore.execute(key, CHARGE_1000, () -> new UserPoint(1L, 1000L, 0L));
+        }
+        release.countDown();
+        inFlight.get(5, TimeUnit.SECONDS);
+
+        // when - key-1 은 버려지지 않았으므로 다시 실행되지 않는다
+        idempotencyStore.execute("key-1", CHARGE_1000, () -> {
+            executions.incrementAndGet();
+            return new UserPoint(1L, 2000L, 0L);
+        });
+
+        // then
+        assertEquals(1, executions.get());
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("실행이 Error 로 끝나도 기다리던 요청은 멈추지 않고 같은 키로 다시 실행할 수 있다")
+    void error_completes_in_flight_result() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<UserPoint> owner = executor.submit(() -> idempotencyStore.execute("key-1", CHARGE_1000, () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new AssertionError("task failed");
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        Future<UserPoint> waiter = executor.submit(() -> idempotencyStore.execute("key-1", CHARGE_1000,
+            () -> new UserPoint(1L, 0L, 0L)));
+        Thread.sleep(100);
+
+        // when
+        release.countDown();
+
+        // then
+        ExecutionException ownerFailure = assertThrows(ExecutionException.class, () -> owner.get(5, TimeUnit.SECONDS));
+        assertTrue(ownerFailure.getCause() instanceof AssertionError);
+        ExecutionException waiterFailure = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+        assertTrue(waiterFailure.getCause() instanceof AssertionError);
+        assertEquals(1000L, idempotencyStore.execute("key-1", CHARGE_1000, () -> new UserPoint(1L, 1000L, 0L)).point());
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,245 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.exception.PointException;
+import io.hhplus.tdd.point.journal.PointJournal;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 포인트 저널 테스트
+ */
+public class PointJournalTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("다시 열면 저널의 잔액과 내역이 그대로 복구된다")
+    void reopen_recovers_balances_and_histories(){
+        // given
+        PointJournal journal = PointJournal.open(directory, 1, 1L, 60_000L, false);
+        journal.append(1L, 1000L, TransactionType.CHARGE, 1L);
+        journal.append(2L, 500L, TransactionType.CHARGE, 2L);
+        PointHistory last = journal.append(1L, 300L, TransactionType.USE, 3L);
+        journal.awaitDurable(last.id());
+
+        // when - close 없이 다시 연다 (비정상 종료)
+        PointJournal recovered = PointJournal.open(directory, 1, 1L, 60_000L, false);
+        IndexedPointHistoryRepository index = new IndexedPointHistoryRepository(null);
+        recovered.replay(index::restore, index::remove);
+
+        // then
+        assertEquals(3L, recovered.lastId());
+        assertEquals(700L, balanceOf(recovered, 1L));
+        assertEquals(500L, balanceOf(recovered, 2L));
+        assertEquals(List.of(1L, 3L), index.selectAllByUserId(1L).stream().map(PointHistory::id).toList());
+        recovered.close();
+    }
+
+    @Test
+    @DisplayName("스냅샷 이후의 레코드만 스냅샷 잔액에 더하고, id 는 이어서 발급된다")
+    void recover_from_snapshot_and_tail(){
+        // given
+        PointJournal journal = PointJournal.open(directory, 1, 1L, 60_000L, false);
+        journal.append(1L, 1000L, TransactionType.CHARGE, 1L);
+        journal.snapshot();
+        PointHistory last = journal.append(1L, 200L, TransactionType.USE, 2L);
+        journal.awaitDurable(last.id());
+
+        // when
+        PointJournal recovered = PointJournal.open(directory, 1, 1L, 60_000L, false);
+        PointHistory next = recovered.append(1L, 100L, TransactionType.CHARGE, 3L);
+
+        // then
+        assertEquals(3L, next.id());
+        assertEquals(900L, balanceOf(recovered, 1L));
+        recovered.close();
+    }
+
+    @Test
+    @DisplayName("파일이 가득 차면 다음 파일로 넘어가고, 다시 열면 모든 파일을 읽는다")
+    void rotate_segments(){
+        // given - 1MB 파일 하나에 26,214 건이 들어간다
+        int count = 30_000;
+        PointJournal journal = PointJournal.open(directory, 1, 1L, 60_000L, false);
+        for (int i = 0; i < count; i++) {
+            journal.append(1L, 1L, TransactionType.CHARGE, i);
+        }
+        journal.close();
+
+        // when
+        PointJournal recovered = PointJournal.open(directory, 1, 1L, 60_000L, false);
+        List<PointHistory> replayed = new ArrayList<>();
+        recovered.replay(replayed::add, userId -> {
+        });
+
+        // then
+        assertEquals(count, replayed.size());
+        assertEquals(count, balanceOf(recovered, 1L));
+        recovered.close();
+    }
+
+    @Test
+    @DisplayName("파일 크기 설정을 줄여도 기존 파일은 만들 때의 크기로 열어 모든 레코드를 읽는다")
+    void reopen_with_smaller_segment_size(){
+        // given - 2MB 파일 하나에 1MB(26,214 건)보다 많이 쓴다
+        int count = 30_000;
+        PointJournal journal = PointJournal.open(directory, 2, 1L, 60_000L, false);
+        for (int i = 0; i < count; i++) {
+            journal.append(1L, 1L, TransactionType.CHARGE, i);
+        }
+        journal.close();
+
+        // when
+        PointJournal recovered = PointJournal.open(directory, 1, 1L, 60_000L, false);
+        List<PointHistory> replayed = new ArrayList<>();
+        recovered.replay(replayed::add, userId -> {
+        });
+
+        // then
+        assertEquals(count, replayed.size());
+        assertEquals(count, recovered.lastId());
+        assertEquals(count + 1L, recovered.append(1L, 1L, TransactionType.CHARGE, count).id());
+        recovered.close();
+    }
+
+    @Test
+    @DisplayName("deleteAfterSnapshot 이면 스냅샷에 모두 포함된 파일을 지우고, 잔액은 스냅샷으로 복구한다")
+    void delete_segments_covered_by_snapshot() throws IOException {
+        // given - 1MB 파일 두 개에 걸쳐 쓴다
+        int count = 30_000;
+        PointJournal journal = PointJournal.open(directory, 1, 1L, 60_000L, true);
+        for (int i = 0; i < count; i++) {
+            journal.append(1L, 1L, TransactionType.CHARGE, i);
+        }
+
+        // when
+        journal.snapshot();
+
+        // then - 쓰고 있는 두 번째 파일만 남는다
+        assertEquals(1L, segmentCount());
+        journal.close();
+        PointJournal recovered = PointJournal.open(directory, 1, 1L, 60_000L, true);
+        assertEquals(count, balanceOf(recovered, 1L));
+        assertEquals(count + 1L, recovered.append(1L, 1L, TransactionType.CHARGE, count).id());
+        recovered.close();
+    }
+
+    @Test
+    @DisplayName("마지막에 쓰다 만 레코드는 버리고 그 앞까지 복구한다")
+    void torn_tail_is_discarded() throws IOException {
+        // given
+        PointJournal journal = PointJournal.open(directory, 1, 1L, 60_000L, false);
+        journal.append(1L, 1000L, TransactionType.CHARGE, 1L);
+        PointHistory last = journal.append(1L, 500L, TransactionType.CHARGE, 2L);
+        journal.awaitDurable(last.id());
+
+        // when - 두 번째 레코드의 금액 일부를 깨뜨린다
+        try (FileChannel channel = FileChannel.open(onlySegment(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), 40L + 16L);
+        }
+        PointJournal recovered = PointJournal.open(directory, 1, 1L, 60_000L, false);
+
+        // then
+        assertEquals(1L, recovered.lastId());
+        assertEquals(1000L, balanceOf(recovered, 1L));
+        assertEquals(2L, recovered.append(1L, 100L, TransactionType.CHARGE, 3L).id());
+        recovered.close();
+    }
+
+    @Test
+    @DisplayName("스냅샷 버퍼보다 많은 유저의 잔액도 스냅샷만으로 복구된다")
+    void snapshot_of_many_users(){
+        // given - 버퍼 하나에 4,096명씩 들어가므로 여러 번 나눠 쓴다
+        int userCount = 10_000;
+        PointJournal journal = PointJournal.open(directory, 1, 1L, 60_000L, true);
+        for (long userId = 1; userId <= userCount; userId++) {
+            journal.append(userId, userId, TransactionType.CHARGE, userId);
+        }
+
+        // when
+        journal.snapshot();
+        journal.close();
+        PointJournal recovered = PointJournal.open(directory, 1, 1L, 60_000L, true);
+
+        // then
+        assertEquals(userCount, recovered.balances().size());
+        assertEquals(1L, balanceOf(recovered, 1L));
+        assertEquals(userCount, balanceOf(recovered, userCount));
+        assertEquals(userCount, recovered.lastId());
+        recovered.close();
+    }
+
+    @Test
+    @DisplayName("디스크에 내려가기를 기다리다 인터럽트되면 정상 반환하지 않고 예외가 발생한다")
+    void interrupted_await_throws(){
+        // given - 아직 쓰지 않은 다음 id 는 내려갈 수 없다
+        PointJournal journal = PointJournal.open(directory, 1, 1L, 60_000L, false);
+        journal.append(1L, 1000L, TransactionType.CHARGE, 1L);
+        long next = journal.lastId() + 1;
+
+        // when
+        Thread.currentThread().interrupt();
+        PointException exception = assertThrows(PointException.class, () -> journal.awaitDurable(next));
+
+        // then
+        assertTrue(Thread.interrupted());
+        assertEquals(ExceptionCode.JOURNAL_UNAVAILABLE, exception.exceptionCode());
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("닫힌 저널에서 내려가지 않은 레코드를 기다리면 예외가 발생한다")
+    void await_after_close_throws(){
+        // given
+        PointJournal journal = PointJournal.open(directory, 1, 1L, 60_000L, false);
+        PointHistory history = journal.append(1L, 1000L, TransactionType.CHARGE, 1L);
+        journal.awaitDurable(history.id());
+
+        // when
+        journal.close();
+
+        // then
+        journal.awaitDurable(history.id());
+        PointException exception = assertThrows(PointException.class, () -> journal.awaitDurable(history.id() + 1));
+        assertEquals(ExceptionCode.JOURNAL_UNAVAILABLE, exception.exceptionCode());
+    }
+
+    private static long balanceOf(PointJournal journal, long userId) {
+        return journal.balances().stream()
+            .filter(userPoint -> userPoint.id() == userId)
+            .mapToLong(UserPoint::point)
+            .findFirst()
+            .orElse(0L);
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".log")).count();
+        }
+    }
+
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".log")).findFirst().orElseThrow();
+        }
+    }
+}
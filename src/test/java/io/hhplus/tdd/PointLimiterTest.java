@@ -0,0 +1,172 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.exception.PointException;
+import io.hhplus.tdd.point.limiter.AdaptiveConcurrencyLimiter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 충전/사용 동시 처리 수 제한 테스트
+ * - 처리 중인 요청은 완료되지 않은 CompletableFuture 로 붙잡아 둔다.
+ */
+public class PointLimiterTest {
+
+    @Test
+    @DisplayName("처리 중인 요청이 한도에 차면 다음 요청은 기다리지 않고 E010 으로 실패한다")
+    void exceed_limit_fail(){
+        // given - 한도 2, 유저당 한도 2
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 2, 1, 10, 60_000L, 1.0);
+        CompletableFuture<Long> first = new CompletableFuture<>();
+        CompletableFuture<Long> second = new CompletableFuture<>();
+        limiter.executeAsync(1L, () -> first);
+        limiter.executeAsync(2L, () -> second);
+
+        // when
+        PointException exception = assertThrows(PointException.class, () -> limiter.execute(3L, () -> 1000L));
+
+        // then
+        assertEquals(ExceptionCode.TOO_MANY_REQUESTS, exception.exceptionCode());
+        assertEquals(1, limiter.rejectedCount());
+        first.complete(1000L);
+        assertEquals(1000L, limiter.execute(3L, () -> 1000L));
+        second.complete(1000L);
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    @DisplayName("한 유저가 유저당 한도를 채워도 다른 유저의 요청은 처리된다")
+    void hot_user_does_not_starve_others(){
+        // given - 한도 10, 유저당 한도 2
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 10, 1, 10, 60_000L, 0.2);
+        CompletableFuture<Long> pending = new CompletableFuture<>();
+        limiter.executeAsync(1L, () -> pending);
+        limiter.executeAsync(1L, () -> pending);
+
+        // when
+        CompletableFuture<Long> hotUser = limiter.executeAsync(1L, () -> CompletableFuture.completedFuture(1000L));
+        long otherUser = limiter.execute(2L, () -> 1000L);
+
+        // then
+        CompletionException exception = assertThrows(CompletionException.class, hotUser::join);
+        assertEquals(ExceptionCode.TOO_MANY_REQUESTS, ((PointException) exception.getCause()).exceptionCode());
+        assertEquals(1000L, otherUser);
+        pending.complete(1000L);
+    }
+
+    @Test
+    @DisplayName("이체는 받는 유저의 유저당 한도에도 걸리고, 거절되면 보내는 유저의 자리도 돌려준다")
+    void pair_respects_both_user_limits(){
+        // given - 한도 10, 유저당 한도 2, 유저 2가 유저당 한도를 채웠다
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 10, 1, 10, 60_000L, 0.2);
+        CompletableFuture<Long> pending = new CompletableFuture<>();
+        limiter.executeAsync(2L, () -> pending);
+        limiter.executeAsync(2L, () -> pending);
+
+        // when - 유저 1이 유저 2에게 이체
+        PointException exception = assertThrows(PointException.class,
+            () -> limiter.executePair(1L, 2L, () -> 1000L));
+
+        // then - 유저 1의 자리는 남아 있지 않다
+        assertEquals(ExceptionCode.TOO_MANY_REQUESTS, exception.exceptionCode());
+        assertEquals(2, limiter.inFlight());
+        CompletableFuture<Long> firstPending = new CompletableFuture<>();
+        limiter.executeAsync(1L, () -> firstPending);
+        assertEquals(1000L, limiter.executePair(3L, 1L, () -> 1000L));
+        assertEquals(3, limiter.inFlight());
+        pending.complete(1000L);
+        firstPending.complete(1000L);
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    @DisplayName("락 대기 시간 초과로 실패하면 한도를 줄이고, 한도 가까이 빠르게 처리되면 한도를 늘린다")
+    void adjust_limit(){
+        // given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 10, 1, 20, 60_000L, 1.0);
+
+        // when - 락 대기 시간 초과
+        assertThrows(PointException.class, () -> limiter.execute(1L, () -> {
+            throw new PointException(ExceptionCode.LOCK_TIMEOUT);
+        }));
+
+        // then
+        assertEquals(9, limiter.limit());
+
+        // when - 한도의 절반 이상이 찬 상태에서 빠르게 처리
+        CompletableFuture<Long> pending = new CompletableFuture<>();
+        for (int i = 0; i < 4; i++) {
+            limiter.executeAsync(1L, () -> pending);
+        }
+        limiter.execute(1L, () -> 1000L);
+
+        // then
+        assertTrue(limiter.limit() > 9);
+        pending.complete(1000L);
+    }
+
+    @Test
+    @DisplayName("처리 시간이 목표를 넘으면 한도를 줄인다")
+    void slow_request_decrease_limit(){
+        // given - 목표 처리 시간 1ms
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 10, 1, 20, 1L, 1.0);
+
+        // when
+        limiter.execute(1L, () -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 1000L;
+        });
+
+        // then
+        assertEquals(9, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("함께 처리 중이던 요청이 모두 느리게 끝나도 한도는 한 번만 줄인다")
+    void concurrent_slow_requests_decrease_limit_once(){
+        // given - 목표 처리 시간 1ms, 요청 5개가 함께 처리 중이다
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 10, 1, 20, 1L, 1.0);
+        List<CompletableFuture<Long>> pendings = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            CompletableFuture<Long> pending = new CompletableFuture<>();
+            limiter.executeAsync(i, () -> pending);
+            pendings.add(pending);
+        }
+        sleep(20);
+
+        // when - 모두 목표보다 느리게 끝난다
+        pendings.forEach(pending -> pending.complete(1000L));
+
+        // then
+        assertEquals(9, limiter.limit());
+
+        // when - 줄인 뒤에 시작한 요청이 또 느리면 다시 줄인다
+        limiter.execute(1L, () -> {
+            sleep(20);
+            return 1000L;
+        });
+
+        // then
+        assertEquals(8, limiter.limit());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
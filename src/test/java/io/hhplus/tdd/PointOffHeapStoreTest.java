@@ -0,0 +1,93 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.OffHeapUserPointRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * off-heap 잔액 저장소 테스트
+ */
+public class PointOffHeapStoreTest {
+
+    @Test
+    @DisplayName("저장한 적 없는 유저는 0 포인트로 조회된다")
+    void select_absent_user(){
+        // given
+        OffHeapUserPointRepository repository = new OffHeapUserPointRepository(16);
+
+        // when
+        UserPoint userPoint = repository.selectById(1L);
+
+        // then
+        assertEquals(1L, userPoint.id());
+        assertEquals(0L, userPoint.point());
+    }
+
+    @Test
+    @DisplayName("저장한 잔액은 마지막 값으로 조회된다")
+    void insert_then_select(){
+        // given
+        OffHeapUserPointRepository repository = new OffHeapUserPointRepository(1_000);
+        for (long userId = 1; userId <= 1_000; userId++) {
+            repository.insertOrUpdate(userId, userId);
+            repository.insertOrUpdate(userId, userId * 10);
+        }
+
+        // when & then
+        for (long userId = 1; userId <= 1_000; userId++) {
+            assertEquals(userId * 10, repository.selectById(userId).point());
+        }
+        assertEquals(1_000, repository.size());
+    }
+
+    @Test
+    @DisplayName("예상 유저 수를 넘겨 채움 비율을 넘으면 예외가 발생한다")
+    void insert_beyond_capacity_fail(){
+        // given - 16 명이면 32 슬롯, 24 명까지 저장된다
+        OffHeapUserPointRepository repository = new OffHeapUserPointRepository(16);
+        for (long userId = 1; userId <= 24; userId++) {
+            repository.insertOrUpdate(userId, 100L);
+        }
+
+        // when & then
+        assertThrows(IllegalStateException.class, () -> repository.insertOrUpdate(25L, 100L));
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 쓰고 읽어도 쓰는 중인 값이 읽히지 않는다")
+    void concurrent_write_and_read() throws Exception {
+        // given - 잔액을 userId * 1000 + 스레드 번호 로 써서 읽은 값의 유저가 맞는지 확인한다
+        OffHeapUserPointRepository repository = new OffHeapUserPointRepository(10_000);
+        int threadCount = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < threadCount; thread++) {
+            long threadNo = thread;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    long userId = i % 5_000 + 1;
+                    repository.insertOrUpdate(userId, userId * 1000 + threadNo);
+                    assertEquals(userId, repository.selectById(userId).point() / 1000);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // then
+        assertEquals(5_000, repository.size());
+    }
+}
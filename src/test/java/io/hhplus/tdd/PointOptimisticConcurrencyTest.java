@@ -0,0 +1,291 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.exception.PointException;
+import io.hhplus.tdd.point.concurrency.OptimisticBalanceUpdater;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryPage;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import io.hhplus.tdd.point.repository.OptimisticUserPointRepository;
+import io.hhplus.tdd.point.repository.SequencePointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.summary.PointSummaryAggregator;
+import io.hhplus.tdd.point.validator.UserPointValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 낙관적(compare-and-swap) 잔액 변경 동시성 테스트
+ */
+public class PointOptimisticConcurrencyTest {
+    private static final int THREAD_COUNT = 32;
+
+    private MemoryUserPointRepository tableRepository;
+    private OptimisticUserPointRepository userPointRepository;
+    private IndexedPointHistoryRepository pointHistoryRepository;
+    private OptimisticBalanceUpdater balanceUpdater;
+    private PointService pointService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp(){
+        tableRepository = new MemoryUserPointRepository();
+        userPointRepository = new OptimisticUserPointRepository(tableRepository);
+        pointHistoryRepository = new IndexedPointHistoryRepository(new SequencePointHistoryRepository(1L));
+        balanceUpdater = new OptimisticBalanceUpdater(userPointRepository, 1_000, 100L, 10_000L);
+        pointService = new PointService(userPointRepository, pointHistoryRepository, balanceUpdater,
+            new PointMetrics(new SimpleMeterRegistry()), new PointSummaryAggregator());
+        executor = Executors.newFixedThreadPool(THREAD_COUNT);
+    }
+
+    @AfterEach
+    void tearDown(){
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("한 유저에게 동시에 1,000번 충전해도 충전 금액이 유실되지 않는다")
+    void concurrent_charge_no_lost_update() throws Exception {
+        // given
+        long userId = 1L;
+        int requestCount = 1_000;
+
+        // when
+        int succeeded = runConcurrently(requestCount, () -> pointService.charge(userId, 1000L));
+
+        // then
+        assertEquals(requestCount, succeeded);
+        assertEquals(requestCount * 1000L, pointService.point(userId).point());
+        assertEquals(requestCount, pointHistoryRepository.selectAllByUserId(userId).size());
+    }
+
+    @Test
+    @DisplayName("동시에 충전해도 최대 잔고를 넘지 않는다")
+    void concurrent_charge_never_exceed_max_balance() throws Exception {
+        // given - 100,000 씩 100번 충전하면 최대 잔고 2,000,000 까지 20번만 성공해야 한다
+        long userId = 1L;
+        long amount = 100_000L;
+
+        // when
+        int succeeded = runConcurrently(100, () -> pointService.charge(userId, amount));
+
+        // then
+        assertEquals(UserPointValidator.MAX_BALANCE / amount, succeeded);
+        assertEquals(UserPointValidator.MAX_BALANCE, pointService.point(userId).point());
+    }
+
+    @Test
+    @DisplayName("동시에 사용해도 잔액이 음수가 되지 않는다")
+    void concurrent_use_never_below_zero() throws Exception {
+        // given - 10,000 에서 1,000 씩 100번 사용하면 10번만 성공해야 한다
+        long userId = 1L;
+        pointService.charge(userId, 10_000L);
+
+        // when
+        int succeeded = runConcurrently(100, () -> pointService.use(userId, 1000L));
+
+        // then
+        assertEquals(10, succeeded);
+        assertEquals(0L, pointService.point(userId).point());
+        long used = pointHistoryRepository.selectAllByUserId(userId).stream()
+            .filter(history -> history.type() == TransactionType.USE)
+            .count();
+        assertEquals(10, used);
+    }
+
+    @Test
+    @DisplayName("조회한 뒤 다른 변경이 있었으면 compare-and-swap 은 실패한다")
+    void compare_and_set_fail_on_stale_snapshot(){
+        // given
+        long userId = 1L;
+        UserPoint snapshot = userPointRepository.selectById(userId);
+        userPointRepository.compareAndSet(userId, snapshot, 1000L);
+
+        // when
+        UserPoint stale = userPointRepository.compareAndSet(userId, snapshot, 2000L);
+
+        // then
+        assertNull(stale);
+        assertEquals(1000L, userPointRepository.selectById(userId).point());
+    }
+
+    @Test
+    @DisplayName("재시도 횟수를 모두 충돌하면 E011 로 실패한다")
+    void exhausted_retries_fail(){
+        // given - 계산할 때마다 다른 변경이 끼어든다
+        long userId = 1L;
+        OptimisticBalanceUpdater updater = new OptimisticBalanceUpdater(userPointRepository, 3, 10L, 10_000L);
+
+        // when
+        PointException exception = assertThrows(PointException.class, () -> updater.update(userId, beforeUserPoint -> {
+            userPointRepository.insertOrUpdate(userId, beforeUserPoint.point() + 1);
+            return beforeUserPoint.point() + 1000L;
+        }, updatedUserPoint -> {
+        }));
+
+        // then
+        assertEquals(ExceptionCode.UPDATE_CONFLICT, exception.exceptionCode());
+        assertEquals(3, updater.conflictCount());
+    }
+
+    @Test
+    @DisplayName("동시에 충전한 뒤 커서로 끝까지 조회하면 모든 내역을 id 순서대로 한 번씩 읽는다")
+    void page_through_histories_after_concurrent_charges() throws Exception {
+        // given
+        long userId = 1L;
+        int requestCount = 1_000;
+        runConcurrently(requestCount, () -> pointService.charge(userId, 1L));
+
+        // when - 37건씩 조회한다
+        List<Long> pagedIds = new ArrayList<>();
+        Long cursor = 0L;
+        while (cursor != null) {
+            PointHistoryPage page = pointService.pointHistoryPage(userId, cursor, 37, Long.MIN_VALUE, Long.MAX_VALUE);
+            page.histories().forEach(history -> pagedIds.add(history.id()));
+            cursor = page.nextCursor();
+        }
+
+        // then
+        assertEquals(requestCount, pagedIds.size());
+        for (int i = 1; i < pagedIds.size(); i++) {
+            assertTrue(pagedIds.get(i - 1) < pagedIds.get(i));
+        }
+        assertEquals(pagedIds, pointHistoryRepository.selectAllByUserId(userId).stream().map(PointHistory::id).toList());
+    }
+
+    @Test
+    @DisplayName("펜스 안의 작업이 끝날 때까지 잔액 변경은 기다리고, 펜스 안에서 저장소에 직접 쓴 잔액 위에 반영된다")
+    void exclusive_fence_blocks_compare_and_set_writers() throws Exception {
+        // given
+        long userId = 1L;
+        pointService.charge(userId, 1000L);
+        CountDownLatch fenced = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> exclusive = executor.submit(() -> balanceUpdater.executeExclusive(userId, () -> {
+            // 샤드 이관처럼 감싼 저장소에 직접 쓴다
+            tableRepository.insertOrUpdate(userId, 5000L);
+            fenced.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        fenced.await(5, TimeUnit.SECONDS);
+
+        // when
+        Future<UserPoint> charge = executor.submit(() -> pointService.charge(userId, 1000L));
+        Thread.sleep(100);
+
+        // then - 펜스가 풀리기 전에는 충전이 끝나지 않는다
+        assertFalse(charge.isDone());
+        release.countDown();
+        exclusive.get(5, TimeUnit.SECONDS);
+        assertEquals(6000L, charge.get(5, TimeUnit.SECONDS).point());
+        assertEquals(6000L, tableRepository.selectById(userId).point());
+    }
+
+    @Test
+    @DisplayName("동시 변경이 모두 끝나면 유저별 펜스가 남지 않는다")
+    void fences_are_removed_after_updates() throws Exception {
+        // given
+        int userCount = 100;
+
+        // when
+        AtomicInteger next = new AtomicInteger();
+        runConcurrently(1_000, () -> pointService.charge(next.getAndIncrement() % userCount + 1, 1L));
+
+        // then
+        assertEquals(0, balanceUpdater.activeFenceCount());
+        assertEquals(10L, pointService.point(1L).point());
+    }
+
+    @Test
+    @DisplayName("afterCommit 이 실패해도 순번이 넘어가 다음 변경의 afterCommit 이 실행된다")
+    void failed_after_commit_releases_turn() throws Exception {
+        // given - 동시에 10번 충전하고, 그중 세 번째로 실행되는 afterCommit 이 실패한다
+        long userId = 1L;
+        AtomicInteger afterCommits = new AtomicInteger();
+
+        // when
+        int succeeded = runConcurrently(10, () -> balanceUpdater.update(userId,
+            beforeUserPoint -> beforeUserPoint.point() + 1L,
+            updatedUserPoint -> {
+                if (afterCommits.incrementAndGet() == 3) {
+                    throw new PointException(ExceptionCode.OPERATION_FAILED);
+                }
+            }));
+
+        // then
+        assertEquals(9, succeeded);
+        assertEquals(10, afterCommits.get());
+        assertEquals(10L, userPointRepository.selectById(userId).point());
+        assertEquals(0, balanceUpdater.activeFenceCount());
+    }
+
+    /**
+     * task 를 동시에 count 번 실행하고, 정책 예외 없이 성공한 횟수를 돌려준다.
+     */
+    private int runConcurrently(int count, Supplier<UserPoint> task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    task.get();
+                    succeeded.incrementAndGet();
+                } catch (PointException e) {
+                    assertTrue(e.exceptionCode() != ExceptionCode.UPDATE_CONFLICT);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        return succeeded.get();
+    }
+
+    private static class MemoryUserPointRepository implements UserPointRepository {
+        private final ConcurrentHashMap<Long, UserPoint> table = new ConcurrentHashMap<>();
+
+        @Override
+        public UserPoint selectById(long id) {
+            return table.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        }
+    }
+}
@@ -1,12 +1,21 @@
 package io.hhplus.tdd;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.exception.PointException;
+import io.hhplus.tdd.point.concurrency.LockingBalanceUpdater;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.metrics.PointMetrics;
 import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryPage;
+import io.hhplus.tdd.point.model.PointSummary;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
 import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.summary.PointSummaryAggregator;
 import io.hhplus.tdd.point.model.TransactionType;
 import io.hhplus.tdd.point.model.UserPoint;
 import io.hhplus.tdd.point.validator.UserPointValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,9 +40,11 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 public class PointServiceTest {
     @Mock
-    private UserPointTable userPointRepository;
+    private UserPointRepository userPointRepository;
     @Mock
-    private PointHistoryTable pointHistoryRepository;
+    private PointHistoryRepository pointHistoryRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private PointSummaryAggregator pointSummaryAggregator;
     private PointService pointService;
 
     private static Stream<Arguments> provideAmountsForValidation() {
@@ -81,9 +92,21 @@ public class PointServiceTest {
         );
     }
 
+    private static Stream<Arguments> provideInvalidPageSizes() {
+        return Stream.of(
+            Arguments.of(0),
+            Arguments.of(PointService.MAX_PAGE_SIZE + 1)
+        );
+    }
+
     @BeforeEach
     void setUp(){
-        pointService = new PointService(userPointRepository, pointHistoryRepository);
+        meterRegistry = new SimpleMeterRegistry();
+        pointSummaryAggregator = new PointSummaryAggregator();
+        pointService = new PointService(
+            userPointRepository, pointHistoryRepository,
+            new LockingBalanceUpdater(userPointRepository, new UserLockManager(1000L)), new PointMetrics(meterRegistry),
+            pointSummaryAggregator);
     }
 
     @Test
@@ -123,6 +146,36 @@ public class PointServiceTest {
         assertEquals(mockPointHistories.size(), pointHistories.size());
     }
 
+    @Test
+    @DisplayName("특정 유저의 포인트 내역을 커서 단위로 나누어 조회할 수 있다")
+    void pointHistoryPage() {
+        // given - limit 보다 한 건 더 조회되면 다음 페이지가 있다
+        long userId = 1L;
+        int limit = 2;
+        List<PointHistory> mockPointHistories = List.of(
+            new PointHistory(1L, userId, 1000L, TransactionType.CHARGE, 1L),
+            new PointHistory(2L, userId, 500L, TransactionType.USE, 2L),
+            new PointHistory(3L, userId, 300L, TransactionType.CHARGE, 3L)
+        );
+        when(pointHistoryRepository.selectPageByUserId(userId, 0L, limit + 1, Long.MIN_VALUE, Long.MAX_VALUE))
+            .thenReturn(mockPointHistories);
+
+        // when
+        PointHistoryPage page = pointService.pointHistoryPage(userId, 0L, limit, Long.MIN_VALUE, Long.MAX_VALUE);
+
+        // then
+        assertEquals(limit, page.histories().size());
+        assertEquals(2L, page.nextCursor());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideInvalidPageSizes")
+    @DisplayName("포인트 내역 조회 개수가 범위를 벗어나면 예외가 발생한다")
+    void pointHistoryPage_fail(int limit) {
+        assertThrows(PointException.class,
+            () -> pointService.pointHistoryPage(1L, 0L, limit, Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
     @ParameterizedTest
     @MethodSource("provideAmountsForValidation")
     @DisplayName("유효한 포인트 금액만 충전이 가능하다")
@@ -163,7 +216,7 @@ public class PointServiceTest {
         long userId = 1L;
 
         // then - 0 이하 금액 포인트 충전 시도 예외 검증
-        assertThrows(IllegalArgumentException.class, () -> pointService.charge(userId, requestAmount));
+        assertThrows(PointException.class, () -> pointService.charge(userId, requestAmount));
     }
 
     @ParameterizedTest
@@ -230,7 +283,7 @@ public class PointServiceTest {
         long userId = 1L;
 
         // when & then - 0 이하 금액 포인트 사용 시도 예외 검증
-        assertThrows(IllegalArgumentException.class, () -> pointService.use(userId, requestAmount));
+        assertThrows(PointException.class, () -> pointService.use(userId, requestAmount));
     }
 
     @ParameterizedTest
@@ -269,6 +322,49 @@ public class PointServiceTest {
         when(userPointRepository.selectById(userId)).thenReturn(beforeMockUserPoint);
 
         // when & then - 포인트 사용 수행 후 잔고 부족 에러 검증
-        assertThrows(IllegalArgumentException.class, () -> pointService.use(userId, requestAmount));
+        assertThrows(PointException.class, () -> pointService.use(userId, requestAmount));
+    }
+
+    @Test
+    @DisplayName("포인트 사용 실패 시 실패 코드별 지표가 기록된다")
+    void use_fail_records_failure_metrics(){
+        // given - 잔고 부족 상황 목업 준비
+        long userId = 1L;
+        when(userPointRepository.selectById(userId)).thenReturn(new UserPoint(userId, 100L, System.currentTimeMillis()));
+
+        // when - 잔고보다 많은 포인트 사용 시도
+        assertThrows(PointException.class, () -> pointService.use(userId, 1000L));
+
+        // then - 실패 건수와 처리 시간이 기록된다
+        assertEquals(1.0, meterRegistry.get("point.operation.failures")
+            .tags("operation", "use", "code", ExceptionCode.INSUFFICIENT_BALANCE.code())
+            .counter().count());
+        assertEquals(1L, meterRegistry.get("point.operation")
+            .tags("operation", "use", "outcome", "failure")
+            .timer().count());
+    }
+
+    @Test
+    @DisplayName("충전/사용에 성공하면 유저의 요약 누계가 갱신된다")
+    void charge_and_use_update_summary(){
+        // given
+        long userId = 1L;
+        when(userPointRepository.selectById(userId))
+            .thenReturn(new UserPoint(userId, 0L, 0L))
+            .thenReturn(new UserPoint(userId, 1000L, 0L));
+        when(userPointRepository.insertOrUpdate(userId, 1000L)).thenReturn(new UserPoint(userId, 1000L, 0L));
+        when(userPointRepository.insertOrUpdate(userId, 700L)).thenReturn(new UserPoint(userId, 700L, 0L));
+
+        // when
+        pointService.charge(userId, 1000L);
+        pointService.use(userId, 300L);
+
+        // then
+        PointSummary summary = pointSummaryAggregator.summary(userId);
+        assertEquals(1000L, summary.totalCharged());
+        assertEquals(300L, summary.totalUsed());
+        assertEquals(1L, summary.chargeCount());
+        assertEquals(1L, summary.useCount());
+        assertTrue(summary.lastActivityMillis() > 0);
     }
 }
@@ -0,0 +1,246 @@
+package io.hhplus.tdd;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointOperation;
+import io.hhplus.tdd.point.model.PointOperationResult;
+import io.hhplus.tdd.point.model.ShardStatus;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.model.UserShardState;
+import io.hhplus.tdd.point.shard.ShardClient;
+import io.hhplus.tdd.point.shard.ShardNode;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * 샤딩 클러스터 테스트
+ * - 같은 JVM 에서 localhost 포트를 달리해 노드 두 개를 띄운다.
+ */
+public class PointShardClusterTest {
+    private static final int USER_COUNT = 200;
+    private static final long INITIAL_AMOUNT = 1000L;
+    private static final String SECRET = "cluster-test-secret";
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown(){
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    @DisplayName("합류한 노드가 자기 몫의 잔액과 내역을 넘겨받고, 어느 노드로 요청해도 같은 결과를 받는다")
+    void joined_node_takes_over_users() throws Exception {
+        // given - node-1 하나로 충전해 둔다
+        int port1 = freePort();
+        int port2 = freePort();
+        String node1 = "node-1=http://localhost:" + port1;
+        String node2 = "node-2=http://localhost:" + port2;
+        startNode(port1, "node-1", node1, false);
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            patch(port1, "/point/" + userId + "/charge", INITIAL_AMOUNT);
+        }
+
+        // when - node-2 가 합류한다
+        startNode(port2, "node-2", node1 + "," + node2, true);
+        awaitJoined(port2);
+
+        // then
+        ShardStatus ring = get(port1, "/shard/ring", new TypeReference<>() {});
+        assertEquals(2, ring.nodes().size());
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            for (int port : List.of(port1, port2)) {
+                UserPoint userPoint = get(port, "/point/" + userId, new TypeReference<>() {});
+                List<PointHistory> histories = get(port, "/point/" + userId + "/histories", new TypeReference<>() {});
+                assertEquals(INITIAL_AMOUNT, userPoint.point());
+                assertEquals(1, histories.size());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("두 노드로 같은 유저에게 동시에 충전해도 유실되는 충전이 없다")
+    void concurrent_charges_through_both_nodes() throws Exception {
+        // given
+        int port1 = freePort();
+        int port2 = freePort();
+        String nodeList = "node-1=http://localhost:" + port1 + ",node-2=http://localhost:" + port2;
+        startNode(port1, "node-1", nodeList, false);
+        startNode(port2, "node-2", nodeList, false);
+        int chargesPerUser = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+
+        // when - 유저마다 절반은 node-1, 절반은 node-2 로 충전한다
+        List<Future<?>> futures = new ArrayList<>();
+        for (long userId = 1; userId <= 20; userId++) {
+            for (int i = 0; i < chargesPerUser; i++) {
+                long id = userId;
+                int port = i % 2 == 0 ? port1 : port2;
+                futures.add(executor.submit(() -> patch(port, "/point/" + id + "/charge", 100L)));
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // then
+        for (long userId = 1; userId <= 20; userId++) {
+            UserPoint fromNode1 = get(port1, "/point/" + userId, new TypeReference<>() {});
+            UserPoint fromNode2 = get(port2, "/point/" + userId, new TypeReference<>() {});
+            assertEquals(100L * chargesPerUser, fromNode1.point());
+            assertEquals(fromNode1.point(), fromNode2.point());
+        }
+    }
+
+    @Test
+    @DisplayName("일괄 요청은 유저를 맡은 노드별로 나눠 처리되고 요청 순서대로 결과를 받는다")
+    void batch_is_split_by_owner() throws Exception {
+        // given
+        int port1 = freePort();
+        int port2 = freePort();
+        String nodeList = "node-1=http://localhost:" + port1 + ",node-2=http://localhost:" + port2;
+        startNode(port1, "node-1", nodeList, false);
+        startNode(port2, "node-2", nodeList, false);
+        List<PointOperation> operations = new ArrayList<>();
+        for (long userId = 1; userId <= 50; userId++) {
+            operations.add(new PointOperation(userId, TransactionType.CHARGE, 500L));
+            operations.add(new PointOperation(userId, TransactionType.USE, 200L));
+        }
+
+        // when
+        List<PointOperationResult> results = post(port1, "/point/batch", operations, new TypeReference<>() {});
+
+        // then
+        assertEquals(operations.size(), results.size());
+        for (int i = 0; i < operations.size(); i++) {
+            assertTrue(results.get(i).success());
+            assertEquals(operations.get(i).userId(), results.get(i).userId());
+            assertEquals(operations.get(i).type(), results.get(i).type());
+        }
+        for (long userId = 1; userId <= 50; userId++) {
+            UserPoint userPoint = get(port2, "/point/" + userId, new TypeReference<>() {});
+            assertEquals(300L, userPoint.point());
+        }
+    }
+
+    @Test
+    @DisplayName("비밀값이 없거나 틀린 노드 호출은 거절하고, 합류 중이 아닌 노드는 유저 상태를 넘겨받지 않는다")
+    void unauthenticated_shard_calls_are_rejected() throws Exception {
+        // given
+        int port1 = freePort();
+        int port2 = freePort();
+        String nodeList = "node-1=http://localhost:" + port1 + ",node-2=http://localhost:" + port2;
+        startNode(port1, "node-1", nodeList, false);
+        startNode(port2, "node-2", nodeList, false);
+        UserShardState state = new UserShardState(1L, new UserPoint(1L, 1_000_000L, 1L),
+            List.of(new PointHistory(1L, 1L, 1_000_000L, TransactionType.CHARGE, 1L)));
+
+        // when
+        int withoutSecret = postStatus(port1, "/shard/import", state, "node-2", null);
+        int wrongSecret = postStatus(port1, "/shard/import", state, "node-2", "wrong-" + SECRET);
+        int handoffWithoutSecret = postStatus(port1, "/shard/handoff", new ShardNode("node-3", "http://localhost:1"), "node-3", null);
+        int notPreviousOwner = postStatus(port1, "/shard/import", state, "node-2", SECRET);
+
+        // then
+        assertEquals(401, withoutSecret);
+        assertEquals(401, wrongSecret);
+        assertEquals(401, handoffWithoutSecret);
+        assertEquals(403, notPreviousOwner);
+        for (int port : List.of(port1, port2)) {
+            UserPoint userPoint = get(port, "/point/1", new TypeReference<>() {});
+            assertEquals(0L, userPoint.point());
+        }
+    }
+
+    private void startNode(int port, String nodeId, String nodeList, boolean join) {
+        nodes.add(new SpringApplicationBuilder(TddApplication.class)
+            .properties(
+                "server.port=" + port,
+                "point.shard.enabled=true",
+                "point.shard.node-id=" + nodeId,
+                "point.shard.nodes=" + nodeList,
+                "point.shard.join=" + join,
+                "point.shard.secret=" + SECRET)
+            .run());
+    }
+
+    private void awaitJoined(int port) throws Exception {
+        for (int i = 0; i < 100; i++) {
+            ShardStatus status = get(port, "/shard/ring", new TypeReference<>() {});
+            if (!status.joining()) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        fail("node-2 합류가 끝나지 않았습니다.");
+    }
+
+    private UserPoint patch(int port, String path, long amount) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .header("Content-Type", "application/json")
+            .method("PATCH", HttpRequest.BodyPublishers.ofString(Long.toString(amount)))
+            .build();
+        return read(httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray()), new TypeReference<>() {});
+    }
+
+    private <T> T get(int port, String path, TypeReference<T> type) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+        return read(httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray()), type);
+    }
+
+    private <T> T post(int port, String path, Object body, TypeReference<T> type) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+            .build();
+        return read(httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray()), type);
+    }
+
+    /**
+     * 노드인 척 보내고 응답 상태만 돌려준다. secret 이 null 이면 비밀값 헤더를 붙이지 않는다.
+     */
+    private int postStatus(int port, String path, Object body, String fromNodeId, String secret) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .header("Content-Type", "application/json")
+            .header(ShardClient.FROM_HEADER, fromNodeId)
+            .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        if (secret != null) {
+            builder.header(ShardClient.SECRET_HEADER, secret);
+        }
+        return httpClient.send(builder.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private <T> T read(HttpResponse<byte[]> response, TypeReference<T> type) throws IOException {
+        assertEquals(200, response.statusCode(), new String(response.body()));
+        return objectMapper.readValue(response.body(), type);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package io.hhplus.tdd;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.exception.PointException;
+import io.hhplus.tdd.point.concurrency.LockingBalanceUpdater;
+import io.hhplus.tdd.point.journal.PointJournal;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.model.UserShardState;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import io.hhplus.tdd.point.repository.JournaledPointHistoryRepository;
+import io.hhplus.tdd.point.repository.SequencePointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.shard.ShardClient;
+import io.hhplus.tdd.point.shard.ShardNode;
+import io.hhplus.tdd.point.shard.ShardRouter;
+import io.hhplus.tdd.point.summary.PointSummaryAggregator;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 샤드 이관 테스트
+ * - 노드 간 호출은 넘긴 상태를 모아두는 ShardClient 로 대신한다.
+ * - 재시작 테스트는 저널을 닫고 다시 열어 재생한 결과를 확인한다.
+ */
+public class PointShardHandOffTest {
+    private static final String NODES = "node-1=http://localhost:8081";
+    private static final ShardNode JOINER = new ShardNode("node-2", "http://localhost:8082");
+
+    @TempDir
+    Path directory;
+
+    private UserPointRepository userPointRepository;
+    private IndexedPointHistoryRepository pointHistoryRepository;
+    private PointSummaryAggregator pointSummaryAggregator;
+    private RecordingShardClient shardClient;
+    private ShardRouter shardRouter;
+
+    @BeforeEach
+    void setUp(){
+        userPointRepository = new MemoryUserPointRepository();
+        pointHistoryRepository = new IndexedPointHistoryRepository(new SequencePointHistoryRepository(1L));
+        pointSummaryAggregator = new PointSummaryAggregator();
+        shardClient = new RecordingShardClient();
+        shardRouter = new ShardRouter(true, "node-1", NODES + "," + JOINER.id() + "=" + JOINER.url(), 128, true,
+            userPointRepository, pointHistoryRepository, pointSummaryAggregator,
+            new LockingBalanceUpdater(userPointRepository, new UserLockManager(1000L)), shardClient);
+    }
+
+    @Test
+    @DisplayName("넘겨받은 내역은 이전 노드의 id 그대로 저장되고 요약도 함께 맞춰진다")
+    void import_keeps_history_ids(){
+        // given - 이전 노드에서 id 101, 205 로 발급된 내역
+        List<PointHistory> histories = List.of(
+            new PointHistory(101L, 1L, 1000L, TransactionType.CHARGE, 1L),
+            new PointHistory(205L, 1L, 300L, TransactionType.USE, 2L));
+
+        // when
+        shardRouter.importState("node-2", new UserShardState(1L, new UserPoint(1L, 700L, 2L), histories));
+
+        // then
+        assertEquals(700L, userPointRepository.selectById(1L).point());
+        assertEquals(histories, pointHistoryRepository.selectAllByUserId(1L));
+        assertEquals(List.of(histories.get(1)), pointHistoryRepository.selectPageByUserId(1L, 101L, 10, Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(1000L, pointSummaryAggregator.summary(1L).totalCharged());
+        assertEquals(300L, pointSummaryAggregator.summary(1L).totalUsed());
+    }
+
+    @Test
+    @DisplayName("합류 전 링에서 유저를 맡던 노드가 아니면 넘겨주는 상태를 받지 않는다")
+    void import_from_other_node_rejected(){
+        // given
+        UserShardState state = new UserShardState(1L, new UserPoint(1L, 700L, 2L),
+            List.of(new PointHistory(101L, 1L, 700L, TransactionType.CHARGE, 1L)));
+
+        // when
+        PointException exception = assertThrows(PointException.class, () -> shardRouter.importState("node-3", state));
+
+        // then
+        assertEquals(ExceptionCode.SHARD_IMPORT_REJECTED, exception.exceptionCode());
+        assertEquals(0L, userPointRepository.selectById(1L).point());
+        assertTrue(pointHistoryRepository.selectAllByUserId(1L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("이체하는 두 유저의 담당 노드가 다르면 E013(421) 으로 실패하고 이체를 실행하지 않는다")
+    void cross_node_transfer_rejected(){
+        // given - node-1, node-2 가 나눠 맡는 링에서 node-1 몫 유저와 node-2 몫 유저
+        ShardRouter router = new ShardRouter(true, "node-1", NODES + "," + JOINER.id() + "=" + JOINER.url(), 128, false,
+            userPointRepository, pointHistoryRepository, pointSummaryAggregator,
+            new LockingBalanceUpdater(userPointRepository, new UserLockManager(1000L)), shardClient);
+        long localUserId = 1L;
+        while (!router.isLocal(localUserId, null)) {
+            localUserId++;
+        }
+        long remoteUserId = 1L;
+        while (router.isLocal(remoteUserId, null)) {
+            remoteUserId++;
+        }
+        long fromUserId = localUserId;
+        long toUserId = remoteUserId;
+        boolean[] executed = {false};
+
+        // when
+        PointException exception = assertThrows(PointException.class,
+            () -> router.executeLocal(fromUserId, toUserId, null, () -> executed[0] = true));
+
+        // then
+        assertEquals(ExceptionCode.TRANSFER_NOT_LOCAL, exception.exceptionCode());
+        assertEquals(421, ExceptionCode.TRANSFER_NOT_LOCAL.status());
+        assertFalse(executed[0]);
+        assertTrue(router.executeLocal(fromUserId, fromUserId, null, () -> executed[0] = true));
+    }
+
+    @Test
+    @DisplayName("합류 노드가 받았다고 응답한 유저는 이 노드의 잔액/내역/요약을 지운다")
+    void handed_off_users_are_dropped(){
+        // given
+        for (long userId = 1; userId <= 100; userId++) {
+            chargeLocally(userId, 1000L);
+        }
+        ShardRouter plain = new ShardRouter(true, "node-1", NODES, 128, false, userPointRepository, pointHistoryRepository,
+            pointSummaryAggregator, new LockingBalanceUpdater(userPointRepository, new UserLockManager(1000L)), shardClient);
+
+        // when
+        int moved = plain.handOffTo(JOINER);
+
+        // then
+        assertEquals(shardClient.imported.size(), moved);
+        assertTrue(moved > 0 && moved < 100);
+        for (UserShardState state : shardClient.imported) {
+            assertEquals(1000L, state.userPoint().point());
+            assertEquals(1, state.histories().size());
+            assertEquals(0L, userPointRepository.selectById(state.userId()).point());
+            assertTrue(pointHistoryRepository.selectAllByUserId(state.userId()).isEmpty());
+            assertEquals(0L, pointSummaryAggregator.summary(state.userId()).totalCharged());
+        }
+        assertEquals(100 - moved, pointHistoryRepository.userIds().size());
+    }
+
+    @Test
+    @DisplayName("합류 노드로 넘기지 못하면 이 노드의 상태를 그대로 둔다")
+    void failed_handoff_keeps_state(){
+        // given
+        for (long userId = 1; userId <= 100; userId++) {
+            chargeLocally(userId, 1000L);
+        }
+        shardClient.failing = true;
+        ShardRouter plain = new ShardRouter(true, "node-1", NODES, 128, false, userPointRepository, pointHistoryRepository,
+            pointSummaryAggregator, new LockingBalanceUpdater(userPointRepository, new UserLockManager(1000L)), shardClient);
+
+        // when
+        assertThrows(IllegalStateException.class, () -> plain.handOffTo(JOINER));
+
+        // then
+        assertEquals(100, pointHistoryRepository.userIds().size());
+        for (long userId = 1; userId <= 100; userId++) {
+            assertEquals(1000L, userPointRepository.selectById(userId).point());
+            assertEquals(1000L, pointSummaryAggregator.summary(userId).totalCharged());
+        }
+    }
+
+    @Test
+    @DisplayName("넘긴 유저는 저널에 지운 기록이 남아, 이전 노드가 재시작해도 잔액과 내역이 되살아나지 않는다")
+    void handed_off_users_stay_dropped_after_restart(){
+        // given - 저널에 기록하는 노드
+        PointJournal journal = PointJournal.open(directory, 1, 1L, 60_000L, false);
+        IndexedPointHistoryRepository journaled =
+            new IndexedPointHistoryRepository(new JournaledPointHistoryRepository(new SequencePointHistoryRepository(1L), journal));
+        for (long userId = 1; userId <= 100; userId++) {
+            userPointRepository.insertOrUpdate(userId, 1000L);
+            journaled.insert(userId, 1000L, TransactionType.CHARGE, 1L);
+        }
+        ShardRouter plain = new ShardRouter(true, "node-1", NODES, 128, false, userPointRepository, journaled,
+            pointSummaryAggregator, new LockingBalanceUpdater(userPointRepository, new UserLockManager(1000L)), shardClient);
+        int moved = plain.handOffTo(JOINER);
+        journal.close();
+
+        // when - 다시 열어 저널을 재생한다
+        PointJournal recovered = PointJournal.open(directory, 1, 1L, 60_000L, false);
+        IndexedPointHistoryRepository replayed = new IndexedPointHistoryRepository(new SequencePointHistoryRepository(1L));
+        recovered.replay(replayed::restore, replayed::remove);
+
+        // then
+        assertTrue(moved > 0 && moved < 100);
+        assertEquals(100 - moved, replayed.userIds().size());
+        assertEquals(100 - moved, recovered.balances().size());
+        for (UserShardState state : shardClient.imported) {
+            assertTrue(replayed.selectAllByUserId(state.userId()).isEmpty());
+            assertTrue(recovered.balances().stream().noneMatch(userPoint -> userPoint.id() == state.userId()));
+        }
+        recovered.close();
+    }
+
+    @Test
+    @DisplayName("넘겨받은 잔액과 내역은 저널에 남아, 합류 노드가 재시작해도 원래 id 그대로 복구된다")
+    void imported_users_survive_restart(){
+        // given - 저널에 기록하는 합류 노드가 같은 유저를 두 번 넘겨받는다 (이관 재시도)
+        PointJournal journal = PointJournal.open(directory, 1, 1L, 60_000L, false);
+        IndexedPointHistoryRepository journaled =
+            new IndexedPointHistoryRepository(new JournaledPointHistoryRepository(new SequencePointHistoryRepository(1L), journal));
+        ShardRouter joiner = new ShardRouter(true, "node-1", NODES + "," + JOINER.id() + "=" + JOINER.url(), 128, true,
+            userPointRepository, journaled, pointSummaryAggregator,
+            new LockingBalanceUpdater(userPointRepository, new UserLockManager(1000L)), shardClient);
+        List<PointHistory> histories = List.of(
+            new PointHistory(101L, 1L, 1000L, TransactionType.CHARGE, 1L),
+            new PointHistory(205L, 1L, 300L, TransactionType.USE, 2L));
+        UserShardState state = new UserShardState(1L, new UserPoint(1L, 700L, 2L), histories);
+        joiner.importState("node-2", state);
+        joiner.importState("node-2", state);
+        journal.close();
+
+        // when
+        PointJournal recovered = PointJournal.open(directory, 1, 1L, 60_000L, false);
+        IndexedPointHistoryRepository replayed = new IndexedPointHistoryRepository(new SequencePointHistoryRepository(1L));
+        recovered.replay(replayed::restore, replayed::remove);
+
+        // then
+        assertEquals(histories, replayed.selectAllByUserId(1L));
+        assertEquals(List.of(new UserPoint(1L, 700L, 2L)), List.copyOf(recovered.balances()));
+        recovered.close();
+    }
+
+    private void chargeLocally(long userId, long amount) {
+        userPointRepository.insertOrUpdate(userId, amount);
+        pointHistoryRepository.insert(userId, amount, TransactionType.CHARGE, 1L);
+        pointSummaryAggregator.record(userId, TransactionType.CHARGE, amount, 1L);
+    }
+
+    private static class RecordingShardClient extends ShardClient {
+        private final List<UserShardState> imported = new ArrayList<>();
+        private boolean failing;
+
+        private RecordingShardClient() {
+            super(new ObjectMapper(), "secret", 1000L, 1000L);
+        }
+
+        @Override
+        public void importState(ShardNode target, String fromNodeId, UserShardState state) {
+            if (failing) {
+                throw new IllegalStateException("샤드 노드 " + target.id() + " 호출 실패");
+            }
+            imported.add(state);
+        }
+    }
+
+    private static class MemoryUserPointRepository implements UserPointRepository {
+        private final ConcurrentHashMap<Long, UserPoint> table = new ConcurrentHashMap<>();
+
+        @Override
+        public UserPoint selectById(long id) {
+            return table.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.SingleFlightUserPointRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 잔액 조회 합치기(single-flight) 테스트
+ */
+public class PointSingleFlightTest {
+    private BlockingUserPointRepository tableRepository;
+    private SingleFlightUserPointRepository singleFlightRepository;
+
+    @BeforeEach
+    void setUp(){
+        tableRepository = new BlockingUserPointRepository();
+        singleFlightRepository = new SingleFlightUserPointRepository(tableRepository);
+    }
+
+    @Test
+    @DisplayName("같은 유저를 동시에 1000번 조회하면 저장소는 한 번만 조회된다")
+    void concurrent_reads_share_one_call() throws Exception {
+        // given
+        int threadCount = 1000;
+        long userId = 1L;
+        tableRepository.insertOrUpdate(userId, 1000L);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+        // when - 첫 조회가 끝나지 않은 동안 나머지 조회가 모두 합류한 뒤에 풀어준다
+        List<Future<UserPoint>> futures = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            futures.add(executor.submit(() -> singleFlightRepository.selectById(userId)));
+        }
+        waitUntil(() -> singleFlightRepository.coalescedCount() == threadCount - 1);
+        tableRepository.release.countDown();
+
+        // then
+        for (Future<UserPoint> future : futures) {
+            assertEquals(1000L, future.get(5, TimeUnit.SECONDS).point());
+        }
+        assertEquals(1, tableRepository.selectCount.get());
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("충전/사용이 끝난 뒤의 조회는 그 전에 시작된 조회에 합류하지 않고 새 잔액을 받는다")
+    void read_after_write_does_not_join_stale_flight() throws Exception {
+        // given - 잔액 1000 을 읽는 조회가 진행 중
+        long userId = 1L;
+        tableRepository.insertOrUpdate(userId, 1000L);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<UserPoint> staleRead = executor.submit(() -> singleFlightRepository.selectById(userId));
+        waitUntil(() -> tableRepository.selectCount.get() == 1);
+
+        // when
+        singleFlightRepository.insertOrUpdate(userId, 1500L);
+        Future<UserPoint> freshRead = executor.submit(() -> singleFlightRepository.selectById(userId));
+        waitUntil(() -> tableRepository.selectCount.get() == 2);
+        tableRepository.release.countDown();
+
+        // then
+        assertEquals(1500L, freshRead.get(5, TimeUnit.SECONDS).point());
+        staleRead.get(5, TimeUnit.SECONDS);
+        assertEquals(0, singleFlightRepository.coalescedCount());
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("조회가 실패하면 합류한 조회도 같은 예외를 받고, 다음 조회는 다시 저장소를 조회한다")
+    void failure_is_shared_and_not_cached() throws Exception {
+        // given
+        long userId = 1L;
+        tableRepository.failure = new IllegalStateException("table unavailable");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<UserPoint> leader = executor.submit(() -> singleFlightRepository.selectById(userId));
+        waitUntil(() -> tableRepository.selectCount.get() == 1);
+        Future<UserPoint> follower = executor.submit(() -> singleFlightRepository.selectById(userId));
+        waitUntil(() -> singleFlightRepository.coalescedCount() == 1);
+
+        // when
+        tableRepository.release.countDown();
+
+        // then
+        for (Future<UserPoint> future : List.of(leader, follower)) {
+            Exception exception = assertThrows(Exception.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof IllegalStateException);
+        }
+        tableRepository.failure = null;
+        assertEquals(0L, singleFlightRepository.selectById(userId).point());
+        assertEquals(2, tableRepository.selectCount.get());
+        executor.shutdown();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "조건을 기다리다 시간이 초과되었습니다.");
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * release 가 열릴 때까지 조회를 붙잡아 두는 저장소
+     */
+    private static class BlockingUserPointRepository implements UserPointRepository {
+        private final ConcurrentHashMap<Long, UserPoint> table = new ConcurrentHashMap<>();
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger selectCount = new AtomicInteger();
+        private volatile RuntimeException failure;
+
+        @Override
+        public UserPoint selectById(long id) {
+            selectCount.incrementAndGet();
+            // 붙잡기 전에 값을 읽어 두어, 쓰기 전에 시작된 조회가 이전 잔액을 돌려주게 한다
+            UserPoint userPoint = table.getOrDefault(id, UserPoint.empty(id));
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return userPoint;
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.concurrency.LockingBalanceUpdater;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.model.PointSummary;
+import io.hhplus.tdd.point.model.PointSummaryRebuildResult;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import io.hhplus.tdd.point.repository.SequencePointHistoryRepository;
+import io.hhplus.tdd.point.service.PointSummaryService;
+import io.hhplus.tdd.point.summary.PointSummaryAggregator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 포인트 요약 테스트
+ */
+public class PointSummaryServiceTest {
+    private IndexedPointHistoryRepository pointHistoryRepository;
+    private PointSummaryAggregator pointSummaryAggregator;
+    private PointSummaryService pointSummaryService;
+
+    @BeforeEach
+    void setUp(){
+        pointHistoryRepository = new IndexedPointHistoryRepository(new SequencePointHistoryRepository(1L));
+        pointSummaryAggregator = new PointSummaryAggregator();
+        // 요약 재계산은 잔액을 읽지 않으므로 유저 포인트 저장소 없이 유저 락만 쓴다
+        pointSummaryService = new PointSummaryService(pointSummaryAggregator, pointHistoryRepository,
+            new LockingBalanceUpdater(null, new UserLockManager(1000L)));
+    }
+
+    @Test
+    @DisplayName("거래가 없는 유저의 요약은 모두 0 이다")
+    void summary_of_unknown_user(){
+        // when
+        PointSummary summary = pointSummaryService.summary(1L);
+
+        // then
+        assertEquals(PointSummary.empty(1L), summary);
+    }
+
+    @Test
+    @DisplayName("요약을 다시 계산하면 내역의 누계와 같아진다")
+    void rebuild_from_histories(){
+        // given - 내역만 있고 누계는 비어있는 상태 (재시작 후)
+        int userCount = 500;
+        for (long userId = 1; userId <= userCount; userId++) {
+            pointHistoryRepository.insert(userId, 1000L, TransactionType.CHARGE, 1L);
+            pointHistoryRepository.insert(userId, 1000L, TransactionType.CHARGE, 2L);
+            pointHistoryRepository.insert(userId, 300L, TransactionType.USE, 3L);
+        }
+
+        // when
+        PointSummaryRebuildResult result = pointSummaryService.rebuild();
+
+        // then
+        assertEquals(userCount, result.userCount());
+        assertEquals(userCount * 3L, result.historyCount());
+        assertEquals(new PointSummary(7L, 2000L, 300L, 2L, 1L, 0L, 0L, 3L), pointSummaryService.summary(7L));
+    }
+
+    @Test
+    @DisplayName("다시 계산하면 잘못 쌓인 누계가 내역 기준으로 바로잡힌다")
+    void rebuild_replaces_drifted_totals(){
+        // given
+        pointHistoryRepository.insert(1L, 1000L, TransactionType.CHARGE, 1L);
+        pointSummaryAggregator.record(1L, TransactionType.CHARGE, 1000L, 1L);
+        pointSummaryAggregator.record(1L, TransactionType.CHARGE, 1000L, 1L);
+
+        // when
+        pointSummaryService.rebuild();
+
+        // then
+        assertEquals(1000L, pointSummaryService.summary(1L).totalCharged());
+    }
+}
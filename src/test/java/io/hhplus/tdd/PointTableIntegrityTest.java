@@ -0,0 +1,70 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.service.PointService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Table 무결성 테스트
+ * - application.yml 구성 그대로 조립된 저장소(스레드 안전하지 않은 Table 포함)로 실행한다.
+ * - 같은 컨텍스트를 쓰는 다른 테스트와 겹치지 않도록 1000 번대 이후 유저 id 를 쓴다.
+ */
+@SpringBootTest
+public class PointTableIntegrityTest {
+    @Autowired
+    PointService pointService;
+
+    @Test
+    @DisplayName("설정대로 조립된 저장소로 100명의 유저에게 동시에 1,000번 충전해도 잔액과 내역이 유실되지 않고 내역 id 가 겹치지 않는다")
+    void concurrent_charge_keeps_table_rows() throws InterruptedException {
+        // given
+        int userCount = 100;
+        int requestCount = 1000;
+        long firstUserId = 1001L;
+        long chargeAmount = 100L;
+        ExecutorService executor = Executors.newFixedThreadPool(userCount);
+        CountDownLatch latch = new CountDownLatch(requestCount);
+        AtomicInteger failCount = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < requestCount; i++) {
+            long userId = firstUserId + i % userCount;
+            executor.submit(() -> {
+                try {
+                    pointService.charge(userId, chargeAmount);
+                } catch (Exception e) {
+                    failCount.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        assertTrue(latch.await(120, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        // then
+        assertEquals(0, failCount.get());
+        Set<Long> ids = new HashSet<>();
+        for (long userId = firstUserId; userId < firstUserId + userCount; userId++) {
+            assertEquals(chargeAmount * (requestCount / userCount), pointService.point(userId).point());
+            List<PointHistory> histories = pointService.pointHistory(userId);
+            assertEquals(requestCount / userCount, histories.size());
+            histories.forEach(history -> ids.add(history.id()));
+        }
+        assertEquals(requestCount, ids.size());
+    }
+}
@@ -0,0 +1,118 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.concurrency.LockingBalanceUpdater;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import io.hhplus.tdd.point.repository.SequencePointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.summary.PointSummaryAggregator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 스레드 수별 이체 처리량 벤치마크 (./gradlew benchmarkTest 로 실행)
+ * - 잔액 저장에 STORE_LATENCY_MICROS 만큼 걸리는 저장소로, 서로 다른 유저 사이의 무작위 이체를 스레드 수를 늘려가며 보낸다.
+ * - 관련 없는 이체끼리는 락을 나눠 갖지 않으므로 처리량이 스레드 수에 따라 늘어야 한다.
+ */
+@Tag("benchmark")
+public class PointTransferBenchmarkTest {
+    private static final int USER_COUNT = 10_000;
+    private static final int TRANSFER_COUNT = 10_000;
+    private static final long INITIAL_AMOUNT = 1_000_000L;
+    private static final long STORE_LATENCY_MICROS = 200L;
+
+    @Test
+    @DisplayName("관련 없는 이체는 병렬로 처리되어 스레드 수만큼 처리량이 늘어난다")
+    void transfer_throughput_scales_with_threads() throws Exception {
+        // when
+        double single = measureThroughput(1);
+        double parallel = 0;
+        for (int threadCount : List.of(2, 4, 8, 16)) {
+            parallel = measureThroughput(threadCount);
+        }
+
+        // then - 16 스레드면 적어도 4배는 빨라야 한다
+        assertTrue(parallel > single * 4, "single=" + single + " parallel=" + parallel);
+    }
+
+    private double measureThroughput(int threadCount) throws Exception {
+        // given
+        UserPointRepository userPointRepository = new LatencyUserPointRepository();
+        PointService pointService = new PointService(
+            userPointRepository,
+            new IndexedPointHistoryRepository(new SequencePointHistoryRepository(1L)),
+            new LockingBalanceUpdater(userPointRepository, new UserLockManager(30_000L)),
+            new PointMetrics(new SimpleMeterRegistry()),
+            new PointSummaryAggregator());
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            userPointRepository.insertOrUpdate(userId, INITIAL_AMOUNT);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(TRANSFER_COUNT);
+        for (int i = 0; i < TRANSFER_COUNT; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long from = random.nextLong(1, USER_COUNT + 1);
+                long to = random.nextLong(1, USER_COUNT);
+                return pointService.transfer(from, to >= from ? to + 1 : to, 100L);
+            }));
+        }
+
+        // when
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        executor.shutdown();
+
+        // then - 전체 포인트는 보존된다
+        long total = 0;
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            total += pointService.point(userId).point();
+        }
+        assertEquals(INITIAL_AMOUNT * USER_COUNT, total);
+        double throughput = TRANSFER_COUNT / (elapsedNanos / 1_000_000_000.0);
+        System.out.printf("threads=%d transfers=%,d elapsed=%d ms throughput=%.0f/s%n",
+            threadCount, TRANSFER_COUNT, elapsedNanos / 1_000_000, throughput);
+        return throughput;
+    }
+
+    private static class LatencyUserPointRepository implements UserPointRepository {
+        private final ConcurrentHashMap<Long, UserPoint> table = new ConcurrentHashMap<>();
+
+        @Override
+        public UserPoint selectById(long id) {
+            return table.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(STORE_LATENCY_MICROS));
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.exception.ExceptionCode;
+import io.hhplus.tdd.exception.PointException;
+import io.hhplus.tdd.point.concurrency.BalanceUpdater;
+import io.hhplus.tdd.point.concurrency.LockingBalanceUpdater;
+import io.hhplus.tdd.point.concurrency.OptimisticBalanceUpdater;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointTransferResult;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import io.hhplus.tdd.point.repository.OptimisticUserPointRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.SequencePointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.summary.PointSummaryAggregator;
+import io.hhplus.tdd.point.validator.UserPointValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 포인트 이체 테스트
+ */
+public class PointTransferTest {
+    private static final int THREAD_COUNT = 32;
+    private static final int USER_COUNT = 100;
+    private static final long INITIAL_AMOUNT = 100_000L;
+
+    private UserPointRepository userPointRepository;
+    private IndexedPointHistoryRepository pointHistoryRepository;
+    private PointService pointService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp(){
+        userPointRepository = new MemoryUserPointRepository();
+        pointService = newPointService(new LockingBalanceUpdater(userPointRepository, new UserLockManager(30_000L)));
+        executor = Executors.newFixedThreadPool(THREAD_COUNT);
+    }
+
+    @AfterEach
+    void tearDown(){
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("이체하면 보내는 유저는 사용, 받는 유저는 충전 내역이 남고 두 잔액이 함께 바뀐다")
+    void transfer_pass(){
+        // given
+        pointService.charge(1L, 10_000L);
+
+        // when
+        PointTransferResult result = pointService.transfer(1L, 2L, 3_000L);
+
+        // then
+        assertEquals(7_000L, result.from().point());
+        assertEquals(3_000L, result.to().point());
+        assertEquals(7_000L, pointService.point(1L).point());
+        assertEquals(3_000L, pointService.point(2L).point());
+        List<PointHistory> fromHistories = pointService.pointHistory(1L);
+        List<PointHistory> toHistories = pointService.pointHistory(2L);
+        assertEquals(TransactionType.USE, fromHistories.get(fromHistories.size() - 1).type());
+        assertEquals(1, toHistories.size());
+        assertEquals(TransactionType.CHARGE, toHistories.get(0).type());
+    }
+
+    @Test
+    @DisplayName("보내는 유저의 잔액이 부족하면 두 잔액 모두 바뀌지 않는다")
+    void transfer_insufficient_balance_fail(){
+        // given
+        pointService.charge(1L, 1_000L);
+
+        // when
+        PointException exception = assertThrows(PointException.class, () -> pointService.transfer(1L, 2L, 3_000L));
+
+        // then
+        assertEquals(ExceptionCode.INSUFFICIENT_BALANCE, exception.exceptionCode());
+        assertEquals(1_000L, pointService.point(1L).point());
+        assertEquals(0L, pointService.point(2L).point());
+        assertTrue(pointService.pointHistory(2L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("받는 유저가 최대 잔고를 넘게 되면 두 잔액 모두 바뀌지 않는다")
+    void transfer_exceed_max_balance_fail(){
+        // given
+        pointService.charge(1L, 10_000L);
+        pointService.charge(2L, UserPointValidator.MAX_BALANCE);
+
+        // when
+        PointException exception = assertThrows(PointException.class, () -> pointService.transfer(1L, 2L, 1L));
+
+        // then
+        assertEquals(ExceptionCode.EXCEED_MAX_BALANCE, exception.exceptionCode());
+        assertEquals(10_000L, pointService.point(1L).point());
+        assertEquals(UserPointValidator.MAX_BALANCE, pointService.point(2L).point());
+    }
+
+    @Test
+    @DisplayName("같은 유저에게 이체하거나 0 이하 금액을 이체하면 실패한다")
+    void transfer_invalid_request_fail(){
+        // when
+        PointException sameUser = assertThrows(PointException.class, () -> pointService.transfer(1L, 1L, 100L));
+        PointException invalidAmount = assertThrows(PointException.class, () -> pointService.transfer(1L, 2L, 0L));
+
+        // then
+        assertEquals(ExceptionCode.SAME_USER_TRANSFER, sameUser.exceptionCode());
+        assertEquals(ExceptionCode.INVALID_AMOUNT, invalidAmount.exceptionCode());
+    }
+
+    @Test
+    @DisplayName("두 유저가 서로에게 동시에 이체해도 교착 없이 모두 처리된다")
+    void crossing_transfers_no_deadlock() throws Exception {
+        // given
+        pointService.charge(1L, INITIAL_AMOUNT);
+        pointService.charge(2L, INITIAL_AMOUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // when - 1 → 2, 2 → 1 을 1,000번씩 동시에 보낸다
+        for (int i = 0; i < 2_000; i++) {
+            long from = i % 2 == 0 ? 1L : 2L;
+            long to = 3L - from;
+            futures.add(executor.submit(() -> {
+                start.await();
+                return pointService.transfer(from, to, 10L);
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        // then
+        assertEquals(INITIAL_AMOUNT, pointService.point(1L).point());
+        assertEquals(INITIAL_AMOUNT, pointService.point(2L).point());
+        assertEquals(1 + 2_000, pointService.pointHistory(1L).size());
+    }
+
+    @Test
+    @DisplayName("유저 락 : 무작위로 엇갈린 이체 10,000건 뒤에도 전체 포인트가 보존된다")
+    void random_transfers_conserve_total_with_lock() throws Exception {
+        assertRandomTransfersConserveTotal();
+    }
+
+    @Test
+    @DisplayName("optimistic : 무작위로 엇갈린 이체 10,000건 뒤에도 전체 포인트가 보존된다")
+    void random_transfers_conserve_total_with_optimistic() throws Exception {
+        // given
+        OptimisticUserPointRepository optimisticRepository = new OptimisticUserPointRepository(new MemoryUserPointRepository());
+        userPointRepository = optimisticRepository;
+        pointService = newPointService(new OptimisticBalanceUpdater(optimisticRepository, 1_000, 100L, 10_000L));
+
+        // when & then
+        assertRandomTransfersConserveTotal();
+    }
+
+    @Test
+    @DisplayName("optimistic : 이체와 충전이 동시에 몰려도 받는 유저의 잔액이 최대 잔고를 넘지 않는다")
+    void concurrent_transfers_and_charges_never_exceed_max_balance_with_optimistic() throws Exception {
+        // given - 받는 유저는 최대 잔고까지 10,000 남았다
+        OptimisticUserPointRepository optimisticRepository = new OptimisticUserPointRepository(new MemoryUserPointRepository());
+        userPointRepository = optimisticRepository;
+        pointService = newPointService(new OptimisticBalanceUpdater(optimisticRepository, 1_000, 100L, 10_000L));
+        long receiverId = 1L;
+        pointService.charge(receiverId, UserPointValidator.MAX_BALANCE - 10_000L);
+        for (long userId = 2; userId <= USER_COUNT; userId++) {
+            pointService.charge(userId, INITIAL_AMOUNT);
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // when - 보내는 유저마다 이체 1건과 받는 유저 충전 1건
+        for (long userId = 2; userId <= USER_COUNT; userId++) {
+            long from = userId;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    pointService.transfer(from, receiverId, 1_000L);
+                } catch (PointException e) {
+                    assertEquals(ExceptionCode.EXCEED_MAX_BALANCE, e.exceptionCode());
+                }
+                return null;
+            }));
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    pointService.charge(receiverId, 1_000L);
+                } catch (PointException e) {
+                    assertEquals(ExceptionCode.EXCEED_MAX_BALANCE, e.exceptionCode());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+
+        // then - 10건만 들어가고, 보낸 쪽에서 빠진 만큼만 받는 쪽에 들어갔다
+        assertEquals(UserPointValidator.MAX_BALANCE, pointService.point(receiverId).point());
+        long sent = 0;
+        for (long userId = 2; userId <= USER_COUNT; userId++) {
+            sent += INITIAL_AMOUNT - pointService.point(userId).point();
+        }
+        long charged = pointService.pointHistory(receiverId).stream()
+            .filter(pointHistory -> pointHistory.type() == TransactionType.CHARGE)
+            .mapToLong(PointHistory::amount)
+            .sum();
+        assertEquals(UserPointValidator.MAX_BALANCE, charged);
+        assertTrue(sent <= 10_000L);
+    }
+
+    @Test
+    @DisplayName("optimistic : 받는 유저 저장에 실패하면 두 잔액 모두 이체 전으로 돌아가고 내역이 남지 않는다")
+    void failed_second_save_restores_both_balances_with_optimistic() {
+        // given - 2번 유저 저장이 한 번 실패하는 저장소
+        MemoryUserPointRepository tableRepository = new MemoryUserPointRepository();
+        OptimisticUserPointRepository optimisticRepository = new OptimisticUserPointRepository(tableRepository);
+        userPointRepository = optimisticRepository;
+        pointService = newPointService(new OptimisticBalanceUpdater(optimisticRepository, 1_000, 100L, 10_000L));
+        pointService.charge(1L, 10_000L);
+        pointService.charge(2L, 5_000L);
+        tableRepository.failNextSave(2L);
+
+        // when
+        assertThrows(IllegalStateException.class, () -> pointService.transfer(1L, 2L, 3_000L));
+
+        // then
+        assertEquals(10_000L, pointService.point(1L).point());
+        assertEquals(5_000L, pointService.point(2L).point());
+        assertEquals(10_000L, tableRepository.selectById(1L).point());
+        assertEquals(5_000L, tableRepository.selectById(2L).point());
+        assertEquals(1, pointService.pointHistory(1L).size());
+        assertEquals(1, pointService.pointHistory(2L).size());
+    }
+
+    @Test
+    @DisplayName("유저 락 : 받는 유저 내역 저장에 실패하면 두 잔액이 돌아가고 보내는 유저의 사용 내역은 되돌려준 내역으로 상쇄된다")
+    void failed_history_restores_both_balances_with_lock() {
+        assertFailedHistoryRestoresBothBalances(new LockingBalanceUpdater(userPointRepository, new UserLockManager(30_000L)));
+    }
+
+    @Test
+    @DisplayName("optimistic : 받는 유저 내역 저장에 실패하면 두 잔액이 돌아가고 보내는 유저의 사용 내역은 되돌려준 내역으로 상쇄된다")
+    void failed_history_restores_both_balances_with_optimistic() {
+        OptimisticUserPointRepository optimisticRepository = new OptimisticUserPointRepository(new MemoryUserPointRepository());
+        userPointRepository = optimisticRepository;
+        assertFailedHistoryRestoresBothBalances(new OptimisticBalanceUpdater(optimisticRepository, 1_000, 100L, 10_000L));
+    }
+
+    private void assertFailedHistoryRestoresBothBalances(BalanceUpdater balanceUpdater) {
+        // given - 2번 유저 내역 저장이 한 번 실패하는 저장소
+        FailingPointHistoryRepository failingRepository = new FailingPointHistoryRepository(
+            new IndexedPointHistoryRepository(new SequencePointHistoryRepository(1L)));
+        pointService = new PointService(userPointRepository, failingRepository, balanceUpdater,
+            new PointMetrics(new SimpleMeterRegistry()), new PointSummaryAggregator());
+        pointService.charge(1L, 10_000L);
+        pointService.charge(2L, 5_000L);
+        failingRepository.failNextInsert(2L);
+
+        // when
+        assertThrows(IllegalStateException.class, () -> pointService.transfer(1L, 2L, 3_000L));
+
+        // then
+        assertEquals(10_000L, pointService.point(1L).point());
+        assertEquals(5_000L, pointService.point(2L).point());
+        assertEquals(List.of(TransactionType.CHARGE, TransactionType.USE, TransactionType.CHARGE),
+            pointService.pointHistory(1L).stream().map(PointHistory::type).toList());
+        assertEquals(1, pointService.pointHistory(2L).size());
+        for (long userId = 1; userId <= 2; userId++) {
+            long replayed = 0;
+            for (PointHistory pointHistory : pointService.pointHistory(userId)) {
+                replayed += pointHistory.type() == TransactionType.CHARGE ? pointHistory.amount() : -pointHistory.amount();
+            }
+            assertEquals(pointService.point(userId).point(), replayed);
+        }
+        assertEquals(8_000L, pointService.transfer(1L, 2L, 2_000L).from().point());
+    }
+
+    /**
+     * 유저마다 INITIAL_AMOUNT 를 충전한 뒤 무작위 두 유저 사이에 10,000건을 동시에 이체하고,
+     * 전체 잔액 합과 유저별 내역으로 계산한 잔액이 맞는지 확인한다.
+     */
+    private void assertRandomTransfersConserveTotal() throws Exception {
+        // given
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            pointService.charge(userId, INITIAL_AMOUNT);
+        }
+        int transferCount = 10_000;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < transferCount; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long from = random.nextLong(1, USER_COUNT + 1);
+                long to = random.nextLong(1, USER_COUNT);
+                to = to >= from ? to + 1 : to;
+                try {
+                    pointService.transfer(from, to, random.nextLong(1, 5_000));
+                    succeeded.incrementAndGet();
+                } catch (PointException e) {
+                    assertTrue(e.exceptionCode() == ExceptionCode.INSUFFICIENT_BALANCE
+                        || e.exceptionCode() == ExceptionCode.EXCEED_MAX_BALANCE);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+
+        // then
+        long total = 0;
+        int historyCount = 0;
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            UserPoint userPoint = pointService.point(userId);
+            assertTrue(userPoint.point() >= 0);
+            total += userPoint.point();
+            long replayed = 0;
+            for (PointHistory pointHistory : pointService.pointHistory(userId)) {
+                replayed += pointHistory.type() == TransactionType.CHARGE ? pointHistory.amount() : -pointHistory.amount();
+                historyCount++;
+            }
+            assertEquals(userPoint.point(), replayed);
+        }
+        assertEquals(INITIAL_AMOUNT * USER_COUNT, total);
+        assertEquals(USER_COUNT + succeeded.get() * 2, historyCount);
+        System.out.printf("transfers=%,d succeeded=%,d%n", transferCount, succeeded.get());
+    }
+
+    private PointService newPointService(BalanceUpdater balanceUpdater) {
+        pointHistoryRepository = new IndexedPointHistoryRepository(new SequencePointHistoryRepository(1L));
+        return new PointService(userPointRepository, pointHistoryRepository, balanceUpdater,
+            new PointMetrics(new SimpleMeterRegistry()), new PointSummaryAggregator());
+    }
+
+    private static class FailingPointHistoryRepository implements PointHistoryRepository {
+        private final PointHistoryRepository delegate;
+        private volatile long failingUserId = -1L;
+
+        private FailingPointHistoryRepository(PointHistoryRepository delegate) {
+            this.delegate = delegate;
+        }
+
+        private void failNextInsert(long userId) {
+            failingUserId = userId;
+        }
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            if (userId == failingUserId) {
+                failingUserId = -1L;
+                throw new IllegalStateException("history storage down");
+            }
+            return delegate.insert(userId, amount, type, updateMillis);
+        }
+
+        @Override
+        public List<PointHistory> selectAllByUserId(long userId) {
+            return delegate.selectAllByUserId(userId);
+        }
+    }
+
+    private static class MemoryUserPointRepository implements UserPointRepository {
+        private final ConcurrentHashMap<Long, UserPoint> table = new ConcurrentHashMap<>();
+        private volatile long failingUserId = -1L;
+
+        private void failNextSave(long userId) {
+            failingUserId = userId;
+        }
+
+        @Override
+        public UserPoint selectById(long id) {
+            return table.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            if (id == failingUserId) {
+                failingUserId = -1L;
+                throw new IllegalStateException("storage down");
+            }
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.UserPointTableRepository;
+import io.hhplus.tdd.point.repository.WriteBehindUserPointRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 쓰기 지연 저장소 테스트
+ */
+public class PointWriteBehindTest {
+    private UserPointTableRepository tableRepository;
+    private WriteBehindUserPointRepository writeBehindRepository;
+
+    @BeforeEach
+    void setUp(){
+        tableRepository = new UserPointTableRepository(UserPointTable::new);
+        // 테스트 중에는 주기 저장이 끼어들지 않도록 간격을 길게 둔다
+        writeBehindRepository = new WriteBehindUserPointRepository(
+            tableRepository, 60_000L, 100);
+    }
+
+    @AfterEach
+    void tearDown(){
+        writeBehindRepository.close();
+    }
+
+    @Test
+    @DisplayName("저장 전에도 변경된 잔액을 바로 조회할 수 있다")
+    void read_your_writes_before_flush(){
+        // given
+        long userId = 1L;
+
+        // when
+        writeBehindRepository.insertOrUpdate(userId, 1000L);
+
+        // then
+        assertEquals(1000L, writeBehindRepository.selectById(userId).point());
+        assertEquals(0L, tableRepository.selectById(userId).point());
+    }
+
+    @Test
+    @DisplayName("같은 유저의 여러 변경은 마지막 잔액 하나로 합쳐져 Table 에 저장된다")
+    void flush_coalesces_to_final_balance(){
+        // given
+        long userId = 1L;
+
+        // when
+        long start = System.nanoTime();
+        for (long amount = 100L; amount <= 1000L; amount += 100L) {
+            writeBehindRepository.insertOrUpdate(userId, amount);
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        writeBehindRepository.flush();
+
+        // then
+        assertTrue(elapsedMillis < 100L);
+        assertEquals(0, writeBehindRepository.pendingCount());
+        UserPoint stored = tableRepository.selectById(userId);
+        assertEquals(1000L, stored.point());
+    }
+}
@@ -0,0 +1,81 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.shard.ConsistentHashRing;
+import io.hhplus.tdd.point.shard.ShardNode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 유저 id 일관 해시 링 테스트
+ */
+public class ShardRingTest {
+    private static final int USER_COUNT = 30_000;
+    private static final int VIRTUAL_NODES = 128;
+    private static final List<ShardNode> NODES = List.of(
+        new ShardNode("node-1", "http://localhost:8081"),
+        new ShardNode("node-2", "http://localhost:8082"),
+        new ShardNode("node-3", "http://localhost:8083"));
+
+    @Test
+    @DisplayName("유저가 노드마다 고르게 나뉜다")
+    void users_are_spread_evenly(){
+        // given
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, VIRTUAL_NODES);
+
+        // when
+        Map<ShardNode, Integer> counts = new HashMap<>();
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            counts.merge(ring.owner(userId), 1, Integer::sum);
+        }
+
+        // then - 노드마다 1/3 에서 크게 벗어나지 않는다
+        assertEquals(NODES.size(), counts.size());
+        for (int count : counts.values()) {
+            assertTrue(count > USER_COUNT / 4 && count < USER_COUNT * 5 / 12, "count=" + count);
+        }
+    }
+
+    @Test
+    @DisplayName("노드가 늘면 새 노드가 맡게 되는 유저만 옮겨진다")
+    void adding_node_moves_only_users_of_new_node(){
+        // given
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, VIRTUAL_NODES);
+        ShardNode joiner = new ShardNode("node-4", "http://localhost:8084");
+
+        // when
+        ConsistentHashRing next = ring.with(joiner);
+
+        // then - 옮겨지는 유저는 모두 새 노드로 가고, 약 1/4 이다
+        int moved = 0;
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            ShardNode before = ring.owner(userId);
+            ShardNode after = next.owner(userId);
+            if (!before.equals(after)) {
+                assertEquals(joiner, after);
+                moved++;
+            }
+        }
+        assertTrue(moved > USER_COUNT / 6 && moved < USER_COUNT / 3, "moved=" + moved);
+        assertTrue(next.contains("node-4"));
+        assertEquals(NODES, next.without("node-4").nodes());
+    }
+
+    @Test
+    @DisplayName("같은 노드 구성이면 어느 노드에서 만든 링이든 담당 노드가 같다")
+    void same_nodes_same_owner(){
+        // given
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, VIRTUAL_NODES);
+        ConsistentHashRing reversed = new ConsistentHashRing(List.of(NODES.get(2), NODES.get(1), NODES.get(0)), VIRTUAL_NODES);
+
+        // when & then
+        for (long userId = 1; userId <= 1_000; userId++) {
+            assertEquals(ring.owner(userId), reversed.owner(userId));
+        }
+    }
+}